@@ -25,17 +25,22 @@ package com.frank_mitchell.json;
 
 import com.frank_mitchell.codepoint.CodePointSource;
 import com.frank_mitchell.jsonbb.JsonArrayBuilder;
+import com.frank_mitchell.jsonbb.JsonGenerator;
 import com.frank_mitchell.jsonbb.JsonObjectBuilder;
 import com.frank_mitchell.jsonpp.JsonPullParser;
 import com.frank_mitchell.jsonpp.JsonPullParserFactory;
 import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import com.frank_mitchell.jsonbb.JsonBuilderArena;
 import com.frank_mitchell.jsonbb.JsonBuilderFactory;
+import com.frank_mitchell.jsonbb.JsonTemplateCompiler;
 import com.frank_mitchell.jsonbb.spi.DefaultJsonBuilderFactory;
 import java.util.Optional;
 
@@ -51,7 +56,18 @@ public class Json {
      */
     public static final Charset UTF_32 = Charset.forName("UTF-32");
     
+    /*
+     * Found once, so that every caller shares the factory's arenas.
+     */
+    private static final class BuilderFactoryHolder {
+        static final JsonBuilderFactory FACTORY = findBuilderFactory();
+    }
+
     private static JsonBuilderFactory getBuilderFactory() {
+        return BuilderFactoryHolder.FACTORY;
+    }
+
+    private static JsonBuilderFactory findBuilderFactory() {
         JsonBuilderFactory result = null;
         try {
             ServiceLoader<JsonBuilderFactory> loader
@@ -96,6 +112,51 @@ public class Json {
         return factory.getNewObject();
     }
 
+    /**
+     * Get the calling thread's arena of reusable builders.
+     *
+     * Every caller on the thread gets the same arena, so code that
+     * resets it must own every document being built from it.
+     *
+     * @return the arena
+     */
+    public static JsonBuilderArena getArena() {
+        JsonBuilderFactory factory = getBuilderFactory();
+        return factory.getArena();
+    }
+
+    /**
+     * Create a generator that streams UTF-8 JSON to a byte stream.
+     *
+     * @param output the stream to write to
+     * @return the generator
+     */
+    public static JsonGenerator createGenerator(OutputStream output) {
+        JsonBuilderFactory factory = getBuilderFactory();
+        return factory.createGenerator(output);
+    }
+
+    /**
+     * Create a generator that streams UTF-8 JSON to a channel.
+     *
+     * @param output the channel to write to
+     * @return the generator
+     */
+    public static JsonGenerator createGenerator(WritableByteChannel output) {
+        JsonBuilderFactory factory = getBuilderFactory();
+        return factory.createGenerator(output);
+    }
+
+    /**
+     * Create a compiler for a template of fixed-shape documents.
+     *
+     * @return the compiler
+     */
+    public static JsonTemplateCompiler createTemplate() {
+        JsonBuilderFactory factory = getBuilderFactory();
+        return factory.createTemplate();
+    }
+
     private static JsonPullParserFactory getParserFactory() {
         JsonPullParserFactory result = null;
         try {
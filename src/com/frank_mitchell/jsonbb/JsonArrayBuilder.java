@@ -54,6 +54,27 @@ public interface JsonArrayBuilder extends JsonBuilder {
      * @return this
      */
     JsonArrayBuilder addNumber(Number value);
+
+    /**
+     * Add an integral JSON Number to the end of this Array.
+     *
+     * @param value the value of the Number
+     * @return this
+     */
+    default JsonArrayBuilder addLong(long value) {
+        return addNumber(value);
+    }
+
+    /**
+     * Add a JSON Number to the end of this Array.
+     * Infinities and NaN are written as JSON Null.
+     *
+     * @param value the value of the Number
+     * @return this
+     */
+    default JsonArrayBuilder addDouble(double value) {
+        return addNumber(value);
+    }
     
     /**
      * Add a JSON Boolean to the end of this Array.
@@ -101,4 +122,18 @@ public interface JsonArrayBuilder extends JsonBuilder {
      * @return the builder for the JSON Array.
      */
     JsonArrayBuilder addNewArray();
+
+    /**
+     * Add a frozen JSON Array or Object to the end of this Array.
+     *
+     * @param value the frozen value, or {@code null} for JSON Null
+     * @return this
+     * @throws IllegalArgumentException if the value came from another
+     *         implementation
+     * @throws UnsupportedOperationException if this implementation has
+     *         no frozen values
+     */
+    default JsonArrayBuilder addFrozen(JsonFrozenValue value) {
+        throw new UnsupportedOperationException("addFrozen");
+    }
 }
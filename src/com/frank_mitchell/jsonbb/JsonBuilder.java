@@ -25,7 +25,12 @@ package com.frank_mitchell.jsonbb;
 
 import com.frank_mitchell.codepoint.CodePointSink;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Common methods for objects to build syntactically correct JSON values.
@@ -76,4 +81,55 @@ public interface JsonBuilder {
      * @throws IOException if the sink throws an exception
      */
     void writeTo(CodePointSink sink) throws IOException;
+
+    /**
+     * Write this object's current value to a stream as UTF-8.
+     *
+     * The default implementation writes through an OutputStreamWriter;
+     * implementations should encode directly if they can.
+     *
+     * @param stream the OutputStream to be written to.
+     * @throws IOException if the stream throws an exception
+     */
+    default void writeTo(OutputStream stream) throws IOException {
+        final Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Write this object's current value into a buffer as UTF-8, starting
+     * at the buffer's position and advancing it.
+     *
+     * The default implementation encodes the text written to a
+     * StringBuilder; implementations should encode directly if they can.
+     *
+     * @param buffer the ByteBuffer to be written to.
+     * @throws BufferOverflowException if the value doesn't fit; the
+     *         buffer then holds as much as was written
+     */
+    default void writeTo(ByteBuffer buffer) {
+        final StringBuilder text = new StringBuilder();
+        writeTo(text);
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            buffer.put(bytes, 0, buffer.remaining());
+            throw new BufferOverflowException();
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Take an immutable copy of this object's current value, escaped
+     * and encoded once so that it can be written as a block.
+     *
+     * Later changes to this builder do not affect the copy.
+     *
+     * @return the frozen value
+     * @throws UnsupportedOperationException if this implementation has
+     *         no frozen values
+     */
+    default JsonFrozenValue freeze() {
+        throw new UnsupportedOperationException("freeze");
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+/**
+ * Reusable storage for builders that live only as long as one document.
+ *
+ * An arena hands out {@link JsonArrayBuilder}s and {@link JsonObjectBuilder}s
+ * as a {@link JsonBuilderFactory} would, except that they, and every
+ * builder nested inside them, are recycled by {@link #reset()}. Once an
+ * arena has built a few documents of a given size, building another one
+ * allocates little or nothing beyond the caller's own strings and numbers.
+ *
+ * After {@link #reset()} every builder the arena handed out, directly or
+ * nested, may be reused for another document, so none of them may be
+ * read, written, or kept. An arena belongs to one thread and is not safe
+ * to share between threads.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonBuilderArena {
+
+    /**
+     * Get a builder for a JSON Array from this arena.
+     *
+     * @return an empty builder
+     */
+    JsonArrayBuilder getNewArray();
+
+    /**
+     * Get a builder for a JSON Object from this arena.
+     *
+     * @return an empty builder
+     */
+    JsonObjectBuilder getNewObject();
+
+    /**
+     * Take back every builder handed out since the last reset.
+     */
+    void reset();
+}
@@ -23,6 +23,10 @@
  */
 package com.frank_mitchell.jsonbb;
 
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
 /**
  * Factory for {@link JsonArrayBuilder}s and {@link JsonObjectBuilder}s.
  *
@@ -43,5 +47,74 @@ public interface JsonBuilderFactory {
      * @return new builder
      */
     JsonObjectBuilder getNewObject();
-    
+
+    /**
+     * Get the calling thread's arena of reusable builders.
+     *
+     * Each thread gets the same arena every time it calls this method on
+     * this factory; other factories have their own arenas.
+     *
+     * The default implementation returns a new arena that takes its
+     * builders from {@link #getNewArray()} and {@link #getNewObject()},
+     * and whose {@link JsonBuilderArena#reset()} does nothing, so it
+     * recycles nothing.
+     *
+     * @return this thread's arena
+     */
+    default JsonBuilderArena getArena() {
+        return new JsonBuilderArena() {
+            @Override
+            public JsonArrayBuilder getNewArray() {
+                return JsonBuilderFactory.this.getNewArray();
+            }
+
+            @Override
+            public JsonObjectBuilder getNewObject() {
+                return JsonBuilderFactory.this.getNewObject();
+            }
+
+            @Override
+            public void reset() {
+                // nothing to take back
+            }
+        };
+    }
+
+    /**
+     * Create a generator that writes UTF-8 to a stream.
+     *
+     * @param output the stream to write to
+     * @return new generator
+     * @throws UnsupportedOperationException if this implementation has
+     *         no generator
+     */
+    default JsonGenerator createGenerator(OutputStream output) {
+        throw new UnsupportedOperationException("createGenerator");
+    }
+
+    /**
+     * Create a generator that writes UTF-8 to a channel.
+     *
+     * The default implementation wraps the channel in a stream and
+     * calls {@link #createGenerator(OutputStream)}.
+     *
+     * @param output the channel to write to
+     * @return new generator
+     * @throws UnsupportedOperationException if this implementation has
+     *         no generator
+     */
+    default JsonGenerator createGenerator(WritableByteChannel output) {
+        return createGenerator(Channels.newOutputStream(output));
+    }
+
+    /**
+     * Create a compiler for a template of fixed-shape documents.
+     *
+     * @return new compiler
+     * @throws UnsupportedOperationException if this implementation has
+     *         no templates
+     */
+    default JsonTemplateCompiler createTemplate() {
+        throw new UnsupportedOperationException("createTemplate");
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+/**
+ * How builders and generators write characters in JSON Strings.
+ *
+ * Either way, quotation marks, backslashes, and control characters are
+ * escaped, and so are surrogates that are not part of a pair.
+ *
+ * @author Frank Mitchell
+ */
+public enum JsonEscaping {
+    /**
+     * Escape every character outside ASCII, so the output is pure ASCII.
+     */
+    ASCII,
+
+    /**
+     * Write characters outside ASCII as themselves, which in UTF-8 is
+     * usually shorter than an escape.
+     */
+    UNICODE
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+import com.frank_mitchell.codepoint.CodePointSink;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * An immutable JSON Array or Object, already encoded.
+ *
+ * A frozen value is made by {@link JsonBuilder#freeze()}, and may be
+ * added to any number of builders with
+ * {@link JsonArrayBuilder#addFrozen(JsonFrozenValue)} or
+ * {@link JsonObjectBuilder#setFrozen(String, JsonFrozenValue)}. Its text
+ * is escaped and formatted once, when it is frozen, and stored as UTF-8;
+ * writing it to a stream or buffer copies those bytes as a block.
+ * Strings keep the escaping of the builder that was frozen.
+ *
+ * A frozen value is safe to share between threads.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonFrozenValue {
+    /**
+     * Whether this value is a JSON Array.
+     *
+     * @return whether this value is a JSON Array
+     */
+    boolean isArray();
+
+    /**
+     * Whether this value is a JSON Object.
+     *
+     * @return whether this value is a JSON Object
+     */
+    boolean isObject();
+
+    /**
+     * The length of this value's text in UTF-8.
+     *
+     * @return the number of bytes written to a stream or buffer
+     */
+    int getByteLength();
+
+    /**
+     * Write this value to a string.
+     *
+     * @param builder the StringBuilder to be written to.
+     */
+    void writeTo(StringBuilder builder);
+
+    /**
+     * Write this value to a Writer.
+     *
+     * @param writer the Writer to be written to.
+     * @throws IOException if the writer throws an exception
+     */
+    void writeTo(Writer writer) throws IOException;
+
+    /**
+     * Write this value to a CodePointSink.
+     *
+     * @param sink the CodePointSink to be written to.
+     * @throws IOException if the sink throws an exception
+     */
+    void writeTo(CodePointSink sink) throws IOException;
+
+    /**
+     * Write this value to a stream as UTF-8.
+     *
+     * @param stream the OutputStream to be written to.
+     * @throws IOException if the stream throws an exception
+     */
+    void writeTo(OutputStream stream) throws IOException;
+
+    /**
+     * Write this value into a buffer as UTF-8, starting at the buffer's
+     * position and advancing it.
+     *
+     * @param buffer the ByteBuffer to be written to.
+     * @throws BufferOverflowException if the value doesn't fit; the
+     *         buffer is then unchanged
+     */
+    void writeTo(ByteBuffer buffer);
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes a syntactically correct JSON value one token at a time, without
+ * building a tree.
+ *
+ * Output goes through a fixed-size buffer straight to the underlying
+ * stream or channel, so memory use does not depend on the size of the
+ * document. Each call checks that the token is allowed where it occurs:
+ * keys only directly within an Object, values only after a key in an
+ * Object, within an Array, or at the top level, and only one top-level
+ * value. Any other call throws an {@link IllegalStateException}.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonGenerator extends Closeable, Flushable {
+
+    /**
+     * Start a JSON Object.
+     *
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator startObject() throws IOException;
+
+    /**
+     * End the current JSON Object.
+     *
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator endObject() throws IOException;
+
+    /**
+     * Start a JSON Array.
+     *
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator startArray() throws IOException;
+
+    /**
+     * End the current JSON Array.
+     *
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator endArray() throws IOException;
+
+    /**
+     * Write the key of the next member of the current JSON Object.
+     *
+     * @param key the key
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator key(CharSequence key) throws IOException;
+
+    /**
+     * Write a JSON String.
+     *
+     * @param value the string, or {@code null} to write a JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator value(CharSequence value) throws IOException;
+
+    /**
+     * Write a JSON Number.
+     *
+     * @param value the number, or {@code null} to write a JSON Null;
+     *              infinities and NaN are also written as JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator value(Number value) throws IOException;
+
+    /**
+     * Write an integral JSON Number.
+     *
+     * @param value the number
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator value(long value) throws IOException;
+
+    /**
+     * Write a JSON Number.
+     *
+     * @param value the number; infinities and NaN are written as JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator value(double value) throws IOException;
+
+    /**
+     * Write a JSON Boolean.
+     *
+     * @param value the boolean
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator value(boolean value) throws IOException;
+
+    /**
+     * Write a JSON Null.
+     *
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonGenerator nullValue() throws IOException;
+
+    /**
+     * The number of Objects and Arrays started but not yet ended.
+     *
+     * @return the current depth
+     */
+    int getDepth();
+
+    /**
+     * Write all buffered output, and flush the underlying output.
+     *
+     * @throws IOException if the output throws an exception
+     */
+    @Override
+    void flush() throws IOException;
+
+    /**
+     * Write all buffered output and close the underlying output.
+     * This does not check that the value is complete.
+     *
+     * @throws IOException if the output throws an exception
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -56,6 +56,29 @@ public interface JsonObjectBuilder extends JsonBuilder {
      * @return this instance
      */
     JsonObjectBuilder setNumber(String key, Number value);
+
+    /**
+     * Set an integral JSON Number for the named element in the JSON Object.
+     *
+     * @param key    name of the element
+     * @param value  value of the element
+     * @return this instance
+     */
+    default JsonObjectBuilder setLong(String key, long value) {
+        return setNumber(key, value);
+    }
+
+    /**
+     * Set a JSON Number for the named element in the JSON Object.
+     * Infinities and NaN are written as JSON Null.
+     *
+     * @param key    name of the element
+     * @param value  value of the element
+     * @return this instance
+     */
+    default JsonObjectBuilder setDouble(String key, double value) {
+        return setNumber(key, value);
+    }
     
     /**
      * Set a JSON Boolean for the named element in the JSON Object.
@@ -107,4 +130,20 @@ public interface JsonObjectBuilder extends JsonBuilder {
      * @return the builder for the new Array
      */
     JsonArrayBuilder setNewArray(String key);
+
+    /**
+     * Set a frozen JSON Array or Object for the named element in this
+     * JSON Object.
+     *
+     * @param key    name of the element
+     * @param value  the frozen value, or {@code null} for JSON Null
+     * @return this instance
+     * @throws IllegalArgumentException if the value came from another
+     *         implementation
+     * @throws UnsupportedOperationException if this implementation has
+     *         no frozen values
+     */
+    default JsonObjectBuilder setFrozen(String key, JsonFrozenValue value) {
+        throw new UnsupportedOperationException("setFrozen");
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A JSON document of fixed shape, with holes for the values that change.
+ *
+ * A template is made once by a {@link JsonTemplateCompiler}, which
+ * encodes everything but the holes as UTF-8 segments. Each document is
+ * then written by a {@link JsonTemplateWriter}, which copies the
+ * segments and encodes only the values filling the holes.
+ *
+ * A template is immutable and safe to share between threads; its
+ * writers are not.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonTemplate {
+
+    /**
+     * The kinds of value a hole takes.
+     */
+    enum Hole {
+        /**
+         * A JSON String, or JSON Null.
+         */
+        STRING,
+        /**
+         * An integral JSON Number.
+         */
+        LONG,
+        /**
+         * A JSON Number; infinities and NaN are written as JSON Null.
+         */
+        DOUBLE,
+        /**
+         * A JSON Array or Object, from a builder or a frozen value, or
+         * JSON Null.
+         */
+        VALUE
+    }
+
+    /**
+     * Get the number of holes in this template.
+     *
+     * @return the number of holes
+     */
+    int getHoleCount();
+
+    /**
+     * Get the kind of a hole.
+     *
+     * @param index the index of a hole, in document order
+     * @return the kind of value the hole takes
+     * @throws IndexOutOfBoundsException if there is no such hole
+     */
+    Hole getHole(int index);
+
+    /**
+     * Create a writer of this template's documents to a stream.
+     *
+     * @param output the stream to write to
+     * @return new writer
+     */
+    JsonTemplateWriter createWriter(OutputStream output);
+
+    /**
+     * Create a writer of this template's documents to a channel.
+     *
+     * @param output the channel to write to
+     * @return new writer
+     */
+    JsonTemplateWriter createWriter(WritableByteChannel output);
+}
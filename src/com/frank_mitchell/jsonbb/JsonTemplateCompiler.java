@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+import java.io.IOException;
+
+/**
+ * Makes a {@link JsonTemplate} from a skeleton written one token at a
+ * time.
+ *
+ * The skeleton is written as to a {@link JsonGenerator}, with the same
+ * checks, except that any value may instead be a hole, to be filled
+ * later by a {@link JsonTemplateWriter}. Keys and other values are
+ * fixed, and are escaped and encoded only once, here.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonTemplateCompiler extends JsonGenerator {
+
+    @Override
+    JsonTemplateCompiler startObject() throws IOException;
+
+    @Override
+    JsonTemplateCompiler endObject() throws IOException;
+
+    @Override
+    JsonTemplateCompiler startArray() throws IOException;
+
+    @Override
+    JsonTemplateCompiler endArray() throws IOException;
+
+    @Override
+    JsonTemplateCompiler key(CharSequence key) throws IOException;
+
+    @Override
+    JsonTemplateCompiler value(CharSequence value) throws IOException;
+
+    @Override
+    JsonTemplateCompiler value(Number value) throws IOException;
+
+    @Override
+    JsonTemplateCompiler value(long value) throws IOException;
+
+    @Override
+    JsonTemplateCompiler value(double value) throws IOException;
+
+    @Override
+    JsonTemplateCompiler value(boolean value) throws IOException;
+
+    @Override
+    JsonTemplateCompiler nullValue() throws IOException;
+
+    /**
+     * Write a hole in place of a value.
+     *
+     * @param hole the kind of value to fill it with
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonTemplateCompiler hole(JsonTemplate.Hole hole) throws IOException;
+
+    /**
+     * Make a template from the skeleton written so far.
+     *
+     * @return new template
+     * @throws IllegalStateException if the skeleton is not one complete
+     *         value, or has no holes
+     */
+    JsonTemplate compile();
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes documents from a {@link JsonTemplate} by filling its holes.
+ *
+ * Each call fills the next hole, in document order, and writes the
+ * template's text up to and including it; filling the last hole also
+ * writes the rest of the document, and the next call starts another.
+ * A call for the wrong kind of hole throws an
+ * {@link IllegalStateException} and writes nothing.
+ *
+ * Output goes through a fixed-size buffer, as for a
+ * {@link JsonGenerator}, so one writer may write any number of
+ * documents one after another.
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonTemplateWriter extends Closeable, Flushable {
+
+    /**
+     * Fill a {@link JsonTemplate.Hole#STRING} hole.
+     *
+     * @param value the string, or {@code null} for JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonTemplateWriter fillString(CharSequence value) throws IOException;
+
+    /**
+     * Fill a {@link JsonTemplate.Hole#LONG} hole.
+     *
+     * @param value the number
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonTemplateWriter fillLong(long value) throws IOException;
+
+    /**
+     * Fill a {@link JsonTemplate.Hole#DOUBLE} hole.
+     *
+     * @param value the number
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonTemplateWriter fillDouble(double value) throws IOException;
+
+    /**
+     * Fill a {@link JsonTemplate.Hole#VALUE} hole with a builder's
+     * current value.
+     *
+     * @param value the builder, or {@code null} for JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     */
+    JsonTemplateWriter fillValue(JsonBuilder value) throws IOException;
+
+    /**
+     * Fill a {@link JsonTemplate.Hole#VALUE} hole with a frozen value.
+     *
+     * @param value the frozen value, or {@code null} for JSON Null
+     * @return this
+     * @throws IOException if the output throws an exception
+     * @throws IllegalArgumentException if the value came from another
+     *         implementation
+     */
+    JsonTemplateWriter fillValue(JsonFrozenValue value) throws IOException;
+
+    /**
+     * Get the index of the next hole to fill.
+     *
+     * @return the next hole; 0 between documents
+     */
+    int getNextHole();
+}
@@ -25,86 +25,267 @@ package com.frank_mitchell.jsonbb.spi;
 
 import com.frank_mitchell.jsonbb.JsonArrayBuilder;
 import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
 import com.frank_mitchell.jsonbb.JsonObjectBuilder;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
 
 class DefaultJsonArrayBuilder extends DefaultJsonBaseValue implements JsonArrayBuilder {
-    
-    private final List<JsonValue> _values = new ArrayList<>();
-    private final JsonBuilder _parent;
 
-    DefaultJsonArrayBuilder() {
-        _parent = null;
+    private static final int INITIAL_CAPACITY = 8;
+
+    // once this big, the array grows a segment at a time without copying
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final byte EMPTY = -1;
+    private static final byte MIXED = -2;
+
+    /*
+     * Elements are stored in segments. Element i has a Slot tag, and the
+     * value in _bits or _refs according to the tag. While every element
+     * has the same tag, it is kept in _kind and _tags is not allocated;
+     * so an array of only longs or only doubles is just packed long[]s.
+     * Each segment's _bits or _refs is only allocated once it needs it.
+     */
+    private byte _kind = EMPTY;
+    private int _size;
+    private int _capacity;
+    private byte[][] _tags;
+    private long[][] _bits;
+    private Object[][] _refs;
+    private JsonBuilder _parent;
+    private final JsonEscaping _escaping;
+    private final DefaultJsonBuilderArena _arena;
+
+    DefaultJsonArrayBuilder(JsonEscaping escaping) {
+        this((JsonBuilder) null, escaping);
     }
 
-    DefaultJsonArrayBuilder(JsonBuilder p) {
+    DefaultJsonArrayBuilder(JsonBuilder p, JsonEscaping escaping) {
         _parent = p;
+        _escaping = escaping;
+        _arena = null;
+    }
+
+    DefaultJsonArrayBuilder(DefaultJsonBuilderArena arena, JsonEscaping escaping) {
+        _parent = null;
+        _escaping = escaping;
+        _arena = arena;
+    }
+
+    private JsonArrayBuilder add(byte tag, long bits, Object ref) {
+        if (_size == _capacity) {
+            grow();
+        }
+        if (tag != _kind && _kind != MIXED) {
+            if (_kind == EMPTY) {
+                _kind = tag;
+            } else {
+                mix();
+            }
+        }
+        final int seg = _size >>> SEGMENT_SHIFT;
+        final int off = _size & SEGMENT_MASK;
+        if (_kind == MIXED) {
+            _tags[seg][off] = tag;
+        }
+        if (tag == Slot.LONG || tag == Slot.DOUBLE) {
+            if (_bits[seg] == null) {
+                _bits[seg] = new long[segmentLength(seg)];
+            }
+            _bits[seg][off] = bits;
+        } else if (ref != null) {
+            if (_refs[seg] == null) {
+                _refs[seg] = new Object[segmentLength(seg)];
+            }
+            _refs[seg][off] = ref;
+        }
+        _size++;
+        return this;
+    }
+
+    private int segmentLength(int seg) {
+        return Math.min(_capacity - (seg << SEGMENT_SHIFT), SEGMENT_SIZE);
+    }
+
+    /*
+     * Double the first segment until it is full size, then add segments.
+     */
+    private void grow() {
+        if (_capacity == 0) {
+            _capacity = INITIAL_CAPACITY;
+            _bits = new long[1][];
+            _refs = new Object[1][];
+        } else if (_capacity < SEGMENT_SIZE) {
+            _capacity *= 2;
+            if (_tags != null) {
+                _tags[0] = Arrays.copyOf(_tags[0], _capacity);
+            }
+            if (_bits[0] != null) {
+                _bits[0] = Arrays.copyOf(_bits[0], _capacity);
+            }
+            if (_refs[0] != null) {
+                _refs[0] = Arrays.copyOf(_refs[0], _capacity);
+            }
+        } else {
+            final int seg = _capacity >>> SEGMENT_SHIFT;
+            if (seg == _bits.length) {
+                _bits = Arrays.copyOf(_bits, seg * 2);
+                _refs = Arrays.copyOf(_refs, seg * 2);
+                if (_tags != null) {
+                    _tags = Arrays.copyOf(_tags, seg * 2);
+                }
+            }
+            _capacity += SEGMENT_SIZE;
+            if (_tags != null) {
+                _tags[seg] = new byte[SEGMENT_SIZE];
+            }
+        }
+    }
+
+    /*
+     * Switch from one kind of element to per-element tags, reusing
+     * the tags of an earlier use if any.
+     */
+    private void mix() {
+        if (_tags == null) {
+            _tags = new byte[_bits.length][];
+            for (int seg = 0; seg << SEGMENT_SHIFT < _capacity; seg++) {
+                _tags[seg] = new byte[segmentLength(seg)];
+            }
+        }
+        for (int i = 0; i < _size; i++) {
+            _tags[i >>> SEGMENT_SHIFT][i & SEGMENT_MASK] = _kind;
+        }
+        _kind = MIXED;
     }
 
     @Override
     public JsonArrayBuilder addString(String value) {
-        _values.add(new DefaultJsonString(value));
-        return this;
+        return add(Slot.STRING, 0, value);
     }
 
     @Override
     public JsonArrayBuilder addNumber(Number value) {
-        _values.add(new DefaultJsonNumber(value));
-        return this;
+        return add(Slot.NUMBER, 0, value);
+    }
+
+    @Override
+    public JsonArrayBuilder addLong(long value) {
+        return add(Slot.LONG, value, null);
+    }
+
+    @Override
+    public JsonArrayBuilder addDouble(double value) {
+        return add(Slot.DOUBLE, Double.doubleToRawLongBits(value), null);
     }
 
     @Override
     public JsonArrayBuilder addBoolean(boolean value) {
-        _values.add(value ? DefaultJsonLiteral.TRUE : DefaultJsonLiteral.FALSE);
-        return this;
+        return add(value ? Slot.TRUE : Slot.FALSE, 0, null);
     }
 
     @Override
     public JsonArrayBuilder addTrue() {
-        _values.add(DefaultJsonLiteral.TRUE);
-        return this;
+        return add(Slot.TRUE, 0, null);
     }
 
     @Override
     public JsonArrayBuilder addFalse() {
-        _values.add(DefaultJsonLiteral.FALSE);
-        return this;
+        return add(Slot.FALSE, 0, null);
     }
 
     @Override
     public JsonArrayBuilder addNull() {
-        _values.add(DefaultJsonLiteral.NULL);
-        return this;
+        return add(Slot.NULL, 0, null);
     }
 
     @Override
     public JsonObjectBuilder addNewObject() {
-        DefaultJsonObjectBuilder result = new DefaultJsonObjectBuilder(this);
-        _values.add(result);
+        DefaultJsonObjectBuilder result = (_arena == null)
+                ? new DefaultJsonObjectBuilder(this, _escaping)
+                : _arena.newObject(this);
+        add(Slot.VALUE, 0, result);
         return result;
     }
 
     @Override
     public JsonArrayBuilder addNewArray() {
-        DefaultJsonArrayBuilder result = new DefaultJsonArrayBuilder(this);
-        _values.add(result);
+        DefaultJsonArrayBuilder result = (_arena == null)
+                ? new DefaultJsonArrayBuilder(this, _escaping)
+                : _arena.newArray(this);
+        add(Slot.VALUE, 0, result);
         return result;
     }
 
+    @Override
+    public JsonArrayBuilder addFrozen(JsonFrozenValue value) {
+        if (value == null) {
+            return addNull();
+        }
+        return add(Slot.VALUE, 0, DefaultJsonFrozenValue.check(value));
+    }
+
+    @Override
+    public JsonFrozenValue freeze() {
+        return DefaultJsonFrozenValue.freeze(this, false);
+    }
+
+    void setParent(JsonBuilder parent) {
+        _parent = parent;
+    }
+
+    /*
+     * Empty this builder for reuse by its arena, keeping its first
+     * segment of storage.
+     */
+    void clear() {
+        if (_capacity > SEGMENT_SIZE) {
+            _capacity = SEGMENT_SIZE;
+            _bits = new long[][] { _bits[0] };
+            _refs = new Object[][] { _refs[0] };
+            if (_tags != null) {
+                _tags = new byte[][] { _tags[0] };
+            }
+        }
+        for (int seg = 0; _refs != null && seg < _refs.length; seg++) {
+            if (_refs[seg] != null) {
+                Arrays.fill(_refs[seg], null);
+            }
+        }
+        _kind = EMPTY;
+        _size = 0;
+        _parent = null;
+    }
+
     @Override
     public JsonBuilder getParent() {
         return _parent;
     }
 
     @Override
-    public void writeTo(StringBuilder builder) {
+    JsonEscaping getEscaping() {
+        return _escaping;
+    }
+
+    @Override
+    public void write(JsonOutput out) throws IOException {
+        final StringBuilder builder = out.buffer();
         builder.append("[");
-        for (int i = 0; i < _values.size(); i++) {
+        for (int i = 0; i < _size; i++) {
             if (i > 0) {
                 builder.append(",");
             }
-            _values.get(i).writeTo(builder);
+            final int seg = i >>> SEGMENT_SHIFT;
+            final int off = i & SEGMENT_MASK;
+            final byte tag = (_kind == MIXED) ? _tags[seg][off] : _kind;
+            final long bits = (tag == Slot.LONG || tag == Slot.DOUBLE) ? _bits[seg][off] : 0;
+            final Object ref = (_refs[seg] == null) ? null : _refs[seg][off];
+            Slot.write(out, tag, bits, ref);
+            out.mark();
         }
         builder.append("]");
     }
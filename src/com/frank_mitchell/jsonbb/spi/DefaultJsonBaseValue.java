@@ -24,27 +24,69 @@
 package com.frank_mitchell.jsonbb.spi;
 
 import com.frank_mitchell.codepoint.CodePointSink;
+import com.frank_mitchell.jsonbb.JsonEscaping;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 /**
  *
  * @author fmitchell
  */
 abstract class DefaultJsonBaseValue implements JsonValue {
-    
+
+    /*
+     * How strings are escaped when this is written on its own; within
+     * a container, the container decides.
+     */
+    JsonEscaping getEscaping() {
+        return JsonEscaping.ASCII;
+    }
+
+    @Override
+    public void writeTo(StringBuilder builder) {
+        try {
+            write(new JsonOutput(builder, getEscaping()));
+        } catch (IOException e) {
+            // a StringBuilder doesn't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void writeTo(Writer writer) throws IOException {
-        StringBuilder builder = new StringBuilder();
-        writeTo(builder);
-        writer.append(builder);
+        writeChunked(new JsonOutput(writer, getEscaping()));
     }
 
     @Override
     public void writeTo(CodePointSink cps) throws IOException {
-        StringBuilder builder = new StringBuilder();
-        writeTo(builder);
-        cps.append(builder);
+        writeChunked(new JsonOutput(cps, getEscaping()));
+    }
+
+    @Override
+    public void writeTo(OutputStream stream) throws IOException {
+        writeChunked(new JsonOutput(stream, getEscaping()));
+    }
+
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        try {
+            writeChunked(new JsonOutput(buffer, getEscaping()));
+        } catch (IOException e) {
+            // a ByteBuffer doesn't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeChunked(JsonOutput out) throws IOException {
+        try {
+            write(out);
+            out.drain();
+        } finally {
+            out.release();
+        }
     }
     
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonArrayBuilder;
+import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonBuilderArena;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonObjectBuilder;
+import java.util.Arrays;
+
+/**
+ * Default implementation of a builder arena.
+ *
+ * The arena keeps the builders it has created, and hands out the first
+ * unused one of the right type, emptied, before creating another. After
+ * a document that needed more than {@link #MAX_RETAINED} builders of a
+ * type, {@link #reset()} keeps only that many.
+ *
+ * @author Frank Mitchell
+ */
+final class DefaultJsonBuilderArena implements JsonBuilderArena {
+
+    // builders of each type kept from one document to the next
+    static final int MAX_RETAINED = 1024;
+
+    private final JsonEscaping _escaping;
+
+    private DefaultJsonObjectBuilder[] _objects = new DefaultJsonObjectBuilder[16];
+    private int _objectCount;
+    private int _objectsUsed;
+
+    private DefaultJsonArrayBuilder[] _arrays = new DefaultJsonArrayBuilder[16];
+    private int _arrayCount;
+    private int _arraysUsed;
+
+    DefaultJsonBuilderArena(JsonEscaping escaping) {
+        _escaping = escaping;
+    }
+
+    @Override
+    public JsonArrayBuilder getNewArray() {
+        return newArray(null);
+    }
+
+    @Override
+    public JsonObjectBuilder getNewObject() {
+        return newObject(null);
+    }
+
+    DefaultJsonObjectBuilder newObject(JsonBuilder parent) {
+        if (_objectsUsed == _objectCount) {
+            if (_objectCount == _objects.length) {
+                _objects = Arrays.copyOf(_objects, _objectCount * 2);
+            }
+            _objects[_objectCount++] = new DefaultJsonObjectBuilder(this, _escaping);
+        }
+        final DefaultJsonObjectBuilder result = _objects[_objectsUsed++];
+        result.setParent(parent);
+        return result;
+    }
+
+    DefaultJsonArrayBuilder newArray(JsonBuilder parent) {
+        if (_arraysUsed == _arrayCount) {
+            if (_arrayCount == _arrays.length) {
+                _arrays = Arrays.copyOf(_arrays, _arrayCount * 2);
+            }
+            _arrays[_arrayCount++] = new DefaultJsonArrayBuilder(this, _escaping);
+        }
+        final DefaultJsonArrayBuilder result = _arrays[_arraysUsed++];
+        result.setParent(parent);
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < _objectsUsed; i++) {
+            _objects[i].clear();
+        }
+        _objectsUsed = 0;
+        if (_objectCount > MAX_RETAINED) {
+            _objects = Arrays.copyOf(_objects, MAX_RETAINED);
+            _objectCount = MAX_RETAINED;
+        }
+        for (int i = 0; i < _arraysUsed; i++) {
+            _arrays[i].clear();
+        }
+        _arraysUsed = 0;
+        if (_arrayCount > MAX_RETAINED) {
+            _arrays = Arrays.copyOf(_arrays, MAX_RETAINED);
+            _arrayCount = MAX_RETAINED;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultJsonBuilderArena[" + _objectsUsed + "/" + _objectCount + " objects, "
+                + _arraysUsed + "/" + _arrayCount + " arrays]";
+    }
+}
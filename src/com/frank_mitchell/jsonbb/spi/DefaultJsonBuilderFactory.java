@@ -25,7 +25,13 @@ package com.frank_mitchell.jsonbb.spi;
 
 import com.frank_mitchell.jsonbb.JsonArrayBuilder;
 import com.frank_mitchell.jsonbb.JsonObjectBuilder;
+import com.frank_mitchell.jsonbb.JsonBuilderArena;
 import com.frank_mitchell.jsonbb.JsonBuilderFactory;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonGenerator;
+import com.frank_mitchell.jsonbb.JsonTemplateCompiler;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Default implementation of a Builder provider.
@@ -33,19 +39,58 @@ import com.frank_mitchell.jsonbb.JsonBuilderFactory;
  * @author Frank Mitchell
  */
 public class DefaultJsonBuilderFactory implements JsonBuilderFactory {
+
+    private final JsonEscaping _escaping;
+
+    // each thread's arena for this factory alone
+    private final ThreadLocal<DefaultJsonBuilderArena> _arenas;
+
     /**
-     * Default and only constructor.
+     * Default constructor, for builders and generators that escape all
+     * characters outside ASCII.
      */
     public DefaultJsonBuilderFactory() {
+        this(JsonEscaping.ASCII);
+    }
+
+    /**
+     * Constructor for builders and generators that escape strings as
+     * specified.
+     *
+     * @param escaping how to write characters in strings
+     */
+    public DefaultJsonBuilderFactory(JsonEscaping escaping) {
+        _escaping = escaping;
+        _arenas = ThreadLocal.withInitial(() -> new DefaultJsonBuilderArena(escaping));
     }
 
     @Override
     public JsonArrayBuilder getNewArray() {
-        return new DefaultJsonArrayBuilder();
+        return new DefaultJsonArrayBuilder(_escaping);
     }
     
     @Override
     public JsonObjectBuilder getNewObject() {
-        return new DefaultJsonObjectBuilder();
+        return new DefaultJsonObjectBuilder(_escaping);
+    }
+
+    @Override
+    public JsonBuilderArena getArena() {
+        return _arenas.get();
+    }
+
+    @Override
+    public JsonGenerator createGenerator(OutputStream output) {
+        return new DefaultJsonGenerator(output, _escaping);
+    }
+
+    @Override
+    public JsonGenerator createGenerator(WritableByteChannel output) {
+        return new DefaultJsonGenerator(output, _escaping);
+    }
+
+    @Override
+    public JsonTemplateCompiler createTemplate() {
+        return new DefaultJsonTemplateCompiler(_escaping);
     }
 }
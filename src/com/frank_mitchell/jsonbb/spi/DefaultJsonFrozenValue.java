@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Default implementation of a frozen value.
+ *
+ * @author Frank Mitchell
+ */
+final class DefaultJsonFrozenValue extends DefaultJsonBaseValue implements JsonFrozenValue {
+
+    private final byte[] _utf8;
+    private final boolean _object;
+
+    // decoded on first use by a character output
+    private String _text;
+
+    private DefaultJsonFrozenValue(byte[] utf8, boolean object) {
+        _utf8 = utf8;
+        _object = object;
+    }
+
+    /*
+     * Encode the current value of a builder.
+     */
+    static DefaultJsonFrozenValue freeze(DefaultJsonBaseValue value, boolean object) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            value.writeTo(bytes);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream doesn't throw
+            throw new UncheckedIOException(e);
+        }
+        return new DefaultJsonFrozenValue(bytes.toByteArray(), object);
+    }
+
+    /*
+     * A frozen value to store in a builder.
+     */
+    static DefaultJsonFrozenValue check(JsonFrozenValue value) {
+        if (!(value instanceof DefaultJsonFrozenValue)) {
+            throw new IllegalArgumentException("not frozen by this implementation: " + value);
+        }
+        return (DefaultJsonFrozenValue) value;
+    }
+
+    byte[] utf8() {
+        return _utf8;
+    }
+
+    @Override
+    public boolean isArray() {
+        return !_object;
+    }
+
+    @Override
+    public boolean isObject() {
+        return _object;
+    }
+
+    @Override
+    public int getByteLength() {
+        return _utf8.length;
+    }
+
+    @Override
+    public void write(JsonOutput out) throws IOException {
+        if (!out.writeUtf8(_utf8)) {
+            String text = _text;
+            if (text == null) {
+                text = new String(_utf8, StandardCharsets.UTF_8);
+                _text = text;
+            }
+            out.buffer().append(text);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultJsonFrozenValue[" + _utf8.length + " bytes]";
+    }
+}
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A {@link JsonGenerator} that encodes UTF-8 into a reusable byte array,
+ * and writes the array to an {@link OutputStream} or a
+ * {@link WritableByteChannel} whenever it fills.
+ *
+ * @author Frank Mitchell
+ */
+class DefaultJsonGenerator implements JsonGenerator {
+
+    static final int BUFFER_SIZE = 8192;
+
+    // states of an open container
+    private static final byte ARRAY_EMPTY = 1;
+    private static final byte ARRAY = 2;
+    private static final byte OBJECT_EMPTY = 3;
+    private static final byte OBJECT_KEY = 4;
+    private static final byte OBJECT_VALUE = 5;
+
+    // the longest escape for one char, e.g. a lone surrogate
+    private static final int MAX_CHAR_BYTES = 6;
+
+    static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private final OutputStream _stream;
+    private final WritableByteChannel _channel;
+    private final byte[] _buf;
+    private final ByteBuffer _wrapper;
+    private final boolean _ascii;
+    private int _len;
+
+    private byte[] _stack = new byte[16];
+    private int _depth;
+    private boolean _done;
+
+    // the channel as a stream, for builders to write to; made when needed
+    private OutputStream _channelStream;
+
+    DefaultJsonGenerator(OutputStream stream, JsonEscaping escaping) {
+        _stream = stream;
+        _channel = null;
+        _buf = new byte[BUFFER_SIZE];
+        _wrapper = null;
+        _ascii = (escaping == JsonEscaping.ASCII);
+    }
+
+    DefaultJsonGenerator(WritableByteChannel channel, JsonEscaping escaping) {
+        _stream = null;
+        _channel = channel;
+        _buf = new byte[BUFFER_SIZE];
+        _wrapper = ByteBuffer.wrap(_buf);
+        _ascii = (escaping == JsonEscaping.ASCII);
+    }
+
+    @Override
+    public JsonGenerator startObject() throws IOException {
+        beforeValue();
+        push(OBJECT_EMPTY);
+        writeByte('{');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator endObject() throws IOException {
+        final byte state = (_depth > 0) ? _stack[_depth - 1] : 0;
+        if (state != OBJECT_EMPTY && state != OBJECT_KEY) {
+            throw new IllegalStateException("not at the end of an object");
+        }
+        _depth--;
+        writeByte('}');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator startArray() throws IOException {
+        beforeValue();
+        push(ARRAY_EMPTY);
+        writeByte('[');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator endArray() throws IOException {
+        final byte state = (_depth > 0) ? _stack[_depth - 1] : 0;
+        if (state != ARRAY_EMPTY && state != ARRAY) {
+            throw new IllegalStateException("not in an array");
+        }
+        _depth--;
+        writeByte(']');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator key(CharSequence key) throws IOException {
+        if (key == null) {
+            throw new NullPointerException("key");
+        }
+        final byte state = (_depth > 0) ? _stack[_depth - 1] : 0;
+        if (state == OBJECT_KEY) {
+            writeByte(',');
+        } else if (state != OBJECT_EMPTY) {
+            throw new IllegalStateException("not expecting a key");
+        }
+        _stack[_depth - 1] = OBJECT_VALUE;
+        writeString(key);
+        writeByte(':');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator value(CharSequence value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            writeBytes(NULL);
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator value(Number value) throws IOException {
+        beforeValue();
+        if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            writeLong(value.longValue());
+        } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+            writeAscii(value.toString());
+        } else if (value instanceof Double) {
+            writeDouble(value.doubleValue());
+        } else if (value == null || !Double.isFinite(value.doubleValue())) {
+            writeBytes(NULL);
+        } else {
+            writeAscii(value.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator value(long value) throws IOException {
+        beforeValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator value(double value) throws IOException {
+        beforeValue();
+        writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator value(boolean value) throws IOException {
+        beforeValue();
+        writeBytes(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator nullValue() throws IOException {
+        beforeValue();
+        writeBytes(NULL);
+        return this;
+    }
+
+    @Override
+    public int getDepth() {
+        return _depth;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (_stream != null) {
+            _stream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            if (_stream != null) {
+                _stream.close();
+            } else {
+                _channel.close();
+            }
+        }
+    }
+
+    /*
+     * Take the place of a value, as a template's hole, and write out
+     * everything before it.
+     */
+    void hole() throws IOException {
+        beforeValue();
+        drain();
+    }
+
+    /*
+     * Whether one complete value has been written.
+     */
+    boolean isComplete() {
+        return _done && _depth == 0;
+    }
+
+    /*
+     * Check that a value may be written here, and write the comma
+     * before it if needed.
+     */
+    private void beforeValue() throws IOException {
+        if (_depth == 0) {
+            if (_done) {
+                throw new IllegalStateException("value already written");
+            }
+            _done = true;
+            return;
+        }
+        switch (_stack[_depth - 1]) {
+            case ARRAY_EMPTY:
+                _stack[_depth - 1] = ARRAY;
+                break;
+            case ARRAY:
+                writeByte(',');
+                break;
+            case OBJECT_VALUE:
+                _stack[_depth - 1] = OBJECT_KEY;
+                break;
+            default:
+                throw new IllegalStateException("expecting a key");
+        }
+    }
+
+    private void push(byte state) {
+        if (_depth == _stack.length) {
+            _stack = Arrays.copyOf(_stack, _depth * 2);
+        }
+        _stack[_depth++] = state;
+    }
+
+    /*  ------------------- ENCODING ----------------------- */
+
+    private void writeByte(char c) throws IOException {
+        if (_len == _buf.length) {
+            drain();
+        }
+        _buf[_len++] = (byte) c;
+    }
+
+    void writeBytes(byte[] b) throws IOException {
+        if (_len + b.length > _buf.length) {
+            drain();
+            if (b.length > _buf.length) {
+                if (_stream != null) {
+                    _stream.write(b);
+                } else {
+                    final ByteBuffer wrapper = ByteBuffer.wrap(b);
+                    while (wrapper.hasRemaining()) {
+                        _channel.write(wrapper);
+                    }
+                }
+                return;
+            }
+        }
+        System.arraycopy(b, 0, _buf, _len, b.length);
+        _len += b.length;
+    }
+
+    /*
+     * Write a builder's value after everything buffered.
+     */
+    void writeBuilder(JsonBuilder b) throws IOException {
+        drain();
+        if (_stream != null) {
+            b.writeTo(_stream);
+        } else {
+            if (_channelStream == null) {
+                _channelStream = Channels.newOutputStream(_channel);
+            }
+            b.writeTo(_channelStream);
+        }
+    }
+
+    /*
+     * Write a string known to be ASCII, e.g. a formatted number.
+     */
+    private void writeAscii(String s) throws IOException {
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            if (_len == _buf.length) {
+                drain();
+            }
+            _buf[_len++] = (byte) s.charAt(i);
+        }
+    }
+
+    void writeLong(long v) throws IOException {
+        if (_len + 20 > _buf.length) {
+            drain();
+        }
+        if (v == Long.MIN_VALUE) {
+            writeAscii(Long.toString(v));
+            return;
+        }
+        if (v < 0) {
+            _buf[_len++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) {
+            digits++;
+        }
+        _len += digits;
+        int p = _len;
+        do {
+            _buf[--p] = (byte) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+    }
+
+    void writeDouble(double v) throws IOException {
+        if (!Double.isFinite(v)) {
+            writeBytes(NULL);
+            return;
+        }
+        if (_len + DoubleFormatter.MAX_LENGTH > _buf.length) {
+            drain();
+        }
+        _len = DoubleFormatter.format(v, _buf, _len);
+    }
+
+    void writeString(CharSequence s) throws IOException {
+        writeByte('"');
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+            if (_len + MAX_CHAR_BYTES > _buf.length) {
+                drain();
+            }
+            final char c = s.charAt(i);
+            if (c < 0x80) {
+                final byte e = DefaultJsonString.ESCAPES[c];
+                if (e == 0) {
+                    _buf[_len++] = (byte) c;
+                } else if (e == 'u') {
+                    writeEscape(c);
+                } else {
+                    _buf[_len++] = '\\';
+                    _buf[_len++] = e;
+                }
+            } else if (_ascii) {
+                writeEscape(c);
+            } else if (c < 0x800) {
+                _buf[_len++] = (byte) (0xC0 | (c >> 6));
+                _buf[_len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                _buf[_len++] = (byte) (0xE0 | (c >> 12));
+                _buf[_len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                _buf[_len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, s.charAt(++i));
+                _buf[_len++] = (byte) (0xF0 | (cp >> 18));
+                _buf[_len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                _buf[_len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                _buf[_len++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                // a lone surrogate has no UTF-8 encoding
+                writeEscape(c);
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscape(char c) {
+        _buf[_len++] = '\\';
+        _buf[_len++] = 'u';
+        _buf[_len++] = (byte) DefaultJsonString.HEX[(c >> 12) & 0xF];
+        _buf[_len++] = (byte) DefaultJsonString.HEX[(c >> 8) & 0xF];
+        _buf[_len++] = (byte) DefaultJsonString.HEX[(c >> 4) & 0xF];
+        _buf[_len++] = (byte) DefaultJsonString.HEX[c & 0xF];
+    }
+
+    /*
+     * Write the buffer to the underlying output and empty it.
+     */
+    private void drain() throws IOException {
+        if (_len == 0) {
+            return;
+        }
+        if (_stream != null) {
+            _stream.write(_buf, 0, _len);
+        } else {
+            _wrapper.clear().limit(_len);
+            while (_wrapper.hasRemaining()) {
+                _channel.write(_wrapper);
+            }
+        }
+        _len = 0;
+    }
+}
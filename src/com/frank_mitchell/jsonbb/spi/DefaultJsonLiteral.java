@@ -39,8 +39,8 @@ class DefaultJsonLiteral extends DefaultJsonBaseValue {
     }
 
     @Override
-    public void writeTo(StringBuilder builder) {
-        builder.append(_name);
+    public void write(JsonOutput out) {
+        out.buffer().append(_name);
     }
     
 }
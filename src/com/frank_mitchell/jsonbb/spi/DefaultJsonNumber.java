@@ -23,6 +23,9 @@
  */
 package com.frank_mitchell.jsonbb.spi;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 /**
  *
  * @author fmitchell
@@ -36,8 +39,19 @@ class DefaultJsonNumber extends DefaultJsonBaseValue {
     }
 
     @Override
-    public void writeTo(StringBuilder builder) {
-        appendJsonNumber(builder, _value, "null");
+    public void write(JsonOutput out) {
+        write(out, _value);
+    }
+
+    static void write(JsonOutput out, Number n) {
+        if (n instanceof Integer || n instanceof Long
+                || n instanceof Short || n instanceof Byte) {
+            out.buffer().append(n.longValue());
+        } else if (n instanceof Double) {
+            out.appendDouble(n.doubleValue(), "null");
+        } else {
+            appendJsonNumber(out.buffer(), n, "null");
+        }
     }
     
     public static void appendJsonNumber(StringBuilder buf, Number n, String alt) {
@@ -51,8 +65,10 @@ class DefaultJsonNumber extends DefaultJsonBaseValue {
         // Meanwhile we have this:
         if (n == null) {
             buf.append(alt);
-        } else if (Double.isInfinite(n.doubleValue()) 
-                || Double.isNaN(n.doubleValue())) {
+        } else if (n instanceof BigDecimal || n instanceof BigInteger) {
+            // always finite, though they may overflow a double
+            buf.append(n.toString());
+        } else if (!Double.isFinite(n.doubleValue())) {
             // no provisions for +/-Inf or NaN in the spec, so
             buf.append(alt);
         } else {
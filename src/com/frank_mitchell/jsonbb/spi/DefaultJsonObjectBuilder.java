@@ -25,99 +25,290 @@ package com.frank_mitchell.jsonbb.spi;
 
 import com.frank_mitchell.jsonbb.JsonArrayBuilder;
 import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
 import com.frank_mitchell.jsonbb.JsonObjectBuilder;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.util.Arrays;
 
 class DefaultJsonObjectBuilder extends DefaultJsonBaseValue implements JsonObjectBuilder {
-    
-    private final List<String> _keys = new ArrayList<>();
-    private final Map<String, JsonValue> _values = new HashMap<>();
-    private final JsonBuilder _parent;
 
-    DefaultJsonObjectBuilder(JsonBuilder p) {
+    private static final int INITIAL_CAPACITY = 4;
+
+    // storage larger than this is dropped rather than reused by an arena
+    private static final int MAX_RETAINED = 256;
+
+    /*
+     * Keys in order, shared with other objects. For each key, a Slot tag,
+     * and the value in _bits or _refs according to the tag. _bits is only
+     * allocated once a number needs it.
+     *
+     * Past ObjectShape.MAX_SHARED_KEYS keys the object has its own keys
+     * instead, in "dictionary mode": _shape is null, the first _size
+     * entries of _keys hold the keys, and _table is an open-addressing
+     * table of their positions plus one, with zero for empty.
+     */
+    private ObjectShape _shape = ObjectShape.EMPTY;
+    private String[] _keys;
+    private int[] _table;
+    private int _size;
+    private byte[] _tags;
+    private long[] _bits;
+    private Object[] _refs;
+    private JsonBuilder _parent;
+    private final JsonEscaping _escaping;
+    private final DefaultJsonBuilderArena _arena;
+
+    DefaultJsonObjectBuilder(JsonBuilder p, JsonEscaping escaping) {
         _parent = p;
+        _escaping = escaping;
+        _arena = null;
     }
 
-    DefaultJsonObjectBuilder() {
+    DefaultJsonObjectBuilder(DefaultJsonBuilderArena arena, JsonEscaping escaping) {
         _parent = null;
+        _escaping = escaping;
+        _arena = arena;
     }
 
-    @Override
-    public JsonObjectBuilder setString(String key, String value) {
-        setValue(key, new DefaultJsonString(value));
+    DefaultJsonObjectBuilder(JsonEscaping escaping) {
+        this((JsonBuilder) null, escaping);
+    }
+
+    private int size() {
+        return (_shape != null) ? _shape.size() : _size;
+    }
+
+    private String key(int i) {
+        return (_shape != null) ? _shape.getKey(i) : _keys[i];
+    }
+
+    /*
+     * The slot for a key, adding it if it's new.
+     */
+    private int slot(String key) {
+        if (key == null) {
+            // written as "" anyway
+            key = "";
+        }
+        final int i = (_shape != null) ? _shape.indexOf(key) : lookup(key);
+        if (i >= 0) {
+            return i;
+        }
+        final int size = size();
+        if (_tags == null) {
+            _tags = new byte[INITIAL_CAPACITY];
+            _refs = new Object[INITIAL_CAPACITY];
+        } else if (size == _tags.length) {
+            _tags = Arrays.copyOf(_tags, size * 2);
+            _refs = Arrays.copyOf(_refs, size * 2);
+            if (_bits != null) {
+                _bits = Arrays.copyOf(_bits, size * 2);
+            }
+            if (_keys != null) {
+                _keys = Arrays.copyOf(_keys, size * 2);
+            }
+        }
+        if (_shape != null && size < ObjectShape.MAX_SHARED_KEYS) {
+            _shape = _shape.with(key);
+            return size;
+        }
+        if (_shape != null) {
+            toDictionary();
+        }
+        _keys[size] = key;
+        _size = size + 1;
+        if (_size * 2 > _table.length) {
+            rehash(_table.length * 2);
+        } else {
+            insert(key, size);
+        }
+        return size;
+    }
+
+    /*
+     * Stop sharing a shape, and keep keys in this object.
+     */
+    private void toDictionary() {
+        _size = _shape.size();
+        _keys = new String[_tags.length];
+        for (int i = 0; i < _size; i++) {
+            _keys[i] = _shape.getKey(i);
+        }
+        _shape = null;
+        rehash(Integer.highestOneBit(_size * 4 - 1));
+    }
+
+    private int lookup(String key) {
+        final int mask = _table.length - 1;
+        for (int h = hash(key) & mask; _table[h] != 0; h = (h + 1) & mask) {
+            final int i = _table[h] - 1;
+            if (_keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(String key, int i) {
+        final int mask = _table.length - 1;
+        int h = hash(key) & mask;
+        while (_table[h] != 0) {
+            h = (h + 1) & mask;
+        }
+        _table[h] = i + 1;
+    }
+
+    private void rehash(int length) {
+        _table = new int[length];
+        for (int i = 0; i < _size; i++) {
+            insert(_keys[i], i);
+        }
+    }
+
+    private static int hash(String key) {
+        final int h = key.hashCode();
+        // spread the high bits down, as HashMap does
+        return h ^ (h >>> 16);
+    }
+
+    private JsonObjectBuilder setRef(String key, byte tag, Object ref) {
+        final int i = slot(key);
+        _tags[i] = tag;
+        _refs[i] = ref;
         return this;
     }
 
-    private void setValue(String key, final JsonValue jsonval) {
-        if (!_values.containsKey(key)) {
-            _keys.add(key);
+    private JsonObjectBuilder setBits(String key, byte tag, long bits) {
+        final int i = slot(key);
+        if (_bits == null) {
+            _bits = new long[_tags.length];
         }
-        _values.put(key, jsonval);
+        _tags[i] = tag;
+        _bits[i] = bits;
+        _refs[i] = null;
+        return this;
+    }
+
+    @Override
+    public JsonObjectBuilder setString(String key, String value) {
+        return setRef(key, Slot.STRING, value);
     }
 
     @Override
     public JsonObjectBuilder setNumber(String key, Number value) {
-        setValue(key, new DefaultJsonNumber(value));
-        return this;
+        return setRef(key, Slot.NUMBER, value);
+    }
+
+    @Override
+    public JsonObjectBuilder setLong(String key, long value) {
+        return setBits(key, Slot.LONG, value);
+    }
+
+    @Override
+    public JsonObjectBuilder setDouble(String key, double value) {
+        return setBits(key, Slot.DOUBLE, Double.doubleToRawLongBits(value));
     }
 
     @Override
     public JsonObjectBuilder setBoolean(String key, boolean value) {
-        setValue(key, value ? DefaultJsonLiteral.TRUE : DefaultJsonLiteral.FALSE);
-        return this;
+        return setRef(key, value ? Slot.TRUE : Slot.FALSE, null);
     }
 
     @Override
     public JsonObjectBuilder setTrue(String key) {
-        setValue(key, DefaultJsonLiteral.TRUE);
-        return this;
+        return setRef(key, Slot.TRUE, null);
     }
 
     @Override
     public JsonObjectBuilder setFalse(String key) {
-        setValue(key, DefaultJsonLiteral.FALSE);
-        return this;
+        return setRef(key, Slot.FALSE, null);
     }
 
     @Override
     public JsonObjectBuilder setNull(String key) {
-        setValue(key, DefaultJsonLiteral.NULL);
-        return this;
+        return setRef(key, Slot.NULL, null);
     }
 
     @Override
     public JsonObjectBuilder setNewObject(String key) {
-        DefaultJsonObjectBuilder result = new DefaultJsonObjectBuilder(this);
-        setValue(key, result);
+        DefaultJsonObjectBuilder result = (_arena == null)
+                ? new DefaultJsonObjectBuilder(this, _escaping)
+                : _arena.newObject(this);
+        setRef(key, Slot.VALUE, result);
         return result;
     }
 
     @Override
     public JsonArrayBuilder setNewArray(String key) {
-        DefaultJsonArrayBuilder result = new DefaultJsonArrayBuilder(this);
-        setValue(key, result);
+        DefaultJsonArrayBuilder result = (_arena == null)
+                ? new DefaultJsonArrayBuilder(this, _escaping)
+                : _arena.newArray(this);
+        setRef(key, Slot.VALUE, result);
         return result;
     }
 
+    @Override
+    public JsonObjectBuilder setFrozen(String key, JsonFrozenValue value) {
+        if (value == null) {
+            return setNull(key);
+        }
+        return setRef(key, Slot.VALUE, DefaultJsonFrozenValue.check(value));
+    }
+
+    @Override
+    public JsonFrozenValue freeze() {
+        return DefaultJsonFrozenValue.freeze(this, true);
+    }
+
+    void setParent(JsonBuilder parent) {
+        _parent = parent;
+    }
+
+    /*
+     * Empty this builder for reuse by its arena, keeping its storage
+     * unless it has grown unusually large.
+     */
+    void clear() {
+        if (_tags != null && _tags.length > MAX_RETAINED) {
+            _tags = null;
+            _bits = null;
+            _refs = null;
+        } else if (_refs != null) {
+            Arrays.fill(_refs, 0, size(), null);
+        }
+        _shape = ObjectShape.EMPTY;
+        _keys = null;
+        _table = null;
+        _size = 0;
+        _parent = null;
+    }
+
     @Override
     public JsonBuilder getParent() {
         return _parent;
     }
 
     @Override
-    public void writeTo(StringBuilder builder) {
+    JsonEscaping getEscaping() {
+        return _escaping;
+    }
+
+    @Override
+    public void write(JsonOutput out) throws IOException {
+        final StringBuilder builder = out.buffer();
         builder.append("{");
-        for (int i = 0; i < _keys.size(); i++) {
+        final int size = size();
+        for (int i = 0; i < size; i++) {
             if (i > 0) {
                 builder.append(",");
             }
-            final String key = _keys.get(i);
-            DefaultJsonString.appendJsonString(builder, key, "\"\"");
+            DefaultJsonString.appendJsonString(builder, key(i), "\"\"",
+                    out.getEscaping());
             builder.append(":");
-            _values.get(key).writeTo(builder);
+            final byte tag = _tags[i];
+            Slot.write(out, tag, (tag == Slot.LONG || tag == Slot.DOUBLE) ? _bits[i] : 0, _refs[i]);
+            out.mark();
         }
         builder.append("}");
     }
@@ -23,14 +23,37 @@
  */
 package com.frank_mitchell.jsonbb.spi;
 
-import java.util.PrimitiveIterator;
+import com.frank_mitchell.jsonbb.JsonEscaping;
 
 /**
  *
  * @author fmitchell
  */
 class DefaultJsonString extends DefaultJsonBaseValue {
-    
+
+    /*
+     * For each ASCII character, 0 if it can be written as is, 'u' if it
+     * must be written as a Unicode escape, or the character that follows
+     * the backslash in its short escape.
+     */
+    static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES[0x7F] = 'u';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    static final char[] HEX = "0123456789abcdef".toCharArray();
+
     final String _value;
 
     DefaultJsonString(String v) {
@@ -38,79 +61,60 @@ class DefaultJsonString extends DefaultJsonBaseValue {
     }
 
     @Override
-    public void writeTo(StringBuilder builder) {
-        appendJsonString(builder, _value, "null");
+    public void write(JsonOutput out) {
+        appendJsonString(out.buffer(), _value, "null", out.getEscaping());
     }
-    
+
     public static void appendJsonString(StringBuilder b, CharSequence str, String alt) {
+        appendJsonString(b, str, alt, JsonEscaping.ASCII);
+    }
+
+    public static void appendJsonString(StringBuilder b, CharSequence str,
+            String alt, JsonEscaping escaping) {
         if (str == null) {
             b.append(alt);
             return;
         }
-        
-        b.append("\"");
-        PrimitiveIterator.OfInt iter = str.chars().iterator();
-        while (iter.hasNext()) {
-            final int c = iter.nextInt();
-            switch (c) {
-                case '\"':
-                    b.append("\\\"");
-                case '\\':
-                    b.append("\\\\");
-                    break;
-                case '/':
-                    b.append("\\/");
-                    break;
-                case '\b':
-                    b.append("\\b");
-                    break;
-                case '\f':
-                    b.append("\\f");
-                    break;
-                case '\n':
-                    b.append("\\n");
-                    break;
-                case '\r':
-                    b.append("\\r");
-                    break;
-                case '\t':
-                    b.append("\\t");
-                    break;
-                default:
-                    if (c <= 0x7F && !Character.isISOControl(c)) {
-                        b.append(c);
-                    } else {
-                        b.append("\\u");
-                        appendUnicodeHex(b, c);
-                    }
-                    break;
-            }
-        }
-    }
 
-    private static void appendUnicodeHex(StringBuilder b, int c) {
-        String hex = Integer.toHexString(c);
-        if (c < 0) {
-            // OK, this shouldn't happen, so lets get dangerous ...
-            long lc = Integer.toUnsignedLong(c);
-            appendUnicodeHex(b, (int) ((lc >> 16) & 0xFFFF));
-            appendUnicodeHex(b, (int) (lc & 0xFFFF));
-        } else if (c <= 0xFF) {
-            if (c <= 0xF) {
-                b.append("000").append(hex);
-            } else {
-                b.append("00").append(hex);
+        final boolean raw = (escaping == JsonEscaping.UNICODE);
+        final int n = str.length();
+        // start of the run of characters not yet copied
+        int run = 0;
+        b.append('"');
+        for (int i = 0; i < n; i++) {
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                if (ESCAPES[c] == 0) {
+                    continue;
+                }
+            } else if (raw) {
+                if (!Character.isSurrogate(c)) {
+                    continue;
+                }
+                if (Character.isHighSurrogate(c) && i + 1 < n
+                        && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    i++;
+                    continue;
+                }
             }
-        } else {
-            if (c <= 0xFFF) {
-                b.append("0").append(hex);
-            } else if (c <= 0xFFFF) {
-                b.append(hex);
+            b.append(str, run, i);
+            run = i + 1;
+            final byte e = (c < 0x80) ? ESCAPES[c] : (byte) 'u';
+            if (e == 'u') {
+                appendUnicodeEscape(b, c);
             } else {
-                // Json spec doesn't allow more than four digits
-                appendUnicodeHex(b, Character.highSurrogate(c));
-                appendUnicodeHex(b, Character.lowSurrogate(c));
+                b.append('\\').append((char) e);
             }
         }
+        b.append(str, run, n);
+        b.append('"');
+    }
+
+    private static void appendUnicodeEscape(StringBuilder b, char c) {
+        b.append('\\').append('u')
+                .append(HEX[(c >> 12) & 0xF])
+                .append(HEX[(c >> 8) & 0xF])
+                .append(HEX[(c >> 4) & 0xF])
+                .append(HEX[c & 0xF]);
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonTemplate;
+import com.frank_mitchell.jsonbb.JsonTemplateWriter;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Default implementation of a template: a segment of UTF-8 before each
+ * hole, and one after the last.
+ *
+ * @author Frank Mitchell
+ */
+final class DefaultJsonTemplate implements JsonTemplate {
+
+    private final byte[][] _segments;
+    private final Hole[] _holes;
+    private final JsonEscaping _escaping;
+
+    DefaultJsonTemplate(byte[][] segments, Hole[] holes, JsonEscaping escaping) {
+        _segments = segments;
+        _holes = holes;
+        _escaping = escaping;
+    }
+
+    byte[] segment(int i) {
+        return _segments[i];
+    }
+
+    @Override
+    public int getHoleCount() {
+        return _holes.length;
+    }
+
+    @Override
+    public Hole getHole(int index) {
+        return _holes[index];
+    }
+
+    @Override
+    public JsonTemplateWriter createWriter(OutputStream output) {
+        return new DefaultJsonTemplateWriter(this, new DefaultJsonGenerator(output, _escaping));
+    }
+
+    @Override
+    public JsonTemplateWriter createWriter(WritableByteChannel output) {
+        return new DefaultJsonTemplateWriter(this, new DefaultJsonGenerator(output, _escaping));
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultJsonTemplate[" + _holes.length + " holes]";
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonTemplate;
+import com.frank_mitchell.jsonbb.JsonTemplate.Hole;
+import com.frank_mitchell.jsonbb.JsonTemplateCompiler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default implementation of a template compiler: a generator writing to
+ * memory, cut into a new segment at each hole.
+ *
+ * @author Frank Mitchell
+ */
+final class DefaultJsonTemplateCompiler implements JsonTemplateCompiler {
+
+    private final ByteArrayOutputStream _bytes = new ByteArrayOutputStream();
+    private final DefaultJsonGenerator _gen;
+    private final JsonEscaping _escaping;
+    private final List<byte[]> _segments = new ArrayList<>();
+    private final List<Hole> _holes = new ArrayList<>();
+
+    DefaultJsonTemplateCompiler(JsonEscaping escaping) {
+        _gen = new DefaultJsonGenerator(_bytes, escaping);
+        _escaping = escaping;
+    }
+
+    @Override
+    public JsonTemplateCompiler startObject() throws IOException {
+        _gen.startObject();
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler endObject() throws IOException {
+        _gen.endObject();
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler startArray() throws IOException {
+        _gen.startArray();
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler endArray() throws IOException {
+        _gen.endArray();
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler key(CharSequence key) throws IOException {
+        _gen.key(key);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler value(CharSequence value) throws IOException {
+        _gen.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler value(Number value) throws IOException {
+        _gen.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler value(long value) throws IOException {
+        _gen.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler value(double value) throws IOException {
+        _gen.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler value(boolean value) throws IOException {
+        _gen.value(value);
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler nullValue() throws IOException {
+        _gen.nullValue();
+        return this;
+    }
+
+    @Override
+    public JsonTemplateCompiler hole(Hole hole) throws IOException {
+        if (hole == null) {
+            throw new NullPointerException("hole");
+        }
+        _gen.hole();
+        _segments.add(_bytes.toByteArray());
+        _bytes.reset();
+        _holes.add(hole);
+        return this;
+    }
+
+    @Override
+    public JsonTemplate compile() {
+        if (!_gen.isComplete()) {
+            throw new IllegalStateException("skeleton is not a complete value");
+        }
+        if (_holes.isEmpty()) {
+            throw new IllegalStateException("skeleton has no holes");
+        }
+        try {
+            _gen.flush();
+        } catch (IOException e) {
+            // a ByteArrayOutputStream doesn't throw
+            throw new UncheckedIOException(e);
+        }
+        final byte[][] segments = _segments.toArray(new byte[_segments.size() + 1][]);
+        segments[_holes.size()] = _bytes.toByteArray();
+        return new DefaultJsonTemplate(segments, _holes.toArray(new Hole[0]), _escaping);
+    }
+
+    @Override
+    public int getDepth() {
+        return _gen.getDepth();
+    }
+
+    @Override
+    public void flush() {
+        // nothing to pass on until compiled
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
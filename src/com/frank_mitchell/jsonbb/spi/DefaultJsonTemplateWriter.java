@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
+import com.frank_mitchell.jsonbb.JsonTemplate.Hole;
+import com.frank_mitchell.jsonbb.JsonTemplateWriter;
+import java.io.IOException;
+
+/**
+ * Default implementation of a template writer, which writes segments
+ * and hole values through a generator's buffer.
+ *
+ * @author Frank Mitchell
+ */
+final class DefaultJsonTemplateWriter implements JsonTemplateWriter {
+
+    private final DefaultJsonTemplate _template;
+    private final DefaultJsonGenerator _gen;
+    private int _next;
+
+    DefaultJsonTemplateWriter(DefaultJsonTemplate template, DefaultJsonGenerator gen) {
+        _template = template;
+        _gen = gen;
+    }
+
+    @Override
+    public JsonTemplateWriter fillString(CharSequence value) throws IOException {
+        before(Hole.STRING);
+        if (value == null) {
+            _gen.writeBytes(DefaultJsonGenerator.NULL);
+        } else {
+            _gen.writeString(value);
+        }
+        return after();
+    }
+
+    @Override
+    public JsonTemplateWriter fillLong(long value) throws IOException {
+        before(Hole.LONG);
+        _gen.writeLong(value);
+        return after();
+    }
+
+    @Override
+    public JsonTemplateWriter fillDouble(double value) throws IOException {
+        before(Hole.DOUBLE);
+        _gen.writeDouble(value);
+        return after();
+    }
+
+    @Override
+    public JsonTemplateWriter fillValue(JsonBuilder value) throws IOException {
+        before(Hole.VALUE);
+        if (value == null) {
+            _gen.writeBytes(DefaultJsonGenerator.NULL);
+        } else {
+            _gen.writeBuilder(value);
+        }
+        return after();
+    }
+
+    @Override
+    public JsonTemplateWriter fillValue(JsonFrozenValue value) throws IOException {
+        final byte[] utf8 = (value == null)
+                ? DefaultJsonGenerator.NULL
+                : DefaultJsonFrozenValue.check(value).utf8();
+        before(Hole.VALUE);
+        _gen.writeBytes(utf8);
+        return after();
+    }
+
+    @Override
+    public int getNextHole() {
+        return _next;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        _gen.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _gen.close();
+    }
+
+    /*
+     * Check the kind of the next hole, and write the segment before it.
+     */
+    private void before(Hole hole) throws IOException {
+        final Hole expected = _template.getHole(_next);
+        if (hole != expected) {
+            throw new IllegalStateException("expecting a " + expected + " hole, not " + hole);
+        }
+        _gen.writeBytes(_template.segment(_next));
+    }
+
+    /*
+     * Move to the next hole, or finish the document after the last.
+     */
+    private JsonTemplateWriter after() throws IOException {
+        _next++;
+        if (_next == _template.getHoleCount()) {
+            _gen.writeBytes(_template.segment(_next));
+            _next = 0;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import java.math.BigInteger;
+
+/**
+ * Formats a {@code double} with the fewest digits that read back as the
+ * same value, writing ASCII straight into a byte array.
+ *
+ * This is Raffaello Giulietti's Schubfach algorithm, which newer JDKs
+ * also use for {@link Double#toString(double)}, and the output follows
+ * the same layout: plain notation for magnitudes from 10<sup>-3</sup>
+ * up to 10<sup>7</sup>, otherwise computerized scientific notation such
+ * as {@code 1.0E-5}. Unlike {@code Double.toString} it allocates nothing,
+ * and it is shortest on every JDK.
+ *
+ * Callers handle NaN and infinities, which JSON cannot represent.
+ *
+ * See R. Giulietti, "The Schubfach way to render doubles" (2020).
+ *
+ * @author Frank Mitchell
+ */
+final class DoubleFormatter {
+
+    /**
+     * The longest output, e.g. {@code -2.2250738585072014E-308}.
+     */
+    static final int MAX_LENGTH = 24;
+
+    // precision, in bits and in decimal digits
+    private static final int P = 53;
+    private static final int H = 17;
+
+    private static final int Q_MIN = -1074;
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final long T_MASK = C_MIN - 1;
+    private static final int BQ_MASK = (1 << 11) - 1;
+
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    private static final long[] POW10 = new long[H + 1];
+
+    /*
+     * For each k in [K_MIN, K_MAX], the 126-bit g with
+     * (g - 1) 2^r <= 10^-k < g 2^r for some r, split into its top and
+     * bottom 63 bits.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i <= H; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger g;
+            if (k <= 0) {
+                final BigInteger n = BigInteger.TEN.pow(-k);
+                final int shift = 126 - n.bitLength();
+                g = (shift >= 0) ? n.shiftLeft(shift) : n.shiftRight(-shift);
+            } else {
+                final BigInteger d = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(125 + d.bitLength()).divide(d);
+            }
+            g = g.add(BigInteger.ONE);
+            final int i = 2 * (k - K_MIN);
+            G[i] = g.shiftRight(63).longValue();
+            G[i + 1] = g.longValue() & MASK_63;
+        }
+    }
+
+    private DoubleFormatter() {
+    }
+
+    /**
+     * Write a finite value into an array with at least
+     * {@link #MAX_LENGTH} bytes from {@code off}.
+     *
+     * @return the index after the last byte written
+     */
+    static int format(double v, byte[] buf, int off) {
+        final long bits = Double.doubleToRawLongBits(v);
+        final long t = bits & T_MASK;
+        final int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bits < 0) {
+            buf[off++] = '-';
+        }
+        if (bq != 0) {
+            // normal value; here mq = -q
+            final int mq = -Q_MIN + 1 - bq;
+            final long c = C_MIN | t;
+            if (0 < mq && mq < P) {
+                // integers below 2^53 are written exactly
+                final long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buf, off);
+                }
+            }
+            return toDecimal(-mq, c, 0, buf, off);
+        }
+        if (t != 0) {
+            // subnormal value
+            return (t < C_TINY)
+                    ? toDecimal(Q_MIN, 10 * t, -1, buf, off)
+                    : toDecimal(Q_MIN, t, 0, buf, off);
+        }
+        buf[off++] = '0';
+        buf[off++] = '.';
+        buf[off++] = '0';
+        return off;
+    }
+
+    /*
+     * Find the shortest decimal in the rounding interval of c 2^q.
+     */
+    private static int toDecimal(int q, long c, int dk, byte[] buf, int off) {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // the interval is asymmetric at a power of two
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        final int h = q + flog2pow10(-k) + 2;
+
+        final int i = 2 * (k - K_MIN);
+        final long g1 = G[i];
+        final long g0 = G[i + 1];
+
+        final long vb = rop(g1, g0, cb << h);
+        final long vbl = rop(g1, g0, cbl << h);
+        final long vbr = rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit fewer: s' = floor(s / 10)
+            final long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= sp10 << 2;
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buf, off);
+            }
+        }
+
+        final long t = s + 1;
+        final boolean uin = vbl + out <= s << 2;
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buf, off);
+        }
+        // both or neither are in the interval; take the closer
+        final long cmp = vb - ((s + t) << 1);
+        return toChars((cmp < 0 || cmp == 0 && (s & 0x1) == 0) ? s : t,
+                k + dk, buf, off);
+    }
+
+    /*
+     * Round to odd the 190-bit product of g and cp, shifted down 127.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        final long x1 = Math.multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = Math.multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    /*
+     * Write f 10^e.
+     */
+    private static int toChars(long f, int e, byte[] buf, int off) {
+        // 10^(len-1) <= f < 10^len
+        int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+
+        // now 10^(H-1) <= f < 10^H, and the value is 0.f 10^e
+        f *= POW10[H - len];
+        e += len;
+
+        // split f into its first digit, the next 8, and the last 8
+        final long hm = Math.multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        final int l = (int) (f - 100_000_000L * hm);
+        final int h = (int) (hm * 1_441_151_881L >>> 57);
+        final int m = (int) (hm - 100_000_000 * h);
+
+        if (0 < e && e <= 7) {
+            return plain(h, m, l, e, buf, off);
+        }
+        if (-3 < e && e <= 0) {
+            return fraction(h, m, l, e, buf, off);
+        }
+        return scientific(h, m, l, e, buf, off);
+    }
+
+    /*
+     * 0 < e <= 7: plain notation without leading zeroes.
+     */
+    private static int plain(int h, int m, int l, int e, byte[] buf, int off) {
+        buf[off++] = (byte) ('0' + h);
+        int y = y(m);
+        int i = 1;
+        for (; i < e; ++i) {
+            final int t = 10 * y;
+            buf[off++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        buf[off++] = '.';
+        for (; i <= 8; ++i) {
+            final int t = 10 * y;
+            buf[off++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return lowDigits(l, buf, off);
+    }
+
+    /*
+     * -3 < e <= 0: plain notation with leading zeroes.
+     */
+    private static int fraction(int h, int m, int l, int e, byte[] buf, int off) {
+        buf[off++] = '0';
+        buf[off++] = '.';
+        for (; e < 0; ++e) {
+            buf[off++] = '0';
+        }
+        buf[off++] = (byte) ('0' + h);
+        off = eightDigits(m, buf, off);
+        return lowDigits(l, buf, off);
+    }
+
+    /*
+     * Otherwise: computerized scientific notation.
+     */
+    private static int scientific(int h, int m, int l, int e, byte[] buf, int off) {
+        buf[off++] = (byte) ('0' + h);
+        buf[off++] = '.';
+        off = eightDigits(m, buf, off);
+        off = lowDigits(l, buf, off);
+        return exponent(e - 1, buf, off);
+    }
+
+    private static int lowDigits(int l, byte[] buf, int off) {
+        if (l != 0) {
+            off = eightDigits(l, buf, off);
+        }
+        // drop trailing zeroes, but keep one digit after the point
+        while (buf[off - 1] == '0') {
+            --off;
+        }
+        if (buf[off - 1] == '.') {
+            ++off;
+        }
+        return off;
+    }
+
+    /*
+     * Left-to-right extraction of 8 digits, without division.
+     */
+    private static int eightDigits(int m, byte[] buf, int off) {
+        int y = y(m);
+        for (int i = 0; i < 8; ++i) {
+            final int t = 10 * y;
+            buf[off++] = (byte) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return off;
+    }
+
+    /*
+     * floor((a + 1) 2^28 / 10^8) - 1
+     */
+    private static int y(int a) {
+        return (int) (Math.multiplyHigh((long) (a + 1) << 28,
+                193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int exponent(int e, byte[] buf, int off) {
+        buf[off++] = 'E';
+        if (e < 0) {
+            buf[off++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            buf[off++] = (byte) ('0' + e);
+            return off;
+        }
+        int d;
+        if (e >= 100) {
+            // floor(e / 100)
+            d = e * 1_311 >>> 17;
+            buf[off++] = (byte) ('0' + d);
+            e -= 100 * d;
+        }
+        // floor(e / 10)
+        d = e * 103 >>> 10;
+        buf[off++] = (byte) ('0' + d);
+        buf[off++] = (byte) ('0' + e - 10 * d);
+        return off;
+    }
+
+    /*
+     * floor(log10(2^e))
+     */
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /*
+     * floor(log10(3/4 2^e))
+     */
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) ((e * 661_971_961_083L + -274_743_187_321L) >> 41);
+    }
+
+    /*
+     * floor(log2(10^e))
+     */
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
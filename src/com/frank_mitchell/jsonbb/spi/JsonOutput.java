@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+/**
+ * Where a {@link JsonValue} writes itself.
+ *
+ * Values append to a {@link StringBuilder} from {@link #buffer()}, and
+ * containers call {@link #mark()} between their members. When writing to
+ * anything but a {@link StringBuilder}, {@code mark()} passes the buffer
+ * on once it holds a chunk's worth. Output therefore starts flowing right
+ * away, and the buffer never holds much more than one chunk plus one
+ * string or number, whatever the size of the tree. When writing to a
+ * {@link StringBuilder}, that is the buffer, and nothing is copied.
+ *
+ * Chunks for an {@link OutputStream} or {@link ByteBuffer} are encoded
+ * straight to UTF-8, copying runs of ASCII a byte per character; for a
+ * heap buffer with room they are encoded into its array in place. Text
+ * that is already encoded is copied to them as is by {@link #writeUtf8}. The
+ * buffers used for chunking belong to the thread and are reused from one
+ * call to the next; {@link #release()} gives them back.
+ *
+ * @author Frank Mitchell
+ */
+final class JsonOutput {
+
+    static final int CHUNK_SIZE = 4096;
+
+    // larger scratch buffers are dropped rather than kept for the thread
+    private static final int MAX_RETAINED = CHUNK_SIZE * 16;
+
+    // smaller blocks of UTF-8 go through the buffer rather than split a stream write
+    private static final int MIN_BLOCK = CHUNK_SIZE / 8;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final StringBuilder _buf;
+    private final Scratch _scratch;
+    private final Appendable _target;
+    private final OutputStream _stream;
+    private final ByteBuffer _bytes;
+    private final JsonEscaping _escaping;
+    private final byte[] _digits = new byte[DoubleFormatter.MAX_LENGTH];
+
+    /*
+     * Write straight into a builder.
+     */
+    JsonOutput(StringBuilder builder, JsonEscaping escaping) {
+        this(builder, null, null, null, null, escaping);
+    }
+
+    /*
+     * Write characters to a target in chunks.
+     */
+    JsonOutput(Appendable target, JsonEscaping escaping) {
+        this(null, acquire(), target, null, null, escaping);
+    }
+
+    /*
+     * Write UTF-8 to a stream in chunks.
+     */
+    JsonOutput(OutputStream stream, JsonEscaping escaping) {
+        this(null, acquire(), null, stream, null, escaping);
+    }
+
+    /*
+     * Write UTF-8 into a buffer in chunks.
+     */
+    JsonOutput(ByteBuffer bytes, JsonEscaping escaping) {
+        this(null, acquire(), null, null, bytes, escaping);
+    }
+
+    private JsonOutput(StringBuilder builder, Scratch scratch,
+            Appendable target, OutputStream stream, ByteBuffer bytes,
+            JsonEscaping escaping) {
+        _buf = (scratch == null) ? builder : scratch._chars;
+        _scratch = scratch;
+        _target = target;
+        _stream = stream;
+        _bytes = bytes;
+        _escaping = escaping;
+    }
+
+    StringBuilder buffer() {
+        return _buf;
+    }
+
+    JsonEscaping getEscaping() {
+        return _escaping;
+    }
+
+    /*
+     * Append a double in the fewest digits that read back the same, or
+     * alt if JSON can't represent it.
+     */
+    void appendDouble(double v, String alt) {
+        if (!Double.isFinite(v)) {
+            _buf.append(alt);
+            return;
+        }
+        final int len = DoubleFormatter.format(v, _digits, 0);
+        for (int i = 0; i < len; i++) {
+            _buf.append((char) _digits[i]);
+        }
+    }
+
+    /*
+     * Copy text already encoded as UTF-8 straight to a stream or buffer,
+     * after anything buffered. Returns false if the text should be
+     * appended to the buffer instead: always for a character target, and
+     * for short text to a stream.
+     */
+    boolean writeUtf8(byte[] utf8) throws IOException {
+        if (_bytes == null && (_stream == null || utf8.length < MIN_BLOCK)) {
+            return false;
+        }
+        drain();
+        if (_stream != null) {
+            _stream.write(utf8);
+        } else {
+            _bytes.put(utf8);
+        }
+        return true;
+    }
+
+    /*
+     * Note a point between values, where the buffer may be passed on.
+     */
+    void mark() throws IOException {
+        if (_scratch != null && _buf.length() >= CHUNK_SIZE) {
+            drain();
+        }
+    }
+
+    /*
+     * Pass everything buffered on to the target.
+     */
+    void drain() throws IOException {
+        final int len = _buf.length();
+        if (_scratch == null || len == 0) {
+            return;
+        }
+        if (_target != null && !(_target instanceof Writer)) {
+            _target.append(_buf);
+            _buf.setLength(0);
+            return;
+        }
+        final char[] chunk = _scratch.chunk(len);
+        _buf.getChars(0, len, chunk, 0);
+        _buf.setLength(0);
+        if (_target != null) {
+            // avoid Writer.append(), which copies into a String first
+            ((Writer) _target).write(chunk, 0, len);
+        } else if (_bytes != null && _bytes.hasArray() && _bytes.remaining() >= len * 3) {
+            final int pos = _bytes.position();
+            final int start = _bytes.arrayOffset() + pos;
+            final int end = encode(chunk, len, _bytes.array(), start);
+            _bytes.position(pos + end - start);
+        } else {
+            final byte[] b = _scratch.bytes(len * 3);
+            final int n = encode(chunk, len, b, 0);
+            if (_stream != null) {
+                _stream.write(b, 0, n);
+            } else {
+                _bytes.put(b, 0, n);
+            }
+        }
+    }
+
+    /*
+     * Give the scratch buffers back to the thread.
+     */
+    void release() {
+        if (_scratch != null) {
+            _buf.setLength(0);
+            _scratch.release();
+        }
+    }
+
+    /*
+     * Encode chars as UTF-8, returning the index after the last byte.
+     * Unpaired surrogates become '?'.
+     */
+    static int encode(char[] src, int len, byte[] dst, int off) {
+        int i = 0;
+        while (i < len) {
+            int run = i;
+            while (run < len && src[run] < 0x80) {
+                run++;
+            }
+            for (; i < run; i++) {
+                dst[off++] = (byte) src[i];
+            }
+            if (i == len) {
+                break;
+            }
+            final char c = src[i++];
+            if (c < 0x800) {
+                dst[off++] = (byte) (0xC0 | (c >> 6));
+                dst[off++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                dst[off++] = (byte) (0xE0 | (c >> 12));
+                dst[off++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[off++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i < len
+                    && Character.isLowSurrogate(src[i])) {
+                final int cp = Character.toCodePoint(c, src[i++]);
+                dst[off++] = (byte) (0xF0 | (cp >> 18));
+                dst[off++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                dst[off++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                dst[off++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                dst[off++] = '?';
+            }
+        }
+        return off;
+    }
+
+    private static Scratch acquire() {
+        final Scratch scratch = SCRATCH.get();
+        if (scratch._inUse) {
+            // e.g. a stream that writes JSON from inside write()
+            return new Scratch();
+        }
+        scratch._inUse = true;
+        return scratch;
+    }
+
+    /*
+     * Per-thread buffers for chunked output.
+     */
+    private static final class Scratch {
+        private StringBuilder _chars = new StringBuilder(CHUNK_SIZE * 2);
+        private char[] _chunk = new char[CHUNK_SIZE * 2];
+        private byte[] _bytes = new byte[CHUNK_SIZE * 6];
+        private boolean _inUse;
+
+        char[] chunk(int len) {
+            if (_chunk.length < len) {
+                _chunk = new char[len];
+            }
+            return _chunk;
+        }
+
+        byte[] bytes(int len) {
+            if (_bytes.length < len) {
+                _bytes = new byte[len];
+            }
+            return _bytes;
+        }
+
+        void release() {
+            if (_chars.capacity() > MAX_RETAINED) {
+                _chars = new StringBuilder(CHUNK_SIZE * 2);
+            }
+            if (_chunk.length > MAX_RETAINED) {
+                _chunk = new char[CHUNK_SIZE * 2];
+            }
+            if (_bytes.length > MAX_RETAINED * 3) {
+                _bytes = new byte[CHUNK_SIZE * 6];
+            }
+            _inUse = false;
+        }
+    }
+}
@@ -25,7 +25,9 @@ package com.frank_mitchell.jsonbb.spi;
 
 import com.frank_mitchell.codepoint.CodePointSink;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 /**
  *
@@ -33,10 +35,20 @@ import java.io.Writer;
  */
 interface JsonValue {
 
+    /*
+     * Append this value to an output, marking the output between the
+     * members of a container.
+     */
+    void write(JsonOutput out) throws IOException;
+
     void writeTo(StringBuilder builder);
 
     void writeTo(Writer writer) throws IOException;
 
     void writeTo(CodePointSink sink) throws IOException;
+
+    void writeTo(OutputStream stream) throws IOException;
+
+    void writeTo(ByteBuffer buffer);
     
 }
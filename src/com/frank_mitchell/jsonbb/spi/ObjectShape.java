@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ordered key list of a JSON Object, shared by every object that has
+ * the same keys in the same order.
+ *
+ * Shapes form a tree rooted at {@link #EMPTY}: adding a key to an object
+ * moves it to a child shape through {@link #with(String)}, which returns
+ * the same child every time. An array of records built the same way
+ * therefore holds one key list in total, and each object keeps only a
+ * shape and an array of values.
+ *
+ * A shape is immutable and safe to share between threads. To keep
+ * objects with arbitrary keys from growing the tree without bound, no
+ * shape has more than {@link #MAX_SHARED_KEYS} keys, and each shape
+ * remembers only a limited number of children; past that, new shapes
+ * are not shared. Objects with more keys keep their own. Since the tree
+ * could still hold {@code MAX_TRANSITIONS} to the power of its depth,
+ * the whole tree also has a fixed budget of shapes; once it is spent,
+ * objects with new key lists get shapes of their own.
+ *
+ * @author Frank Mitchell
+ */
+final class ObjectShape {
+
+    static final ObjectShape EMPTY = new ObjectShape(new String[0], true);
+
+    // the most keys in a shape; wider objects keep their own keys
+    static final int MAX_SHARED_KEYS = 16;
+
+    // children remembered per shape
+    private static final int MAX_TRANSITIONS = 32;
+
+    // shapes remembered in the whole tree, not counting EMPTY
+    private static final int MAX_SHARED_SHAPES = 1 << 14;
+
+    private static final AtomicInteger SHARED_COUNT = new AtomicInteger();
+
+    private final String[] _keys;
+
+    // whether this shape is in the tree, so its children may be
+    private final boolean _shared;
+
+    // created with the first child, since most shapes have none
+    private volatile Map<String, ObjectShape> _transitions;
+
+    private ObjectShape(String[] keys, boolean shared) {
+        _keys = keys;
+        _shared = shared;
+    }
+
+    /**
+     * The number of keys.
+     */
+    int size() {
+        return _keys.length;
+    }
+
+    /**
+     * The key at a position.
+     */
+    String getKey(int i) {
+        return _keys[i];
+    }
+
+    /**
+     * The position of a key, or -1 if this shape doesn't have it.
+     */
+    int indexOf(String key) {
+        // too few keys to be worth a hash table
+        for (int i = 0; i < _keys.length; i++) {
+            if (_keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The shape with all of this shape's keys followed by another.
+     * The key must not already be in this shape, and this shape must have
+     * fewer than {@link #MAX_SHARED_KEYS} keys.
+     */
+    ObjectShape with(String key) {
+        if (_keys.length >= MAX_SHARED_KEYS) {
+            throw new IllegalStateException("shape already has " + _keys.length + " keys");
+        }
+        Map<String, ObjectShape> transitions = _transitions;
+        if (transitions != null) {
+            final ObjectShape known = transitions.get(key);
+            if (known != null) {
+                return known;
+            }
+        }
+        final String[] keys = Arrays.copyOf(_keys, _keys.length + 1);
+        keys[_keys.length] = key;
+        if (!_shared || SHARED_COUNT.get() >= MAX_SHARED_SHAPES) {
+            return new ObjectShape(keys, false);
+        }
+        if (transitions == null) {
+            synchronized (this) {
+                transitions = _transitions;
+                if (transitions == null) {
+                    transitions = new ConcurrentHashMap<>();
+                    _transitions = transitions;
+                }
+            }
+        }
+        if (transitions.size() >= MAX_TRANSITIONS) {
+            return new ObjectShape(keys, false);
+        }
+        if (SHARED_COUNT.incrementAndGet() > MAX_SHARED_SHAPES) {
+            SHARED_COUNT.decrementAndGet();
+            return new ObjectShape(keys, false);
+        }
+        final ObjectShape result = new ObjectShape(keys, true);
+        final ObjectShape prior = transitions.putIfAbsent(key, result);
+        if (prior != null) {
+            // another thread added the same child; give back its place
+            SHARED_COUNT.decrementAndGet();
+            return prior;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectShape" + Arrays.toString(_keys);
+    }
+}
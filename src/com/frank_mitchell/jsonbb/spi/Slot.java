@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.spi;
+
+import java.io.IOException;
+
+/**
+ * Tags for values stored inline in a container rather than as a
+ * {@link JsonValue} of their own.
+ *
+ * A container keeps a tag per member or element, and depending on the
+ * tag, the value in a {@code long} slot or an object slot:
+ * <ul>
+ * <li>{@link #STRING}: a {@link CharSequence} (or {@code null}) in the
+ *     object slot;</li>
+ * <li>{@link #LONG}: the value in the {@code long} slot;</li>
+ * <li>{@link #DOUBLE}: the bits of the value in the {@code long} slot;</li>
+ * <li>{@link #NUMBER}: a {@link Number} (or {@code null}) in the object
+ *     slot;</li>
+ * <li>{@link #TRUE}, {@link #FALSE}, {@link #NULL}: nothing;</li>
+ * <li>{@link #VALUE}: a {@link JsonValue}, such as a nested container, in
+ *     the object slot.</li>
+ * </ul>
+ *
+ * @author Frank Mitchell
+ */
+final class Slot {
+
+    static final byte VALUE = 0;
+    static final byte STRING = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte NUMBER = 4;
+    static final byte TRUE = 5;
+    static final byte FALSE = 6;
+    static final byte NULL = 7;
+
+    private Slot() {
+    }
+
+    /*
+     * Write one inline value.
+     */
+    static void write(JsonOutput out, byte tag, long bits, Object ref) throws IOException {
+        switch (tag) {
+            case STRING:
+                DefaultJsonString.appendJsonString(out.buffer(), (CharSequence) ref,
+                        "null", out.getEscaping());
+                break;
+            case LONG:
+                out.buffer().append(bits);
+                break;
+            case DOUBLE:
+                out.appendDouble(Double.longBitsToDouble(bits), "null");
+                break;
+            case NUMBER:
+                DefaultJsonNumber.write(out, (Number) ref);
+                break;
+            case TRUE:
+                out.buffer().append("true");
+                break;
+            case FALSE:
+                out.buffer().append("false");
+                break;
+            case NULL:
+                out.buffer().append("null");
+                break;
+            default:
+                ((JsonValue) ref).write(out);
+                break;
+        }
+    }
+}
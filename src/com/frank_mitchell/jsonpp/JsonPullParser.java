@@ -23,7 +23,16 @@ package com.frank_mitchell.jsonpp;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
 
 /**
  * This interface traverses a JSON Value as a stream of events.
@@ -141,6 +150,186 @@ public interface JsonPullParser extends Closeable {
      */
     public String getString();
 
+    /**
+     * Finds the current key in a set of expected keys.
+     *
+     * This gives the same result as
+     * {@code keys.indexOf(getString())}, but implementations may
+     * match the key where it was read without creating a String.
+     *
+     * @param keys the expected keys
+     * @return the index of the current key in {@code keys}, or -1 if
+     *         it is not one of them
+     *
+     * @throws IllegalStateException if the current event is not
+     *         {@link JsonEvent#KEY_NAME}.
+     */
+    default int matchKey(KeySet keys) throws IllegalStateException {
+        if (getEvent() != JsonEvent.KEY_NAME) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        return keys.indexOf(getString());
+    }
+
+    /**
+     * Gets the current string value as a stream of characters.
+     *
+     * On {@link JsonEvent#VALUE_STRING}, the reader returns the JSON String
+     * with all escape sequences converted to their character values.
+     * Implementations that support {@link #setStringBufferLimit(int)} may
+     * decode a long string directly from the input as the reader is read,
+     * so that the whole string is never held in memory. In that case
+     * the reader is only valid until the next call to {@link #next()},
+     * and {@link #getString()} is no longer available for the value once
+     * reading has begun.
+     *
+     * @return a reader over the value of the current string
+     *
+     * @throws IllegalStateException if the current event has no string value.
+     */
+    default Reader getStringReader() throws IllegalStateException {
+        return new StringReader(getString());
+    }
+
+    /**
+     * Gets the current string value decoded as base64.
+     *
+     * On {@link JsonEvent#VALUE_STRING}, the string must be base64 in either
+     * the standard or the URL-safe alphabet of {@link Base64}, with or
+     * without padding. Implementations should decode it without creating
+     * an intermediate String. Like {@link #getStringReader()}, this may
+     * consume a long string value from the input.
+     *
+     * @return the bytes represented by the current string
+     *
+     * @throws IllegalStateException if the current event is not a string.
+     * @throws IllegalArgumentException if the string is not base64.
+     * @throws IOException if the underlying input cannot be read.
+     */
+    default byte[] getBinary() throws IOException {
+        if (getEvent() != JsonEvent.VALUE_STRING) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        final String s = getString();
+        if (s.indexOf('-') >= 0 || s.indexOf('_') >= 0) {
+            return Base64.getUrlDecoder().decode(s);
+        }
+        return Base64.getDecoder().decode(s);
+    }
+
+    /**
+     * Decodes the current string value as base64 into a buffer.
+     *
+     * This accepts the same text as {@link #getBinary()}, but writes the
+     * bytes into {@code dst} starting at its current position, so a large
+     * value can be decoded from the input without any intermediate copy.
+     *
+     * @param dst the buffer to receive the decoded bytes
+     * @return the number of bytes written
+     *
+     * @throws IllegalStateException if the current event is not a string.
+     * @throws IllegalArgumentException if the string is not base64.
+     * @throws java.nio.BufferOverflowException if {@code dst} has too little
+     * room; some bytes may have been written already.
+     * @throws IOException if the underlying input cannot be read.
+     */
+    default int readBinary(ByteBuffer dst) throws IOException {
+        final byte[] bytes = getBinary();
+        dst.put(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Sets the most characters of a string value held in memory at once.
+     *
+     * Values longer than this may only be read in full through
+     * {@link #getStringReader()}, or through methods like
+     * {@link #getString()} that first read the rest of the value.
+     * Keys are always read in full. The default is no limit, and
+     * implementations that cannot stream strings may ignore this.
+     *
+     * @param limit the maximum number of characters to buffer
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive.
+     */
+    default void setStringBufferLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+
+    /**
+     * Gets the current string value as an {@link Instant}.
+     *
+     * On {@link JsonEvent#KEY_NAME} or {@link JsonEvent#VALUE_STRING}, the
+     * string must be an ISO-8601 instant such as
+     * {@code "2026-10-19T12:34:56.789Z"}. Implementations should parse
+     * the common forms without creating an intermediate String.
+     *
+     * @return the instant represented by the current string
+     *
+     * @throws IllegalStateException if the current event has no string value.
+     * @throws java.time.format.DateTimeParseException if the string is not
+     * an instant.
+     */
+    default Instant getInstant() throws IllegalStateException {
+        return Instant.parse(getString());
+    }
+
+    /**
+     * Gets the current string value as a {@link LocalDate}.
+     *
+     * On {@link JsonEvent#KEY_NAME} or {@link JsonEvent#VALUE_STRING}, the
+     * string must be an ISO-8601 date such as {@code "2026-10-19"}.
+     * Implementations should parse the common forms without creating an
+     * intermediate String.
+     *
+     * @return the date represented by the current string
+     *
+     * @throws IllegalStateException if the current event has no string value.
+     * @throws java.time.format.DateTimeParseException if the string is not
+     * a date.
+     */
+    default LocalDate getLocalDate() throws IllegalStateException {
+        return LocalDate.parse(getString());
+    }
+
+    /**
+     * Gets the current string value as a {@link UUID}.
+     *
+     * On {@link JsonEvent#KEY_NAME} or {@link JsonEvent#VALUE_STRING}, the
+     * string must be a UUID in the format of {@link UUID#toString()}.
+     * Implementations should parse it without creating an intermediate
+     * String.
+     *
+     * @return the UUID represented by the current string
+     *
+     * @throws IllegalStateException if the current event has no string value.
+     * @throws IllegalArgumentException if the string is not a UUID.
+     */
+    default UUID getUuid() throws IllegalStateException {
+        return UUID.fromString(getString());
+    }
+
+    /**
+     * Gets the enum constant named by the current string value.
+     *
+     * On {@link JsonEvent#KEY_NAME} or {@link JsonEvent#VALUE_STRING}, the
+     * string must exactly match the name of a constant, as with
+     * {@link Enum#valueOf(Class, String)}. Implementations should find
+     * the constant without creating an intermediate String.
+     *
+     * @param <E>  the enum type
+     * @param type the class of the enum type
+     * @return the constant named by the current string
+     *
+     * @throws IllegalStateException if the current event has no string value.
+     * @throws IllegalArgumentException if no constant has that name.
+     */
+    default <E extends Enum<E>> E getEnum(Class<E> type) throws IllegalStateException {
+        return Enum.valueOf(type, getString());
+    }
+
     /**
      * Gets the {@link BigDecimal} value associated with the current event.
      *
@@ -212,6 +401,269 @@ public interface JsonPullParser extends Closeable {
         return n.longValue();
     }
 
+    /**
+     * Indicates whether the current JSON Number is exactly representable
+     * by {@link #getUnscaledLong()} and {@link #getScale()}.
+     *
+     * If this method returns {@code false} the caller should use
+     * {@link #getNumber()} instead.
+     *
+     * @return whether the unscaled value of the current number fits in
+     * a {@code long}
+     *
+     * @throws IllegalStateException if the current event is not a number.
+     */
+    default boolean hasUnscaledLong() throws IllegalStateException {
+        return bigUnscaledValue().bitLength() < Long.SIZE;
+    }
+
+    /**
+     * Gets the unscaled value of the current JSON Number as a {@code long}.
+     *
+     * The number equals {@code getUnscaledLong() * 10^-getScale()} exactly,
+     * and the two agree with {@link java.math.BigDecimal#unscaledValue()}
+     * and {@link java.math.BigDecimal#scale()} for the number as written.
+     * Implementations should compute this value without creating any
+     * objects.
+     *
+     * @return the unscaled value of the current JSON Number
+     *
+     * @throws IllegalStateException if the current event is not a number.
+     * @throws ArithmeticException if the unscaled value does not fit in a
+     * {@code long}; see {@link #hasUnscaledLong()}.
+     */
+    default long getUnscaledLong() throws IllegalStateException {
+        return bigUnscaledValue().longValueExact();
+    }
+
+    /**
+     * Gets the scale of the current JSON Number, i.e. the number of digits
+     * to the right of the decimal point after applying any exponent.
+     *
+     * @return the scale of the current JSON Number
+     *
+     * @throws IllegalStateException if the current event is not a number.
+     *
+     * @see #getUnscaledLong()
+     */
+    default int getScale() throws IllegalStateException {
+        return bigDecimalValue().scale();
+    }
+
+    private BigDecimal bigDecimalValue() throws IllegalStateException {
+        Number n = getNumber();
+        if (n == null) {
+            throw new IllegalStateException("!" + JsonEvent.VALUE_NUMBER);
+        }
+        if (n instanceof BigDecimal) {
+            return (BigDecimal) n;
+        }
+        return new BigDecimal(getString());
+    }
+
+    private BigInteger bigUnscaledValue() throws IllegalStateException {
+        return bigDecimalValue().unscaledValue();
+    }
+
+    /**
+     * Reads every number in the current JSON Array into {@code dest}.
+     *
+     * This method must be called when {@link #getEvent()} is
+     * {@link JsonEvent#START_ARRAY}. Numbers in nested arrays are read in
+     * document order, so {@code [[1,2],[3,4]]} yields {@code 1, 2, 3, 4}.
+     * Each value is converted as if by {@link #getDouble()}.
+     *
+     * Reading stops when one of the following occurs, and
+     * {@link #getEvent()} indicates which:
+     * <ul>
+     * <li>{@link JsonEvent#END_ARRAY}: the array ended.</li>
+     * <li>{@link JsonEvent#VALUE_NUMBER}: {@code dest} is full; the
+     * current number is the last one stored and the rest of the array
+     * remains to be read.</li>
+     * <li>any other event: an element was neither a number nor an array,
+     * or a syntax error occurred.</li>
+     * </ul>
+     *
+     * Implementations should read the array without the overhead of
+     * calling {@link #next()} for each element.
+     *
+     * @param dest   the array to store values into
+     * @param offset the index in {@code dest} of the first value
+     * @return the number of values stored
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     */
+    default int readDoubleArray(double[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = getDouble();
+        }
+        return count;
+    }
+
+    /**
+     * Reads every number in the current JSON Array into a new array.
+     *
+     * This is equivalent to {@link #readDoubleArray(double[], int)} with
+     * a destination that grows as needed.
+     *
+     * @return the values read, in document order
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     */
+    default double[] readDoubleArray() throws IOException {
+        checkStartArray();
+        double[] result = new double[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = getDouble();
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Reads every number in the current JSON Array into {@code dest}.
+     * Each value is converted as if by {@link #getLong()}.
+     *
+     * @param dest   the array to store values into
+     * @param offset the index in {@code dest} of the first value
+     * @return the number of values stored
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     *
+     * @see #readDoubleArray(double[], int)
+     */
+    default int readLongArray(long[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = getLong();
+        }
+        return count;
+    }
+
+    /**
+     * Reads every number in the current JSON Array into a new array.
+     * Each value is converted as if by {@link #getLong()}.
+     *
+     * @return the values read, in document order
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     *
+     * @see #readDoubleArray()
+     */
+    default long[] readLongArray() throws IOException {
+        checkStartArray();
+        long[] result = new long[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = getLong();
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Reads every number in the current JSON Array into {@code dest}.
+     * Each value is converted as if by {@link #getInt()}.
+     *
+     * @param dest   the array to store values into
+     * @param offset the index in {@code dest} of the first value
+     * @return the number of values stored
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     *
+     * @see #readDoubleArray(double[], int)
+     */
+    default int readIntArray(int[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = getInt();
+        }
+        return count;
+    }
+
+    /**
+     * Reads every number in the current JSON Array into a new array.
+     * Each value is converted as if by {@link #getInt()}.
+     *
+     * @return the values read, in document order
+     *
+     * @throws IllegalStateException if the current event is not
+     * {@link JsonEvent#START_ARRAY}.
+     * @throws IOException if the character source could not be read.
+     *
+     * @see #readDoubleArray()
+     */
+    default int[] readIntArray() throws IOException {
+        checkStartArray();
+        int[] result = new int[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = getInt();
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void checkStartArray() throws IllegalStateException {
+        if (getEvent() != JsonEvent.START_ARRAY) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    /*
+     * Advance to the next number in an array being read in bulk.
+     * Returns the new nesting depth, 0 after the outermost END_ARRAY,
+     * or -1 if the next element was neither a number nor an array.
+     */
+    private int nextNumberInArray(int depth) throws IOException {
+        while (true) {
+            switch (nextEvent()) {
+                case VALUE_NUMBER:
+                    return depth;
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    if (--depth == 0) {
+                        return 0;
+                    }
+                    break;
+                default:
+                    return -1;
+            }
+        }
+    }
+
     /**
      * Advances to the next significant JSON element in the underlying stream.
      *
@@ -231,6 +683,47 @@ public interface JsonPullParser extends Closeable {
         return getEvent();
     }
 
+    /**
+     * Skips the contents of the current object or array.
+     *
+     * On {@link JsonEvent#START_OBJECT} or {@link JsonEvent#START_ARRAY},
+     * advances to the matching {@link JsonEvent#END_OBJECT} or
+     * {@link JsonEvent#END_ARRAY} without reporting the events in between.
+     * Implementations may scan past the contents without fully parsing or
+     * checking them. On any other event this does nothing.
+     *
+     * @throws IOException if the character source could not be read.
+     */
+    default void skipValue() throws IOException {
+        int depth = 0;
+        while (true) {
+            switch (getEvent()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                case KEY_NAME:
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                case VALUE_NULL:
+                    break;
+                default:
+                    // END_STREAM, SYNTAX_ERROR, etc.
+                    return;
+            }
+            if (depth <= 0) {
+                return;
+            }
+            next();
+        }
+    }
+
     /**
      * Close the underlying IO or NIO object.
      *
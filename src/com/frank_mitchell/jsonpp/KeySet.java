@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A fixed set of object keys, each identified by its position.
+ *
+ * Build one for each kind of object a reader expects, then call
+ * {@link JsonPullParser#matchKey(KeySet)} on every
+ * {@link JsonEvent#KEY_NAME} and {@code switch} on the result.
+ * A parser that supports it matches the key where it was read, so no
+ * String is ever created for it.
+ *
+ * The set is a perfect hash table: construction searches for a
+ * multiplier that sends every key's hash to its own slot, so a lookup
+ * hashes the candidate once and compares it with at most one key.
+ * If no such multiplier turns up within a bounded search, as when two
+ * keys have the same {@link String#hashCode()}, the set falls back to
+ * linear probing, comparing the candidate with each key it passes.
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Frank Mitchell
+ */
+public final class KeySet {
+
+    private static final int MAX_ATTEMPTS = 256;
+
+    // how much larger than the smallest table to search before probing
+    private static final int MAX_EXTRA_BITS = 3;
+
+    private final String[] _names;
+    private final int[] _slots;
+    private final int _multiplier;
+    private final int _shift;
+    private final boolean _probing;
+
+    private KeySet(String[] names) {
+        _names = names;
+
+        int minBits = 1;
+        while ((1 << minBits) < names.length * 2) {
+            minBits++;
+        }
+        int multiplier = 0x9E3779B9;
+        int bits = minBits;
+        int[] slots = null;
+        search:
+        for (; bits <= minBits + MAX_EXTRA_BITS; bits++) {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                slots = fill(multiplier, 32 - bits, 1 << bits);
+                if (slots != null) {
+                    break search;
+                }
+                // next odd multiplier from an LCG
+                multiplier = (multiplier * 0x5DEECE6D + 11) | 1;
+            }
+        }
+        _probing = (slots == null);
+        if (_probing) {
+            // some hashes can't be told apart; at most half full
+            bits = minBits;
+            multiplier = 0x9E3779B9;
+            slots = probe(multiplier, 32 - bits, 1 << bits);
+        }
+        _slots = slots;
+        _multiplier = multiplier;
+        _shift = 32 - bits;
+    }
+
+    private int[] fill(int multiplier, int shift, int size) {
+        final int[] slots = new int[size];
+        for (int i = 0; i < _names.length; i++) {
+            final int slot = (_names[i].hashCode() * multiplier) >>> shift;
+            if (slots[slot] != 0) {
+                return null;
+            }
+            // zero marks an empty slot
+            slots[slot] = i + 1;
+        }
+        return slots;
+    }
+
+    private int[] probe(int multiplier, int shift, int size) {
+        final int[] slots = new int[size];
+        for (int i = 0; i < _names.length; i++) {
+            int slot = (_names[i].hashCode() * multiplier) >>> shift;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (size - 1);
+            }
+            slots[slot] = i + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Create a set of keys.
+     *
+     * @param names distinct keys, in the order of their indices
+     * @return a new key set
+     * @throws IllegalArgumentException if a key is repeated
+     * @throws NullPointerException if a key is {@code null}
+     */
+    public static KeySet of(String... names) {
+        final String[] copy = names.clone();
+        final Set<String> seen = new HashSet<>();
+        for (String name : copy) {
+            if (!seen.add(Objects.requireNonNull(name, "key"))) {
+                throw new IllegalArgumentException("Duplicate key: " + name);
+            }
+        }
+        return new KeySet(copy);
+    }
+
+    /**
+     * Get the number of keys.
+     *
+     * @return the number of keys in this set
+     */
+    public int size() {
+        return _names.length;
+    }
+
+    /**
+     * Get a key by its index.
+     *
+     * @param index an index from 0 to {@link #size()} - 1
+     * @return the key at {@code index}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public String getName(int index) {
+        return _names[index];
+    }
+
+    /**
+     * Find a key.
+     *
+     * @param name a possible key
+     * @return the key's index, or -1 if not in this set
+     */
+    public int indexOf(CharSequence name) {
+        return indexOf(name, 0, name.length());
+    }
+
+    /**
+     * Find a key in a range of characters.
+     *
+     * @param s     characters to match
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the key's index, or -1 if not in this set
+     */
+    public int indexOf(CharSequence s, int start, int end) {
+        // same as String.hashCode()
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        int slot = (hash * _multiplier) >>> _shift;
+        if (!_probing) {
+            final int entry = _slots[slot] - 1;
+            return (entry >= 0 && matches(_names[entry], s, start, end)) ? entry : -1;
+        }
+        final int mask = _slots.length - 1;
+        for (int entry = _slots[slot] - 1; entry >= 0; entry = _slots[slot] - 1) {
+            if (matches(_names[entry], s, start, end)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Find a key in a range of characters, trying a likely index first.
+     *
+     * Objects of the same shape usually list their keys in the same
+     * order, so a reader can pass the index found at the same position
+     * in the previous object. If the guess is right the key is compared
+     * without being hashed; otherwise this is the same as
+     * {@link #indexOf(CharSequence, int, int)}.
+     *
+     * @param s     characters to match
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @param hint  the index to try first, or -1 for none
+     * @return the key's index, or -1 if not in this set
+     */
+    public int indexOf(CharSequence s, int start, int end, int hint) {
+        if (hint >= 0 && hint < _names.length && matches(_names[hint], s, start, end)) {
+            return hint;
+        }
+        return indexOf(s, start, end);
+    }
+
+    private static boolean matches(String name, CharSequence s, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != s.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "KeySet" + Arrays.toString(_names);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import java.io.IOException;
+
+/**
+ * Signals that JSON input does not fit the type it is bound to, or is
+ * not well-formed JSON at all.
+ *
+ * @author Frank Mitchell
+ */
+public class JsonBindException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create an exception with a message.
+     *
+     * @param message a description of the problem
+     */
+    public JsonBindException(String message) {
+        super(message);
+    }
+
+    /**
+     * Create an exception with a message and a cause.
+     *
+     * @param message a description of the problem
+     * @param cause   the exception that caused this one
+     */
+    public JsonBindException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
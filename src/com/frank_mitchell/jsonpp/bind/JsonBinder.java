@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.io.IOException;
+
+/**
+ * Reads JSON values from a {@link JsonPullParser} into instances of a class.
+ *
+ * Supported classes are:
+ * <ul>
+ * <li>strings, primitives and their wrappers, {@link java.math.BigDecimal},
+ *     {@link java.math.BigInteger}, {@link Number}, enums,
+ *     {@link java.time.Instant}, {@link java.time.LocalDate},
+ *     {@link java.util.UUID}, and {@code byte[]} from base64;</li>
+ * <li>arrays, {@link java.util.List}, {@link java.util.Set}, and
+ *     {@link java.util.Map} with string keys, of any supported type;</li>
+ * <li>{@link Object}, as maps, lists, strings, numbers and booleans;</li>
+ * <li>records, from JSON Objects whose keys are the component names;</li>
+ * <li>other concrete classes with a no-argument constructor ("POJOs"),
+ *     from JSON Objects whose keys are field names; each field is set
+ *     through its setter if it has one, otherwise directly.</li>
+ * </ul>
+ *
+ * Keys with no matching field or component are skipped. Fields and
+ * components missing from the input keep their default values.
+ *
+ * A binder is built once per class, with all reflection done up front,
+ * and is safe to share between threads.
+ *
+ * @param <T> the class bound
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonBinder<T> {
+
+    private static final ClassValue<JsonBinder<?>> CACHE = new ClassValue<JsonBinder<?>>() {
+        @Override
+        protected JsonBinder<?> computeValue(Class<?> type) {
+            return new JsonBinder<>(type, ValueReaders.forClass(type));
+        }
+    };
+
+    private final Class<T> _type;
+    private final ValueReader _reader;
+
+    private JsonBinder(Class<T> type, ValueReader reader) {
+        _type = type;
+        _reader = reader;
+    }
+
+    /**
+     * Get the binder for a class.
+     *
+     * @param <T>  the class bound
+     * @param type the class bound
+     * @return the (cached) binder for {@code type}
+     * @throws IllegalArgumentException if the class cannot be bound
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonBinder<T> forClass(Class<T> type) {
+        return (JsonBinder<T>) CACHE.get(type);
+    }
+
+    /**
+     * Get the class this binds.
+     *
+     * @return the class bound
+     */
+    public Class<T> getType() {
+        return _type;
+    }
+
+    /**
+     * Read one value.
+     *
+     * If the parser is at {@link JsonEvent#START_STREAM} this first advances
+     * to the first event. Otherwise it reads the value that starts at the
+     * current event. Either way it leaves the parser on the value's last
+     * event, e.g. {@link JsonEvent#END_OBJECT} for an object.
+     *
+     * @param parser a parser at the start of a value or the stream
+     * @return the value read, or {@code null} for JSON {@code null}
+     * @throws JsonBindException if the value does not fit the class, or
+     * is malformed.
+     * @throws IOException if the parser could not read its input
+     */
+    public T read(JsonPullParser parser) throws IOException {
+        if (parser.getEvent() == JsonEvent.START_STREAM) {
+            parser.next();
+        }
+        return _type.isPrimitive() ? castPrimitive(_reader.read(parser))
+                : _type.cast(_reader.read(parser));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T castPrimitive(Object value) {
+        // e.g. JsonBinder<Integer> for int.class
+        return (T) value;
+    }
+
+    ValueReader getReader() {
+        return _reader;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonBinder[" + _type.getName() + "]";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record or class for which a {@link JsonWriter} is generated at
+ * compile time.
+ *
+ * With {@code jsonpp.jar} on the compiler's class path,
+ * {@link com.frank_mitchell.jsonpp.bind.processor.JsonWritableProcessor}
+ * writes a class named after the annotated type plus "JsonWriter" in the
+ * same package; e.g. {@code Order} gets {@code OrderJsonWriter}, and
+ * {@code Order.Line} gets {@code Order_LineJsonWriter}.
+ * {@link JsonWriters#forClass(Class)} finds it at run time.
+ *
+ * A record is written with its components as keys. A class is written
+ * with a key for each public {@code getX()} or {@code isX()} method and
+ * each public field it declares, in declaration order; inherited members
+ * are not written. Values may be primitives and their wrappers, strings,
+ * enums, other {@code @JsonWritable} types, and arrays, {@link Iterable}s
+ * and {@link java.util.Map}s with string keys of any of these.
+ *
+ * @author Frank Mitchell
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonWritable {
+}
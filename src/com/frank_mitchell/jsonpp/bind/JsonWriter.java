@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes instances of a class as JSON encoded in UTF-8.
+ *
+ * Implementations are usually generated for classes marked
+ * {@link JsonWritable}. They hold no state and are safe to share between
+ * threads.
+ *
+ * @param <T> the class written
+ *
+ * @author Frank Mitchell
+ */
+public interface JsonWriter<T> {
+
+    /**
+     * Write one value.
+     *
+     * Implementations write in many small pieces, so {@code out} should be
+     * buffered.
+     *
+     * @param value the value to write; {@code null} writes JSON {@code null}
+     * @param out   the stream to write to
+     * @throws IOException if the stream throws an exception
+     */
+    void write(T value, OutputStream out) throws IOException;
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Base64;
+
+/**
+ * Finds generated {@link JsonWriter}s, and writes the scalar values
+ * they are built from.
+ *
+ * Strings are encoded to UTF-8 with the minimum escaping JSON requires:
+ * quotation mark, reverse solidus, and control characters. Unpaired
+ * surrogates, which have no UTF-8 encoding, are written as Unicode
+ * escapes. Each value goes to the stream in as few {@code write()} calls
+ * as possible through a per-thread scratch buffer.
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonWriters {
+
+    /**
+     * Suffix added to a class's name to get the name of its writer.
+     */
+    public static final String WRITER_SUFFIX = "JsonWriter";
+
+    private static final int SCRATCH_SIZE = 512;
+
+    /*
+     * Room for the longest encoding of one char, a UTF-16 surrogate pair,
+     * or an escape, plus the closing quote.
+     */
+    private static final int MAX_CHAR_BYTES = 8;
+
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+
+    /*
+     * For each ASCII character, 0 if written as is, 'u' if written as a
+     * Unicode escape, otherwise the character to write after a backslash.
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private static final ThreadLocal<byte[]> SCRATCH
+            = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+    private static final ClassValue<JsonWriter<?>> CACHE = new ClassValue<JsonWriter<?>>() {
+        @Override
+        protected JsonWriter<?> computeValue(Class<?> type) {
+            return loadWriter(type);
+        }
+    };
+
+    private JsonWriters() {
+    }
+
+    /**
+     * Get the generated writer for a class marked {@link JsonWritable}.
+     *
+     * @param <T>  the class written
+     * @param type the class written
+     * @return the writer for {@code type}
+     * @throws IllegalArgumentException if no writer was generated for
+     * {@code type}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonWriter<T> forClass(Class<T> type) {
+        return (JsonWriter<T>) CACHE.get(type);
+    }
+
+    private static JsonWriter<?> loadWriter(Class<?> type) {
+        // the generated class is public, final, and has a public INSTANCE
+        final String name = type.getName().replace('$', '_') + WRITER_SUFFIX;
+        try {
+            final Class<?> writer = Class.forName(name, true, type.getClassLoader());
+            return (JsonWriter<?>) writer.getField("INSTANCE").get(null);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("No generated writer for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Write JSON {@code null}.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeNull(OutputStream out) throws IOException {
+        out.write(NULL);
+    }
+
+    /**
+     * Write a JSON boolean.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeBoolean(OutputStream out, boolean value) throws IOException {
+        out.write(value ? TRUE : FALSE);
+    }
+
+    /**
+     * Write an integer as a JSON number.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeLong(OutputStream out, long value) throws IOException {
+        final byte[] buf = SCRATCH.get();
+        // work with negative numbers so Long.MIN_VALUE needs no special case
+        long n = (value < 0) ? value : -value;
+        int pos = 20;
+        do {
+            final long q = n / 10;
+            buf[--pos] = (byte) ('0' + (q * 10 - n));
+            n = q;
+        } while (n != 0);
+        if (value < 0) {
+            buf[--pos] = '-';
+        }
+        out.write(buf, pos, 20 - pos);
+    }
+
+    /**
+     * Write a floating point value as a JSON number.
+     *
+     * JSON has no infinities or NaN, so those are written as {@code null}.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeDouble(OutputStream out, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeNull(out);
+        } else {
+            writeAscii(out, Double.toString(value));
+        }
+    }
+
+    /**
+     * Write a floating point value as a JSON number, with no more digits
+     * than needed to distinguish it from other {@code float} values.
+     *
+     * JSON has no infinities or NaN, so those are written as {@code null}.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeFloat(OutputStream out, float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            writeNull(out);
+        } else {
+            writeAscii(out, Float.toString(value));
+        }
+    }
+
+    /**
+     * Write a JSON string.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write; {@code null} writes JSON {@code null}
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeString(OutputStream out, CharSequence value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+
+        final byte[] buf = SCRATCH.get();
+        final int len = value.length();
+        int pos = 0;
+        buf[pos++] = '"';
+        for (int i = 0; i < len; i++) {
+            if (pos > buf.length - MAX_CHAR_BYTES) {
+                out.write(buf, 0, pos);
+                pos = 0;
+            }
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                final byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buf[pos++] = (byte) c;
+                } else if (escape == 'u') {
+                    pos = writeUnicodeEscape(buf, pos, c);
+                } else {
+                    buf[pos++] = '\\';
+                    buf[pos++] = escape;
+                }
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                pos = writeUnicodeEscape(buf, pos, c);
+            }
+        }
+        buf[pos++] = '"';
+        out.write(buf, 0, pos);
+    }
+
+    /**
+     * Write bytes as a JSON string in base64.
+     *
+     * @param out   the stream to write to
+     * @param value the value to write; {@code null} writes JSON {@code null}
+     * @throws IOException if the stream throws an exception
+     */
+    public static void writeBinary(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.write('"');
+        out.write(Base64.getEncoder().encode(value));
+        out.write('"');
+    }
+
+    private static int writeUnicodeEscape(byte[] buf, int pos, char c) {
+        buf[pos++] = '\\';
+        buf[pos++] = 'u';
+        buf[pos++] = HEX[(c >> 12) & 0xF];
+        buf[pos++] = HEX[(c >> 8) & 0xF];
+        buf[pos++] = HEX[(c >> 4) & 0xF];
+        buf[pos++] = HEX[c & 0xF];
+        return pos;
+    }
+
+    private static void writeAscii(OutputStream out, String s) throws IOException {
+        final byte[] buf = SCRATCH.get();
+        final int len = s.length();
+        for (int i = 0; i < len; i++) {
+            buf[i] = (byte) s.charAt(i);
+        }
+        out.write(buf, 0, len);
+    }
+}
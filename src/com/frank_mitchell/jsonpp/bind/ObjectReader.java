@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads a JSON Object into a record or a POJO.
+ *
+ * A record is built with its canonical constructor from its components.
+ * A POJO is built with its no-argument constructor, then each non-static,
+ * non-transient field is set through a public setter named after it, or
+ * directly if there is no setter and the field is not final.
+ *
+ * All method handles are looked up once when the reader is created.
+ * Primitive POJO properties of type int, long, double and boolean are
+ * set without boxing.
+ *
+ * @author Frank Mitchell
+ */
+final class ObjectReader implements ValueReader {
+
+    /*
+     * Records appeared in Java 16, after the release this is built for,
+     * so the reflection API for them is itself found reflectively.
+     */
+    private static final Method IS_RECORD;
+    private static final Method GET_RECORD_COMPONENTS;
+    private static final Method COMPONENT_NAME;
+    private static final Method COMPONENT_TYPE;
+    private static final Method COMPONENT_GENERIC_TYPE;
+
+    static {
+        Method isRecord = null;
+        Method getComponents = null;
+        Method name = null;
+        Method type = null;
+        Method genericType = null;
+        try {
+            isRecord = Class.class.getMethod("isRecord");
+            getComponents = Class.class.getMethod("getRecordComponents");
+            final Class<?> component = Class.forName("java.lang.reflect.RecordComponent");
+            name = component.getMethod("getName");
+            type = component.getMethod("getType");
+            genericType = component.getMethod("getGenericType");
+        } catch (ReflectiveOperationException e) {
+            // running on a JVM without records
+            isRecord = null;
+        }
+        IS_RECORD = isRecord;
+        GET_RECORD_COMPONENTS = getComponents;
+        COMPONENT_NAME = name;
+        COMPONENT_TYPE = type;
+        COMPONENT_GENERIC_TYPE = genericType;
+    }
+
+    private static final int KIND_OBJECT = 0;
+    private static final int KIND_INT = 1;
+    private static final int KIND_LONG = 2;
+    private static final int KIND_DOUBLE = 3;
+    private static final int KIND_BOOLEAN = 4;
+
+    private static final MethodType OBJECT_SETTER =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
+    /*
+     * One field or record component.
+     */
+    private static final class Property {
+
+        final int _kind;
+        final ValueReader _reader;
+        final MethodHandle _setter;
+
+        Property(int kind, ValueReader reader, MethodHandle setter) {
+            _kind = kind;
+            _reader = reader;
+            _setter = setter;
+        }
+    }
+
+    private final Class<?> _type;
+    private final KeySet _keys;
+    private final Property[] _properties;
+    private final boolean _isRecord;
+
+    /*
+     * For a POJO, () -> Object.  For a record, (Object[]) -> Object,
+     * with default arguments for components missing from the input.
+     */
+    private final MethodHandle _constructor;
+    private final Object[] _defaults;
+
+    private ObjectReader(Class<?> type, String[] names, Property[] properties,
+            boolean isRecord, MethodHandle constructor, Object[] defaults) {
+        _type = type;
+        _keys = KeySet.of(names);
+        _properties = properties;
+        _isRecord = isRecord;
+        _constructor = constructor;
+        _defaults = defaults;
+    }
+
+    /**
+     * Create a reader for a record or POJO class.
+     *
+     * @param type the class to read
+     * @return a new reader
+     * @throws IllegalArgumentException if the class cannot be bound
+     */
+    static ObjectReader create(Class<?> type) {
+        try {
+            final MethodHandles.Lookup lookup = lookupFor(type);
+            if (isRecord(type)) {
+                return createForRecord(type, lookup);
+            }
+            return createForPojo(type, lookup);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot bind " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static boolean isRecord(Class<?> type) throws ReflectiveOperationException {
+        return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+    }
+
+    private static ObjectReader createForRecord(Class<?> type, MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+        final String[] names = new String[components.length];
+        final Class<?>[] types = new Class<?>[components.length];
+        final Property[] properties = new Property[components.length];
+        final Object[] defaults = new Object[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            names[i] = (String) COMPONENT_NAME.invoke(components[i]);
+            types[i] = (Class<?>) COMPONENT_TYPE.invoke(components[i]);
+            final Type generic = (Type) COMPONENT_GENERIC_TYPE.invoke(components[i]);
+            properties[i] = new Property(KIND_OBJECT, ValueReaders.forType(generic), null);
+            if (types[i].isPrimitive()) {
+                // zero of the right type, e.g. Integer 0 or Boolean false
+                defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+            }
+        }
+
+        final MethodHandle constructor = lookup
+                .findConstructor(type, MethodType.methodType(void.class, types))
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new ObjectReader(type, names, properties, true, constructor, defaults);
+    }
+
+    private static ObjectReader createForPojo(Class<?> type, MethodHandles.Lookup lookup)
+            throws ReflectiveOperationException {
+        final MethodHandle constructor = lookup
+                .findConstructor(type, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(Object.class));
+
+        final Set<String> seen = new LinkedHashSet<>();
+        final List<String> names = new ArrayList<>();
+        final List<Property> properties = new ArrayList<>();
+
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            final MethodHandles.Lookup declaringLookup = (c == type) ? lookup : lookupFor(c);
+            for (Field field : c.getDeclaredFields()) {
+                final int mods = field.getModifiers();
+                if (Modifier.isStatic(mods) || Modifier.isTransient(mods)
+                        || field.isSynthetic() || !seen.add(field.getName())) {
+                    continue;
+                }
+                final MethodHandle setter = findSetter(type, field, declaringLookup);
+                if (setter != null) {
+                    names.add(field.getName());
+                    properties.add(createProperty(field, setter));
+                }
+            }
+        }
+
+        return new ObjectReader(type, names.toArray(new String[0]),
+                properties.toArray(new Property[0]), false, constructor, null);
+    }
+
+    private static MethodHandle findSetter(Class<?> type, Field field,
+            MethodHandles.Lookup lookup) {
+        final String name = field.getName();
+        final String setterName = "set" + Character.toUpperCase(name.charAt(0))
+                + name.substring(1);
+        try {
+            final Method method = type.getMethod(setterName, field.getType());
+            if (!Modifier.isStatic(method.getModifiers())) {
+                return MethodHandles.publicLookup().unreflect(method);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // fall back to the field
+        }
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            return lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Property createProperty(Field field, MethodHandle setter) {
+        final Class<?> t = field.getType();
+        if (t == int.class) {
+            return new Property(KIND_INT, null,
+                    setter.asType(MethodType.methodType(void.class, Object.class, int.class)));
+        } else if (t == long.class) {
+            return new Property(KIND_LONG, null,
+                    setter.asType(MethodType.methodType(void.class, Object.class, long.class)));
+        } else if (t == double.class) {
+            return new Property(KIND_DOUBLE, null,
+                    setter.asType(MethodType.methodType(void.class, Object.class, double.class)));
+        } else if (t == boolean.class) {
+            return new Property(KIND_BOOLEAN, null,
+                    setter.asType(MethodType.methodType(void.class, Object.class, boolean.class)));
+        }
+        return new Property(KIND_OBJECT, ValueReaders.forType(field.getGenericType()),
+                setter.asType(OBJECT_SETTER));
+    }
+
+    @Override
+    public Object read(JsonPullParser p) throws IOException {
+        if (ValueReaders.isNull(p)) {
+            return null;
+        }
+        ValueReaders.expect(p, JsonEvent.START_OBJECT);
+        try {
+            return _isRecord ? readRecord(p) : readPojo(p);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new JsonBindException("Cannot create " + _type.getName(), t);
+        }
+    }
+
+    private Object readRecord(JsonPullParser p) throws Throwable {
+        final Object[] args = _defaults.clone();
+        JsonEvent event;
+        while ((event = p.nextEvent()) == JsonEvent.KEY_NAME) {
+            final int index = p.matchKey(_keys);
+            p.next();
+            if (index < 0) {
+                p.skipValue();
+                continue;
+            }
+            final Object value = _properties[index]._reader.read(p);
+            if (value != null) {
+                args[index] = value;
+            }
+        }
+        if (event != JsonEvent.END_OBJECT) {
+            throw ValueReaders.mismatch(p, "a key");
+        }
+        return (Object) _constructor.invokeExact(args);
+    }
+
+    private Object readPojo(JsonPullParser p) throws Throwable {
+        final Object result = (Object) _constructor.invokeExact();
+        JsonEvent event;
+        while ((event = p.nextEvent()) == JsonEvent.KEY_NAME) {
+            final int index = p.matchKey(_keys);
+            event = p.nextEvent();
+            if (index < 0) {
+                p.skipValue();
+                continue;
+            }
+            final Property property = _properties[index];
+            if (property._kind != KIND_OBJECT && event == JsonEvent.VALUE_NULL) {
+                // leave primitives at their defaults
+                continue;
+            }
+            switch (property._kind) {
+                case KIND_INT:
+                    ValueReaders.expect(p, JsonEvent.VALUE_NUMBER);
+                    property._setter.invokeExact(result, p.getInt());
+                    break;
+                case KIND_LONG:
+                    ValueReaders.expect(p, JsonEvent.VALUE_NUMBER);
+                    property._setter.invokeExact(result, p.getLong());
+                    break;
+                case KIND_DOUBLE:
+                    ValueReaders.expect(p, JsonEvent.VALUE_NUMBER);
+                    property._setter.invokeExact(result, p.getDouble());
+                    break;
+                case KIND_BOOLEAN:
+                    property._setter.invokeExact(result, readBoolean(p));
+                    break;
+                default:
+                    property._setter.invokeExact(result, property._reader.read(p));
+                    break;
+            }
+        }
+        if (event != JsonEvent.END_OBJECT) {
+            throw ValueReaders.mismatch(p, "a key");
+        }
+        return result;
+    }
+
+    private static boolean readBoolean(JsonPullParser p) throws JsonBindException {
+        switch (p.getEvent()) {
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            default:
+                throw ValueReaders.mismatch(p, "a boolean");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.io.IOException;
+
+/**
+ * Reads one JSON value of a particular Java type.
+ *
+ * @author Frank Mitchell
+ */
+@FunctionalInterface
+interface ValueReader {
+
+    /**
+     * Read the value that starts at the parser's current event, leaving
+     * the parser on the value's last event.
+     *
+     * @param parser a parser on the first event of a value
+     * @return the value, or {@code null} for JSON {@code null}
+     * @throws IOException if the value does not fit or cannot be read
+     */
+    Object read(JsonPullParser parser) throws IOException;
+}
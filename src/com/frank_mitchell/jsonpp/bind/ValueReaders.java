@@ -0,0 +1,564 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Chooses and implements a ValueReader for each supported Java type.
+ *
+ * @author Frank Mitchell
+ */
+final class ValueReaders {
+
+    private static final ValueReader STRING = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_STRING).getString();
+    };
+
+    private static final ValueReader INT = p -> {
+        return isNull(p) ? null : Integer.valueOf(expect(p, JsonEvent.VALUE_NUMBER).getInt());
+    };
+
+    private static final ValueReader LONG = p -> {
+        return isNull(p) ? null : Long.valueOf(expect(p, JsonEvent.VALUE_NUMBER).getLong());
+    };
+
+    private static final ValueReader SHORT = p -> {
+        return isNull(p) ? null : Short.valueOf((short) expect(p, JsonEvent.VALUE_NUMBER).getInt());
+    };
+
+    private static final ValueReader BYTE = p -> {
+        return isNull(p) ? null : Byte.valueOf((byte) expect(p, JsonEvent.VALUE_NUMBER).getInt());
+    };
+
+    private static final ValueReader DOUBLE = p -> {
+        return isNull(p) ? null : Double.valueOf(expect(p, JsonEvent.VALUE_NUMBER).getDouble());
+    };
+
+    private static final ValueReader FLOAT = p -> {
+        return isNull(p) ? null : Float.valueOf((float) expect(p, JsonEvent.VALUE_NUMBER).getDouble());
+    };
+
+    private static final ValueReader NUMBER = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_NUMBER).getNumber();
+    };
+
+    private static final ValueReader BIG_DECIMAL = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        final Number n = expect(p, JsonEvent.VALUE_NUMBER).getNumber();
+        return (n instanceof BigDecimal) ? n : new BigDecimal(p.getString());
+    };
+
+    private static final ValueReader BIG_INTEGER = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        expect(p, JsonEvent.VALUE_NUMBER);
+        try {
+            return new BigDecimal(p.getString()).toBigIntegerExact();
+        } catch (ArithmeticException e) {
+            throw new JsonBindException("Not an integer: " + p.getString(), e);
+        }
+    };
+
+    private static final ValueReader BOOLEAN = p -> {
+        switch (p.getEvent()) {
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw mismatch(p, "a boolean");
+        }
+    };
+
+    private static final ValueReader CHAR = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        final String s = expect(p, JsonEvent.VALUE_STRING).getString();
+        if (s.length() != 1) {
+            throw new JsonBindException("Not a single character: " + s);
+        }
+        return Character.valueOf(s.charAt(0));
+    };
+
+    private static final ValueReader INSTANT = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_STRING).getInstant();
+    };
+
+    private static final ValueReader LOCAL_DATE = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_STRING).getLocalDate();
+    };
+
+    private static final ValueReader UUID_VALUE = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_STRING).getUuid();
+    };
+
+    private static final ValueReader BINARY = p -> {
+        return isNull(p) ? null : expect(p, JsonEvent.VALUE_STRING).getBinary();
+    };
+
+    /*
+     * Primitive arrays are read element by element into a primitive
+     * array, without boxing. The parser's bulk readers would flatten
+     * nested arrays, which must be rejected instead.
+     */
+    private static final ValueReader INT_ARRAY = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        expect(p, JsonEvent.START_ARRAY);
+        int[] result = new int[8];
+        int count = 0;
+        while (p.nextEvent() != JsonEvent.END_ARRAY) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = expect(p, JsonEvent.VALUE_NUMBER).getInt();
+        }
+        return Arrays.copyOf(result, count);
+    };
+
+    private static final ValueReader LONG_ARRAY = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        expect(p, JsonEvent.START_ARRAY);
+        long[] result = new long[8];
+        int count = 0;
+        while (p.nextEvent() != JsonEvent.END_ARRAY) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = expect(p, JsonEvent.VALUE_NUMBER).getLong();
+        }
+        return Arrays.copyOf(result, count);
+    };
+
+    private static final ValueReader DOUBLE_ARRAY = p -> {
+        if (isNull(p)) {
+            return null;
+        }
+        expect(p, JsonEvent.START_ARRAY);
+        double[] result = new double[8];
+        int count = 0;
+        while (p.nextEvent() != JsonEvent.END_ARRAY) {
+            if (count == result.length) {
+                result = Arrays.copyOf(result, count * 2);
+            }
+            result[count++] = expect(p, JsonEvent.VALUE_NUMBER).getDouble();
+        }
+        return Arrays.copyOf(result, count);
+    };
+
+    private static final ValueReader ANY = ValueReaders::readAny;
+
+    private ValueReaders() {
+    }
+
+    /**
+     * Get a reader for a class, building a new one for classes bound
+     * by properties.
+     *
+     * @param type the class to read
+     * @return a reader for the class
+     * @throws IllegalArgumentException if the class cannot be bound
+     */
+    static ValueReader forClass(Class<?> type) {
+        if (isBean(type)) {
+            return ObjectReader.create(type);
+        }
+        return forType(type);
+    }
+
+    /**
+     * Get a reader for a possibly generic type.
+     * Classes bound by properties are resolved on first use, so that
+     * classes can refer to themselves.
+     *
+     * @param type the type to read
+     * @return a reader for the type
+     * @throws IllegalArgumentException if the type cannot be bound
+     */
+    static ValueReader forType(Type type) {
+        if (type instanceof ParameterizedType) {
+            return forParameterizedType((ParameterizedType) type);
+        } else if (type instanceof GenericArrayType) {
+            final Type component = ((GenericArrayType) type).getGenericComponentType();
+            return new ArrayReader(rawClass(component), forType(component));
+        } else if (type instanceof WildcardType) {
+            return forType(((WildcardType) type).getUpperBounds()[0]);
+        } else if (type instanceof TypeVariable) {
+            return ANY;
+        }
+
+        final Class<?> c = (Class<?>) type;
+        final ValueReader scalar = forScalarClass(c);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (c.isArray()) {
+            return new ArrayReader(c.getComponentType(), forType(c.getComponentType()));
+        }
+        if (c.isEnum()) {
+            return forEnum(c);
+        }
+        final ValueReader container = forContainer(c, ANY, ANY);
+        if (container != null) {
+            return container;
+        }
+        if (isBean(c)) {
+            return new LazyReader(c);
+        }
+        throw new IllegalArgumentException("Cannot bind " + c.getName());
+    }
+
+    private static ValueReader forScalarClass(Class<?> c) {
+        if (c == String.class || c == CharSequence.class) {
+            return STRING;
+        } else if (c == int.class || c == Integer.class) {
+            return INT;
+        } else if (c == long.class || c == Long.class) {
+            return LONG;
+        } else if (c == double.class || c == Double.class) {
+            return DOUBLE;
+        } else if (c == boolean.class || c == Boolean.class) {
+            return BOOLEAN;
+        } else if (c == float.class || c == Float.class) {
+            return FLOAT;
+        } else if (c == short.class || c == Short.class) {
+            return SHORT;
+        } else if (c == byte.class || c == Byte.class) {
+            return BYTE;
+        } else if (c == char.class || c == Character.class) {
+            return CHAR;
+        } else if (c == BigDecimal.class) {
+            return BIG_DECIMAL;
+        } else if (c == BigInteger.class) {
+            return BIG_INTEGER;
+        } else if (c == Number.class) {
+            return NUMBER;
+        } else if (c == Instant.class) {
+            return INSTANT;
+        } else if (c == LocalDate.class) {
+            return LOCAL_DATE;
+        } else if (c == UUID.class) {
+            return UUID_VALUE;
+        } else if (c == byte[].class) {
+            return BINARY;
+        } else if (c == int[].class) {
+            return INT_ARRAY;
+        } else if (c == long[].class) {
+            return LONG_ARRAY;
+        } else if (c == double[].class) {
+            return DOUBLE_ARRAY;
+        } else if (c == Object.class) {
+            return ANY;
+        }
+        return null;
+    }
+
+    private static ValueReader forParameterizedType(ParameterizedType type) {
+        final Class<?> raw = (Class<?>) type.getRawType();
+        final Type[] args = type.getActualTypeArguments();
+        ValueReader container = null;
+        if (args.length == 1) {
+            container = forContainer(raw, forType(args[0]), null);
+        } else if (args.length == 2) {
+            final Class<?> keyClass = rawClass(args[0]);
+            if (keyClass != String.class && keyClass != Object.class
+                    && keyClass != CharSequence.class) {
+                throw new IllegalArgumentException("Map keys must be strings: " + type);
+            }
+            container = forContainer(raw, null, forType(args[1]));
+        }
+        return (container != null) ? container : forType(raw);
+    }
+
+    /*
+     * Readers for collections and maps, or null if c is neither.
+     */
+    private static ValueReader forContainer(Class<?> c, ValueReader element, ValueReader value) {
+        if (element != null) {
+            if (c == List.class || c == Collection.class || c == Iterable.class
+                    || c == ArrayList.class) {
+                return new CollectionReader(ArrayList::new, element);
+            } else if (c == Set.class || c == LinkedHashSet.class) {
+                return new CollectionReader(LinkedHashSet::new, element);
+            } else if (c == HashSet.class) {
+                return new CollectionReader(HashSet::new, element);
+            }
+        }
+        if (value != null) {
+            if (c == Map.class || c == LinkedHashMap.class) {
+                return new MapReader(LinkedHashMap::new, value);
+            } else if (c == HashMap.class) {
+                return new MapReader(HashMap::new, value);
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof GenericArrayType) {
+            final Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(component, 0).getClass();
+        } else if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    /*
+     * Whether a class is bound by its fields or record components.
+     */
+    private static boolean isBean(Class<?> c) {
+        return !c.isPrimitive() && !c.isArray() && !c.isEnum() && !c.isInterface()
+                && !Modifier.isAbstract(c.getModifiers())
+                && forScalarClass(c) == null
+                && !c.getName().startsWith("java.");
+    }
+
+    /*  ------------------- HELPERS ----------------------- */
+
+    static boolean isNull(JsonPullParser p) {
+        return p.getEvent() == JsonEvent.VALUE_NULL;
+    }
+
+    static JsonPullParser expect(JsonPullParser p, JsonEvent event) throws JsonBindException {
+        if (p.getEvent() != event) {
+            throw mismatch(p, String.valueOf(event));
+        }
+        return p;
+    }
+
+    static JsonBindException mismatch(JsonPullParser p, String expected) {
+        if (p.getEvent() == JsonEvent.SYNTAX_ERROR) {
+            return new JsonBindException("Syntax error");
+        }
+        return new JsonBindException("Expected " + expected + " but found " + p.getEvent());
+    }
+
+    private static Object readAny(JsonPullParser p) throws IOException {
+        switch (p.getEvent()) {
+            case START_OBJECT:
+                return new MapReader(LinkedHashMap::new, ANY).read(p);
+            case START_ARRAY:
+                return new CollectionReader(ArrayList::new, ANY).read(p);
+            case VALUE_STRING:
+                return p.getString();
+            case VALUE_NUMBER:
+                return p.getNumber();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw mismatch(p, "a value");
+        }
+    }
+
+    /*  ------------------- READERS ----------------------- */
+
+    private static final class CollectionReader implements ValueReader {
+
+        private final Supplier<Collection<Object>> _factory;
+        private final ValueReader _element;
+
+        CollectionReader(Supplier<Collection<Object>> factory, ValueReader element) {
+            _factory = factory;
+            _element = element;
+        }
+
+        @Override
+        public Object read(JsonPullParser p) throws IOException {
+            if (isNull(p)) {
+                return null;
+            }
+            expect(p, JsonEvent.START_ARRAY);
+            final Collection<Object> result = _factory.get();
+            while (p.nextEvent() != JsonEvent.END_ARRAY) {
+                result.add(_element.read(p));
+            }
+            return result;
+        }
+    }
+
+    private static final class MapReader implements ValueReader {
+
+        private final Supplier<Map<String, Object>> _factory;
+        private final ValueReader _value;
+
+        MapReader(Supplier<Map<String, Object>> factory, ValueReader value) {
+            _factory = factory;
+            _value = value;
+        }
+
+        @Override
+        public Object read(JsonPullParser p) throws IOException {
+            if (isNull(p)) {
+                return null;
+            }
+            expect(p, JsonEvent.START_OBJECT);
+            final Map<String, Object> result = _factory.get();
+            while (p.nextEvent() != JsonEvent.END_OBJECT) {
+                final String key = expect(p, JsonEvent.KEY_NAME).getString();
+                p.next();
+                result.put(key, _value.read(p));
+            }
+            return result;
+        }
+    }
+
+    private static final class ArrayReader implements ValueReader {
+
+        private final Class<?> _component;
+        private final CollectionReader _list;
+
+        /*
+         * Creates an array of the component type, and stores an element
+         * in it, unboxing if the component is primitive.
+         */
+        private final MethodHandle _constructor;
+        private final MethodHandle _setter;
+
+        ArrayReader(Class<?> component, ValueReader element) {
+            final Class<?> arrayClass = Array.newInstance(component, 0).getClass();
+            _component = component;
+            _list = new CollectionReader(ArrayList::new, element);
+            _constructor = MethodHandles.arrayConstructor(arrayClass)
+                    .asType(MethodType.methodType(Object.class, int.class));
+            _setter = MethodHandles.arrayElementSetter(arrayClass)
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        }
+
+        @Override
+        public Object read(JsonPullParser p) throws IOException {
+            final Collection<?> list = (Collection<?>) _list.read(p);
+            if (list == null) {
+                return null;
+            }
+            try {
+                final Object result = (Object) _constructor.invokeExact(list.size());
+                int i = 0;
+                for (Object item : list) {
+                    _setter.invokeExact(result, i++, item);
+                }
+                return result;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new JsonBindException("Cannot create " + _component.getName() + "[]", t);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Enum<E>> ValueReader forEnum(Class<?> type) {
+        return new EnumReader<>((Class<E>) type);
+    }
+
+    private static final class EnumReader<E extends Enum<E>> implements ValueReader {
+
+        private final Class<E> _type;
+
+        EnumReader(Class<E> type) {
+            _type = type;
+        }
+
+        @Override
+        public Object read(JsonPullParser p) throws IOException {
+            if (isNull(p)) {
+                return null;
+            }
+            expect(p, JsonEvent.VALUE_STRING);
+            try {
+                return p.getEnum(_type);
+            } catch (IllegalArgumentException e) {
+                throw new JsonBindException("Not a " + _type.getSimpleName()
+                        + ": " + p.getString(), e);
+            }
+        }
+    }
+
+    /*
+     * Looks up the reader for a class on first use.
+     */
+    private static final class LazyReader implements ValueReader {
+
+        private final Class<?> _type;
+        private volatile ValueReader _reader;
+
+        LazyReader(Class<?> type) {
+            _type = type;
+        }
+
+        @Override
+        public Object read(JsonPullParser p) throws IOException {
+            ValueReader reader = _reader;
+            if (reader == null) {
+                reader = JsonBinder.forClass(_type).getReader();
+                _reader = reader;
+            }
+            return reader.read(p);
+        }
+    }
+}
@@ -0,0 +1,591 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind.processor;
+
+import com.frank_mitchell.jsonpp.bind.JsonWriters;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link com.frank_mitchell.jsonpp.bind.JsonWriter} for each
+ * record or class marked {@link com.frank_mitchell.jsonpp.bind.JsonWritable}.
+ *
+ * The generated writer calls accessors directly, with no reflection.
+ * Each key, with its quotes, colon, and the comma or brace before it, is
+ * escaped and encoded to UTF-8 at compile time and written from a
+ * constant {@code byte[]}. Nested {@code @JsonWritable} values are
+ * written by calling their own generated writer.
+ *
+ * This processor is registered as a service in {@code jsonpp.jar}, so
+ * {@code javac} runs it whenever the jar is on the class path.
+ *
+ * @author Frank Mitchell
+ */
+@SupportedAnnotationTypes(JsonWritableProcessor.ANNOTATION)
+public final class JsonWritableProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.frank_mitchell.jsonpp.bind.JsonWritable";
+
+    private static final String WRITER = "com.frank_mitchell.jsonpp.bind.JsonWriter";
+    private static final String WRITERS = "com.frank_mitchell.jsonpp.bind.JsonWriters";
+    private static final String GENERATED = "javax.annotation.processing.Generated";
+
+    // ElementKind constants newer than the release this compiles for
+    private static final String RECORD = "RECORD";
+    private static final String RECORD_COMPONENT = "RECORD_COMPONENT";
+
+    /*
+     * One key/value pair in the generated object.
+     */
+    private static final class Property {
+        final String _name;
+        final String _access;
+        final TypeMirror _type;
+        final Element _element;
+
+        Property(String name, String access, TypeMirror type, Element element) {
+            _name = name;
+            _access = access;
+            _type = type;
+            _element = element;
+        }
+    }
+
+    /*
+     * Thrown while generating code for a type that cannot be written;
+     * reported as a compile error on the offending element.
+     */
+    private static final class UnwritableException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        final transient Element _element;
+
+        UnwritableException(String message, Element element) {
+            super(message);
+            _element = element;
+        }
+    }
+
+    private Elements _elements;
+    private Types _types;
+    private int _locals;
+
+    /**
+     * Create a new processor.
+     */
+    public JsonWritableProcessor() {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        _elements = processingEnv.getElementUtils();
+        _types = processingEnv.getTypeUtils();
+
+        for (TypeElement annotation : annotations) {
+            for (Element e : env.getElementsAnnotatedWith(annotation)) {
+                try {
+                    generate(e);
+                } catch (UnwritableException ex) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                            ex.getMessage(), ex._element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element e) throws UnwritableException {
+        final boolean isRecord = e.getKind().name().equals(RECORD);
+        if (e.getKind() != ElementKind.CLASS && !isRecord) {
+            throw new UnwritableException("@JsonWritable applies only to classes and records", e);
+        }
+        final TypeElement type = (TypeElement) e;
+        checkAccessible(type);
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnwritableException("@JsonWritable types cannot be generic", type);
+        }
+
+        final List<Property> properties = isRecord ? recordProperties(type) : beanProperties(type);
+
+        final PackageElement pkg = _elements.getPackageOf(type);
+        final String packageName = pkg.getQualifiedName().toString();
+        final String writerName = writerName(type);
+        final String typeName = type.getQualifiedName().toString();
+
+        _locals = 0;
+        final StringBuilder b = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            b.append("package ").append(packageName).append(";\n\n");
+        }
+        if (_elements.getTypeElement(GENERATED) != null) {
+            b.append('@').append(GENERATED).append("(\"")
+                    .append(getClass().getName()).append("\")\n");
+        }
+        b.append("public final class ").append(writerName)
+                .append(" implements ").append(WRITER).append('<').append(typeName).append("> {\n\n");
+        b.append("    public static final ").append(writerName).append(" INSTANCE = new ")
+                .append(writerName).append("();\n\n");
+
+        for (int i = 0; i < properties.size(); i++) {
+            final String key = (i == 0 ? "{" : ",") + jsonString(properties.get(i)._name) + ":";
+            appendKeyConstant(b, i, key);
+        }
+
+        b.append("\n    private ").append(writerName).append("() {\n    }\n\n");
+        b.append("    @Override\n");
+        b.append("    @SuppressWarnings(\"unchecked\")\n");
+        b.append("    public void write(").append(typeName)
+                .append(" value, java.io.OutputStream out) throws java.io.IOException {\n");
+        b.append("        if (value == null) {\n");
+        b.append("            ").append(WRITERS).append(".writeNull(out);\n");
+        b.append("            return;\n");
+        b.append("        }\n");
+        if (properties.isEmpty()) {
+            b.append("        out.write('{');\n");
+        }
+        for (int i = 0; i < properties.size(); i++) {
+            final Property p = properties.get(i);
+            b.append("        out.write(KEY_").append(i).append(");\n");
+            appendValue(b, "        ", p._type, "value." + p._access, p._element);
+        }
+        b.append("        out.write('}');\n");
+        b.append("    }\n");
+        b.append("}\n");
+
+        final String qualifiedName = packageName.isEmpty() ? writerName
+                : packageName + "." + writerName;
+        try (Writer out = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            out.write(b.toString());
+        } catch (IOException ex) {
+            throw new UnwritableException("Could not write " + qualifiedName + ": " + ex, type);
+        }
+    }
+
+    /*
+     * The generated writer must be able to name the type and call
+     * its accessors from another top-level class in the same package.
+     */
+    private void checkAccessible(TypeElement type) throws UnwritableException {
+        Element e = type;
+        while (e instanceof TypeElement) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnwritableException("@JsonWritable types must not be private", type);
+            }
+            final Element outer = e.getEnclosingElement();
+            if (outer instanceof TypeElement && !e.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnwritableException("@JsonWritable nested types must be static", type);
+            }
+            if (!(outer instanceof TypeElement || outer instanceof PackageElement)) {
+                throw new UnwritableException("@JsonWritable types must not be local", type);
+            }
+            e = outer;
+        }
+    }
+
+    private List<Property> recordProperties(TypeElement type) {
+        final Map<String, Property> result = new LinkedHashMap<>();
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind().name().equals(RECORD_COMPONENT)) {
+                final String name = e.getSimpleName().toString();
+                result.put(name, new Property(name, name + "()", e.asType(), e));
+            }
+        }
+        return List.copyOf(result.values());
+    }
+
+    private List<Property> beanProperties(TypeElement type) {
+        // getters replace fields of the same name but keep their position
+        final Map<String, Property> result = new LinkedHashMap<>();
+        for (Element e : type.getEnclosedElements()) {
+            final Set<Modifier> mods = e.getModifiers();
+            if (!mods.contains(Modifier.PUBLIC) || mods.contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (e.getKind() == ElementKind.FIELD) {
+                final String name = e.getSimpleName().toString();
+                result.putIfAbsent(name, new Property(name, name, e.asType(), e));
+            } else if (e.getKind() == ElementKind.METHOD) {
+                final ExecutableElement m = (ExecutableElement) e;
+                final String name = propertyName(m);
+                if (name != null) {
+                    result.put(name, new Property(name, m.getSimpleName() + "()",
+                            m.getReturnType(), m));
+                }
+            }
+        }
+        return List.copyOf(result.values());
+    }
+
+    /*
+     * The JavaBeans property name of a getter, or null if not a getter.
+     */
+    private static String propertyName(ExecutableElement m) {
+        if (!m.getParameters().isEmpty() || !m.getTypeParameters().isEmpty()) {
+            return null;
+        }
+        final String method = m.getSimpleName().toString();
+        final TypeKind returns = m.getReturnType().getKind();
+        int prefix;
+        if (method.startsWith("get") && returns != TypeKind.VOID) {
+            prefix = 3;
+        } else if (method.startsWith("is") && returns == TypeKind.BOOLEAN) {
+            prefix = 2;
+        } else {
+            return null;
+        }
+        if (method.length() == prefix || !Character.isUpperCase(method.charAt(prefix))) {
+            return null;
+        }
+        final String name = method.substring(prefix);
+        // as java.beans.Introspector.decapitalize(): "URL" stays "URL"
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /*
+     * Name of the writer class, unqualified, from the type's binary name.
+     */
+    private String writerName(TypeElement type) {
+        final String binary = _elements.getBinaryName(type).toString();
+        final String pkg = _elements.getPackageOf(type).getQualifiedName().toString();
+        final String local = pkg.isEmpty() ? binary : binary.substring(pkg.length() + 1);
+        return local.replace('$', '_') + JsonWriters.WRITER_SUFFIX;
+    }
+
+    private static String jsonString(String s) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            JsonWriters.writeString(out, s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void appendKeyConstant(StringBuilder b, int index, String key) {
+        final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        b.append("    private static final byte[] KEY_").append(index).append(" = {");
+        for (int i = 0; i < bytes.length; i++) {
+            b.append(i == 0 ? "" : ", ").append(bytes[i]);
+        }
+        b.append("};");
+        if (isCommentSafe(key)) {
+            b.append(" // ").append(key);
+        }
+        b.append('\n');
+    }
+
+    /*
+     * Whether text can go in a line comment unchanged; javac would
+     * translate Unicode escapes even there.
+     */
+    private static boolean isCommentSafe(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c < 0x20 || c > 0x7E || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Append statements that write the value of expr, evaluating it once.
+     */
+    private void appendValue(StringBuilder b, String indent, TypeMirror type,
+            String expr, Element where) throws UnwritableException {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                appendCall(b, indent, "writeBoolean", expr);
+                return;
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                appendCall(b, indent, "writeLong", expr);
+                return;
+            case CHAR:
+                appendCall(b, indent, "writeString", "String.valueOf(" + expr + ")");
+                return;
+            case FLOAT:
+                appendCall(b, indent, "writeFloat", expr);
+                return;
+            case DOUBLE:
+                appendCall(b, indent, "writeDouble", expr);
+                return;
+            case ARRAY:
+                appendArray(b, indent, (ArrayType) type, expr, where);
+                return;
+            case DECLARED:
+                appendDeclared(b, indent, (DeclaredType) type, expr, where);
+                return;
+            default:
+                throw new UnwritableException("Cannot write " + type + " as JSON", where);
+        }
+    }
+
+    private void appendArray(StringBuilder b, String indent, ArrayType type,
+            String expr, Element where) throws UnwritableException {
+        final TypeMirror component = type.getComponentType();
+        if (component.getKind() == TypeKind.BYTE) {
+            appendCall(b, indent, "writeBinary", expr);
+            return;
+        }
+        final String array = local(b, indent, type, expr);
+        final String index = "i" + _locals++;
+        b.append(indent).append("if (").append(array).append(" == null) {\n");
+        appendCall(b, indent + "    ", "writeNull", null);
+        b.append(indent).append("} else {\n");
+        b.append(indent).append("    out.write('[');\n");
+        b.append(indent).append("    for (int ").append(index).append(" = 0; ")
+                .append(index).append(" < ").append(array).append(".length; ")
+                .append(index).append("++) {\n");
+        b.append(indent).append("        if (").append(index).append(" > 0) {\n");
+        b.append(indent).append("            out.write(',');\n");
+        b.append(indent).append("        }\n");
+        appendValue(b, indent + "        ", component,
+                array + "[" + index + "]", where);
+        b.append(indent).append("    }\n");
+        b.append(indent).append("    out.write(']');\n");
+        b.append(indent).append("}\n");
+    }
+
+    private void appendDeclared(StringBuilder b, String indent, DeclaredType type,
+            String expr, Element where) throws UnwritableException {
+        final TypeElement element = (TypeElement) type.asElement();
+
+        final PrimitiveType unboxed = unboxedType(type);
+        if (unboxed != null) {
+            final String boxed = local(b, indent, type, expr);
+            b.append(indent).append("if (").append(boxed).append(" == null) {\n");
+            appendCall(b, indent + "    ", "writeNull", null);
+            b.append(indent).append("} else {\n");
+            appendValue(b, indent + "    ", unboxed, boxed, where);
+            b.append(indent).append("}\n");
+            return;
+        }
+        if (isSubtype(type, "java.lang.CharSequence")) {
+            appendCall(b, indent, "writeString", expr);
+            return;
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            final String value = local(b, indent, type, expr);
+            appendCall(b, indent, "writeString",
+                    value + " == null ? null : " + value + ".name()");
+            return;
+        }
+        if (isWritable(element)) {
+            final PackageElement pkg = _elements.getPackageOf(element);
+            final String name = pkg.isUnnamed() ? writerName(element)
+                    : pkg.getQualifiedName() + "." + writerName(element);
+            b.append(indent).append(name).append(".INSTANCE.write(")
+                    .append(expr).append(", out);\n");
+            return;
+        }
+
+        final DeclaredType map = findSupertype(type, "java.util.Map");
+        if (map != null) {
+            appendMap(b, indent, map, expr, where);
+            return;
+        }
+        final DeclaredType iterable = findSupertype(type, "java.lang.Iterable");
+        if (iterable != null) {
+            appendIterable(b, indent, iterable, expr, where);
+            return;
+        }
+        throw new UnwritableException("Cannot write " + type + " as JSON", where);
+    }
+
+    private void appendIterable(StringBuilder b, String indent, DeclaredType type,
+            String expr, Element where) throws UnwritableException {
+        final TypeMirror item = typeArgument(type, 0, where);
+        final String items = local(b, indent, "java.lang.Iterable<?>", expr);
+        final String first = "first" + _locals;
+        final String each = "o" + _locals++;
+        b.append(indent).append("if (").append(items).append(" == null) {\n");
+        appendCall(b, indent + "    ", "writeNull", null);
+        b.append(indent).append("} else {\n");
+        b.append(indent).append("    out.write('[');\n");
+        b.append(indent).append("    boolean ").append(first).append(" = true;\n");
+        b.append(indent).append("    for (Object ").append(each).append(" : ")
+                .append(items).append(") {\n");
+        appendSeparator(b, indent + "        ", first);
+        appendValue(b, indent + "        ", item,
+                "((" + item + ") " + each + ")", where);
+        b.append(indent).append("    }\n");
+        b.append(indent).append("    out.write(']');\n");
+        b.append(indent).append("}\n");
+    }
+
+    private void appendMap(StringBuilder b, String indent, DeclaredType type,
+            String expr, Element where) throws UnwritableException {
+        final TypeMirror key = typeArgument(type, 0, where);
+        if (!_types.isSameType(key, _elements.getTypeElement("java.lang.String").asType())) {
+            throw new UnwritableException("Map keys must be strings to write as JSON", where);
+        }
+        final TypeMirror value = typeArgument(type, 1, where);
+        final String entries = local(b, indent, "java.util.Map<?, ?>", expr);
+        final String first = "first" + _locals;
+        final String each = "e" + _locals++;
+        b.append(indent).append("if (").append(entries).append(" == null) {\n");
+        appendCall(b, indent + "    ", "writeNull", null);
+        b.append(indent).append("} else {\n");
+        b.append(indent).append("    out.write('{');\n");
+        b.append(indent).append("    boolean ").append(first).append(" = true;\n");
+        b.append(indent).append("    for (java.util.Map.Entry<?, ?> ").append(each)
+                .append(" : ").append(entries).append(".entrySet()) {\n");
+        appendSeparator(b, indent + "        ", first);
+        appendCall(b, indent + "        ", "writeString",
+                "(String) " + each + ".getKey()");
+        b.append(indent).append("        out.write(':');\n");
+        appendValue(b, indent + "        ", value,
+                "((" + value + ") " + each + ".getValue())", where);
+        b.append(indent).append("    }\n");
+        b.append(indent).append("    out.write('}');\n");
+        b.append(indent).append("}\n");
+    }
+
+    private static void appendSeparator(StringBuilder b, String indent, String first) {
+        b.append(indent).append("if (").append(first).append(") {\n");
+        b.append(indent).append("    ").append(first).append(" = false;\n");
+        b.append(indent).append("} else {\n");
+        b.append(indent).append("    out.write(',');\n");
+        b.append(indent).append("}\n");
+    }
+
+    private static void appendCall(StringBuilder b, String indent, String method, String arg) {
+        b.append(indent).append(WRITERS).append('.').append(method).append("(out");
+        if (arg != null) {
+            b.append(", ").append(arg);
+        }
+        b.append(");\n");
+    }
+
+    /*
+     * Declare a local holding expr, so it's only evaluated once.
+     */
+    private String local(StringBuilder b, String indent, Object type, String expr) {
+        final String name = "v" + _locals++;
+        b.append(indent).append("final ").append(type).append(' ').append(name)
+                .append(" = ").append(expr).append(";\n");
+        return name;
+    }
+
+    /*
+     * The i'th type argument of a supertype, as a type that can be named
+     * in a cast: wildcards become their upper bound.
+     */
+    private TypeMirror typeArgument(DeclaredType type, int i, Element where)
+            throws UnwritableException {
+        final List<? extends TypeMirror> args = type.getTypeArguments();
+        if (args.size() <= i) {
+            throw new UnwritableException("Cannot write raw " + type + " as JSON", where);
+        }
+        TypeMirror arg = args.get(i);
+        if (arg.getKind() == TypeKind.WILDCARD) {
+            arg = ((WildcardType) arg).getExtendsBound();
+            if (arg == null) {
+                arg = _elements.getTypeElement("java.lang.Object").asType();
+            }
+        }
+        return arg;
+    }
+
+    private PrimitiveType unboxedType(TypeMirror type) {
+        try {
+            return _types.unboxedType(type);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isSubtype(TypeMirror type, String name) {
+        final TypeElement target = _elements.getTypeElement(name);
+        return _types.isSubtype(_types.erasure(type), _types.erasure(target.asType()));
+    }
+
+    /*
+     * The parameterization of a generic supertype as seen from type,
+     * e.g. Map<String, Integer> from a HashMap<String, Integer>.
+     */
+    private DeclaredType findSupertype(TypeMirror type, String name) {
+        if (!isSubtype(type, name)) {
+            return null;
+        }
+        final TypeElement target = _elements.getTypeElement(name);
+        if (type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().equals(target)) {
+            return (DeclaredType) type;
+        }
+        for (TypeMirror s : _types.directSupertypes(type)) {
+            final DeclaredType found = findSupertype(s, name);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isWritable(Element e) {
+        for (AnnotationMirror m : e.getAnnotationMirrors()) {
+            final TypeElement a = (TypeElement) m.getAnnotationType().asElement();
+            if (a.getQualifiedName().contentEquals(ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom;
+
+import com.frank_mitchell.codepoint.CodePointSource;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes UTF-8 code points from a range of a buffer, without copying it.
+ *
+ * Malformed sequences, including overlong forms, surrogates and values
+ * past U+10FFFF, decode to U+FFFD. At the end of the range
+ * {@link #getCodePoint()} returns -1.
+ *
+ * @author Frank Mitchell
+ */
+final class ByteRangeSource implements CodePointSource {
+
+    private static final int REPLACEMENT = 0xFFFD;
+
+    /*
+     * The smallest code point that needs each number of extra bytes.
+     */
+    private static final int[] MIN_CODE_POINT = {0, 0x80, 0x800, 0x10000};
+
+    private final ByteBuffer _input;
+    private final int _end;
+    private int _pos;
+    private int _current = -1;
+    private boolean _started;
+
+    ByteRangeSource(ByteBuffer input, int start, int end) {
+        _input = input;
+        _pos = start;
+        _end = end;
+    }
+
+    @Override
+    public int getCodePoint() {
+        if (!_started) {
+            throw new IllegalStateException("have not called next() yet");
+        }
+        return _current;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return _pos < _end;
+    }
+
+    @Override
+    public void next() {
+        _started = true;
+        if (_pos >= _end) {
+            _current = -1;
+            return;
+        }
+        final int b = _input.get(_pos++) & 0xFF;
+        if (b < 0x80) {
+            _current = b;
+            return;
+        }
+
+        int extra;
+        int cp;
+        if (b >= 0xF0 && b < 0xF8) {
+            extra = 3;
+            cp = b & 0x07;
+        } else if (b >= 0xE0 && b < 0xF0) {
+            extra = 2;
+            cp = b & 0x0F;
+        } else if (b >= 0xC0 && b < 0xE0) {
+            extra = 1;
+            cp = b & 0x1F;
+        } else {
+            // a continuation byte, or 0xF8 to 0xFF
+            _current = REPLACEMENT;
+            return;
+        }
+        for (int i = 0; i < extra; i++) {
+            if (_pos >= _end || (_input.get(_pos) & 0xC0) != 0x80) {
+                _current = REPLACEMENT;
+                return;
+            }
+            cp = (cp << 6) | (_input.get(_pos++) & 0x3F);
+        }
+        if (cp < MIN_CODE_POINT[extra] || cp > Character.MAX_CODE_POINT
+                || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+            // overlong, out of range, or half of a UTF-16 pair
+            _current = REPLACEMENT;
+            return;
+        }
+        _current = cp;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
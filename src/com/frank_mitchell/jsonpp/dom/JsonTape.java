@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A parsed JSON value stored in two flat arrays.
+ *
+ * The <em>tape</em> is a {@code long[]} with one entry per value, key,
+ * and container end, in document order. The top eight bits of each entry
+ * are a tag; the rest depend on the tag:
+ * <ul>
+ * <li>an object or array start holds the tape index just past its end,
+ *     so a reader can skip it in one step, and the number of members or
+ *     elements (saturating at 2<sup>24</sup>-1);</li>
+ * <li>a container end holds the index of its start;</li>
+ * <li>a key, a string, or a number that is not an integer holds the
+ *     offset of its characters in the <em>character buffer</em>, where
+ *     they are preceded by their length in two {@code char}s;</li>
+ * <li>an integer that fits in a {@code long} is followed by a second
+ *     entry with its value;</li>
+ * <li>{@code true}, {@code false} and {@code null} hold nothing.</li>
+ * </ul>
+ *
+ * A tape is navigated through {@link JsonTapeCursor}s, which are
+ * positions in the tape rather than objects for each node. A tape is
+ * immutable and safe to share between threads; cursors are not.
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonTape {
+
+    static final int TAG_OBJECT = 1;
+    static final int TAG_ARRAY = 2;
+    static final int TAG_END_OBJECT = 3;
+    static final int TAG_END_ARRAY = 4;
+    static final int TAG_KEY = 5;
+    static final int TAG_STRING = 6;
+    static final int TAG_LONG = 7;
+    static final int TAG_NUMBER = 8;
+    static final int TAG_TRUE = 9;
+    static final int TAG_FALSE = 10;
+    static final int TAG_NULL = 11;
+
+    static final int TAG_SHIFT = 56;
+    static final long PAYLOAD_MASK = (1L << TAG_SHIFT) - 1;
+    static final int COUNT_SHIFT = 32;
+    static final int MAX_COUNT = (1 << 24) - 1;
+
+    private final long[] _tape;
+    private final char[] _chars;
+
+    private JsonTape(long[] tape, char[] chars) {
+        _tape = tape;
+        _chars = chars;
+    }
+
+    /**
+     * Read one value into a new tape.
+     *
+     * If the parser is at {@link JsonEvent#START_STREAM} this first advances
+     * to the first event. Otherwise it reads the value that starts at the
+     * current event. Either way it leaves the parser on the value's last
+     * event, e.g. {@link JsonEvent#END_OBJECT} for an object.
+     *
+     * @param parser a parser at the start of a value or the stream
+     * @return a tape holding the value
+     * @throws IOException if the parser could not read its input, or
+     * the input is not well-formed JSON
+     */
+    public static JsonTape read(JsonPullParser parser) throws IOException {
+        if (parser.getEvent() == JsonEvent.START_STREAM) {
+            parser.next();
+        }
+        final Builder builder = new Builder();
+        builder.read(parser);
+        return builder.build();
+    }
+
+    /**
+     * Get a cursor on the root value.
+     *
+     * @return a new cursor
+     */
+    public JsonTapeCursor cursor() {
+        return new JsonTapeCursor(this);
+    }
+
+    /**
+     * Get the number of entries in the tape.
+     *
+     * @return the length of the tape
+     */
+    public int getTapeLength() {
+        return _tape.length;
+    }
+
+    /**
+     * Get the number of characters in the character buffer.
+     *
+     * @return the length of the character buffer
+     */
+    public int getCharLength() {
+        return _chars.length;
+    }
+
+    static int tag(long entry) {
+        return (int) (entry >>> TAG_SHIFT);
+    }
+
+    int tagAt(int pos) {
+        return tag(_tape[pos]);
+    }
+
+    long entryAt(int pos) {
+        return _tape[pos];
+    }
+
+    /*
+     * The index of the first entry after the value at pos.
+     */
+    int skip(int pos) {
+        final long entry = _tape[pos];
+        switch (tag(entry)) {
+            case TAG_OBJECT:
+            case TAG_ARRAY:
+                return (int) entry;
+            case TAG_LONG:
+                return pos + 2;
+            default:
+                return pos + 1;
+        }
+    }
+
+    int textLength(int pos) {
+        final int offset = (int) _tape[pos];
+        return (_chars[offset] << 16) | _chars[offset + 1];
+    }
+
+    String text(int pos) {
+        final int offset = (int) _tape[pos];
+        return new String(_chars, offset + 2, textLength(pos));
+    }
+
+    boolean textEquals(int pos, CharSequence s) {
+        final int len = textLength(pos);
+        if (len != s.length()) {
+            return false;
+        }
+        final int start = (int) _tape[pos] + 2;
+        for (int i = 0; i < len; i++) {
+            if (_chars[start + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonTape[" + _tape.length + " entries, " + _chars.length + " chars]";
+    }
+
+    /*
+     * Appends events from a parser to a growing tape.
+     */
+    private static final class Builder {
+        private long[] _tape = new long[64];
+        private int _size;
+        private char[] _chars = new char[256];
+        private int _charSize;
+
+        // tape indices and member counts of open containers
+        private int[] _open = new int[16];
+        private int[] _counts = new int[16];
+        private int _depth;
+
+        void read(JsonPullParser p) throws IOException {
+            do {
+                final JsonEvent event = p.getEvent();
+                switch (event) {
+                    case START_OBJECT:
+                        countValue();
+                        open(TAG_OBJECT);
+                        break;
+                    case START_ARRAY:
+                        countValue();
+                        open(TAG_ARRAY);
+                        break;
+                    case END_OBJECT:
+                        close(TAG_END_OBJECT);
+                        break;
+                    case END_ARRAY:
+                        close(TAG_END_ARRAY);
+                        break;
+                    case KEY_NAME:
+                        _counts[_depth - 1]++;
+                        appendText(TAG_KEY, p.getString());
+                        break;
+                    case VALUE_STRING:
+                        countValue();
+                        appendText(TAG_STRING, p.getString());
+                        break;
+                    case VALUE_NUMBER:
+                        countValue();
+                        if (p.hasUnscaledLong() && p.getScale() == 0
+                                && !isNegativeZero(p)) {
+                            append((long) TAG_LONG << TAG_SHIFT);
+                            append(p.getUnscaledLong());
+                        } else {
+                            appendText(TAG_NUMBER, p.getString());
+                        }
+                        break;
+                    case VALUE_TRUE:
+                        countValue();
+                        append((long) TAG_TRUE << TAG_SHIFT);
+                        break;
+                    case VALUE_FALSE:
+                        countValue();
+                        append((long) TAG_FALSE << TAG_SHIFT);
+                        break;
+                    case VALUE_NULL:
+                        countValue();
+                        append((long) TAG_NULL << TAG_SHIFT);
+                        break;
+                    case END_STREAM:
+                        throw new IOException("Unexpected end of input");
+                    default:
+                        throw new IOException("Malformed JSON at " + event);
+                }
+                if (_depth == 0) {
+                    return;
+                }
+                p.next();
+            } while (true);
+        }
+
+        JsonTape build() {
+            return new JsonTape(Arrays.copyOf(_tape, _size), Arrays.copyOf(_chars, _charSize));
+        }
+
+        /*
+         * Count an element of an enclosing array; object members are
+         * counted by their keys.
+         */
+        private void countValue() {
+            if (_depth > 0 && tag(_tape[_open[_depth - 1]]) == TAG_ARRAY) {
+                _counts[_depth - 1]++;
+            }
+        }
+
+        /*
+         * A zero written "-0" keeps its sign only as text.
+         */
+        private static boolean isNegativeZero(JsonPullParser p) {
+            return p.getUnscaledLong() == 0 && p.getString().charAt(0) == '-';
+        }
+
+        private void open(int tag) {
+            if (_depth == _open.length) {
+                _open = Arrays.copyOf(_open, _depth * 2);
+                _counts = Arrays.copyOf(_counts, _depth * 2);
+            }
+            _open[_depth] = _size;
+            _counts[_depth] = 0;
+            _depth++;
+            // patched by close()
+            append((long) tag << TAG_SHIFT);
+        }
+
+        private void close(int tag) {
+            _depth--;
+            final int start = _open[_depth];
+            final long count = Math.min(_counts[_depth], MAX_COUNT);
+            append(((long) tag << TAG_SHIFT) | start);
+            _tape[start] |= (count << COUNT_SHIFT) | _size;
+        }
+
+        private void append(long entry) {
+            if (_size == _tape.length) {
+                _tape = Arrays.copyOf(_tape, _size * 2);
+            }
+            _tape[_size++] = entry;
+        }
+
+        private void appendText(int tag, String s) {
+            final int len = s.length();
+            if (_charSize + len + 2 > _chars.length) {
+                _chars = Arrays.copyOf(_chars,
+                        Math.max(_chars.length * 2, _charSize + len + 2));
+            }
+            append(((long) tag << TAG_SHIFT) | _charSize);
+            _chars[_charSize++] = (char) (len >>> 16);
+            _chars[_charSize++] = (char) len;
+            s.getChars(0, len, _chars, _charSize);
+            _charSize += len;
+        }
+    }
+}
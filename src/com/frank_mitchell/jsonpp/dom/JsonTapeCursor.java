@@ -0,0 +1,406 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom;
+
+import static com.frank_mitchell.jsonpp.dom.JsonTape.COUNT_SHIFT;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.MAX_COUNT;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_ARRAY;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_END_ARRAY;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_END_OBJECT;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_FALSE;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_KEY;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_LONG;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_NULL;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_NUMBER;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_OBJECT;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_STRING;
+import static com.frank_mitchell.jsonpp.dom.JsonTape.TAG_TRUE;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * A position in a {@link JsonTape}.
+ *
+ * A cursor always rests on a value. The {@code to...()} methods move
+ * it into, across, and out of containers, and return {@code false},
+ * leaving the cursor where it was, if there is nowhere to go. The
+ * accessors read the value under the cursor in the manner of
+ * {@link com.frank_mitchell.jsonpp.JsonPullParser}, and throw
+ * {@link IllegalStateException} if it is the wrong type.
+ *
+ * A cursor is small and may be reused or {@link #copy() copied} freely,
+ * but is not safe to share between threads.
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonTapeCursor {
+
+    private final JsonTape _tape;
+    private int _pos;
+
+    // tape positions of enclosing containers
+    private int[] _parents = new int[8];
+    private int _depth;
+
+    JsonTapeCursor(JsonTape tape) {
+        _tape = tape;
+    }
+
+    /**
+     * Create a cursor at the same position as this one.
+     *
+     * @return a new cursor
+     */
+    public JsonTapeCursor copy() {
+        final JsonTapeCursor result = new JsonTapeCursor(_tape);
+        result._pos = _pos;
+        result._parents = Arrays.copyOf(_parents, _parents.length);
+        result._depth = _depth;
+        return result;
+    }
+
+    /**
+     * Get the kind of the current value, as the event that would begin it.
+     *
+     * @return {@link JsonEvent#START_OBJECT}, {@link JsonEvent#START_ARRAY},
+     *         or one of the {@code VALUE_} events
+     */
+    public JsonEvent getEvent() {
+        switch (_tape.tagAt(_pos)) {
+            case TAG_OBJECT:
+                return JsonEvent.START_OBJECT;
+            case TAG_ARRAY:
+                return JsonEvent.START_ARRAY;
+            case TAG_STRING:
+                return JsonEvent.VALUE_STRING;
+            case TAG_LONG:
+            case TAG_NUMBER:
+                return JsonEvent.VALUE_NUMBER;
+            case TAG_TRUE:
+                return JsonEvent.VALUE_TRUE;
+            case TAG_FALSE:
+                return JsonEvent.VALUE_FALSE;
+            default:
+                return JsonEvent.VALUE_NULL;
+        }
+    }
+
+    /**
+     * Whether the current value is a JSON Object.
+     *
+     * @return whether the current value is an object
+     */
+    public boolean isObject() {
+        return _tape.tagAt(_pos) == TAG_OBJECT;
+    }
+
+    /**
+     * Whether the current value is a JSON Array.
+     *
+     * @return whether the current value is an array
+     */
+    public boolean isArray() {
+        return _tape.tagAt(_pos) == TAG_ARRAY;
+    }
+
+    /**
+     * Whether the current value is JSON {@code null}.
+     *
+     * @return whether the current value is null
+     */
+    public boolean isNull() {
+        return _tape.tagAt(_pos) == TAG_NULL;
+    }
+
+    /**
+     * Get the number of members of the current object, or elements of the
+     * current array.
+     *
+     * @return the size of the current container
+     * @throws IllegalStateException if the current value is not a container
+     */
+    public int size() {
+        checkContainer();
+        final int count = (int) (_tape.entryAt(_pos) >>> COUNT_SHIFT) & MAX_COUNT;
+        if (count < MAX_COUNT) {
+            return count;
+        }
+        // too many to store; count them the slow way
+        int result = 0;
+        for (int p = first(_pos); p >= 0; p = following(p)) {
+            result++;
+        }
+        return result;
+    }
+
+    /**
+     * Get the key of the current value, if it is a member of an object.
+     *
+     * @return the current value's key, or {@code null}
+     */
+    public String getKey() {
+        if (_depth > 0 && _tape.tagAt(_parents[_depth - 1]) == TAG_OBJECT) {
+            return _tape.text(_pos - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Move to the root value.
+     */
+    public void toRoot() {
+        _pos = 0;
+        _depth = 0;
+    }
+
+    /**
+     * Move to the container enclosing the current value.
+     *
+     * @return whether there was an enclosing container
+     */
+    public boolean toParent() {
+        if (_depth == 0) {
+            return false;
+        }
+        _pos = _parents[--_depth];
+        return true;
+    }
+
+    /**
+     * Move to the first element of the current array, or the value of the
+     * first member of the current object.
+     *
+     * @return whether the current value is a non-empty container
+     */
+    public boolean toFirst() {
+        if (!isObject() && !isArray()) {
+            return false;
+        }
+        return descend(first(_pos));
+    }
+
+    /**
+     * Move to the next element or member value in the enclosing container.
+     *
+     * @return whether there was a next element or member
+     */
+    public boolean toNext() {
+        if (_depth == 0) {
+            return false;
+        }
+        final int next = following(_pos);
+        if (next < 0) {
+            return false;
+        }
+        _pos = next;
+        return true;
+    }
+
+    /**
+     * Move to the value of a member of the current object.
+     *
+     * This searches the members in order; if a key appears more than once,
+     * it finds the first.
+     *
+     * @param key a key
+     * @return whether the current value is an object with that key
+     */
+    public boolean toMember(CharSequence key) {
+        if (!isObject()) {
+            return false;
+        }
+        for (int p = first(_pos); p >= 0; p = following(p)) {
+            if (_tape.textEquals(p - 1, key)) {
+                return descend(p);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move to an element of the current array.
+     *
+     * @param index the index of an element
+     * @return whether the current value is an array with that index
+     */
+    public boolean toElement(int index) {
+        if (!isArray() || index < 0) {
+            return false;
+        }
+        int p = first(_pos);
+        for (int i = 0; i < index && p >= 0; i++) {
+            p = following(p);
+        }
+        return descend(p);
+    }
+
+    /**
+     * Get the current JSON String.
+     *
+     * On a JSON Number, the result is the number as originally read,
+     * or for integers as formatted by {@link Long#toString(long)}.
+     *
+     * @return the current string
+     * @throws IllegalStateException if the current value has no string value
+     */
+    public String getString() {
+        switch (_tape.tagAt(_pos)) {
+            case TAG_STRING:
+            case TAG_NUMBER:
+                return _tape.text(_pos);
+            case TAG_LONG:
+                return Long.toString(_tape.entryAt(_pos + 1));
+            default:
+                throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    /**
+     * Get the current JSON Number.
+     *
+     * @return the current number
+     * @throws IllegalStateException if the current value is not a number
+     */
+    public BigDecimal getNumber() {
+        switch (_tape.tagAt(_pos)) {
+            case TAG_NUMBER:
+                return new BigDecimal(_tape.text(_pos));
+            case TAG_LONG:
+                return BigDecimal.valueOf(_tape.entryAt(_pos + 1));
+            default:
+                throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    /**
+     * Get the current JSON Number as a {@code long}.
+     *
+     * @return the current number, as {@link Number#longValue()}
+     * @throws IllegalStateException if the current value is not a number
+     */
+    public long getLong() {
+        if (_tape.tagAt(_pos) == TAG_LONG) {
+            return _tape.entryAt(_pos + 1);
+        }
+        return getNumber().longValue();
+    }
+
+    /**
+     * Get the current JSON Number as an {@code int}.
+     *
+     * @return the current number, as {@link Number#intValue()}
+     * @throws IllegalStateException if the current value is not a number
+     */
+    public int getInt() {
+        return (int) getLong();
+    }
+
+    /**
+     * Get the current JSON Number as a {@code double}.
+     *
+     * @return the nearest {@code double} to the current number
+     * @throws IllegalStateException if the current value is not a number
+     */
+    public double getDouble() {
+        switch (_tape.tagAt(_pos)) {
+            case TAG_NUMBER:
+                return Double.parseDouble(_tape.text(_pos));
+            case TAG_LONG:
+                return _tape.entryAt(_pos + 1);
+            default:
+                throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    /**
+     * Get the current JSON boolean.
+     *
+     * @return the current boolean
+     * @throws IllegalStateException if the current value is not a boolean
+     */
+    public boolean getBoolean() {
+        switch (_tape.tagAt(_pos)) {
+            case TAG_TRUE:
+                return true;
+            case TAG_FALSE:
+                return false;
+            default:
+                throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JsonTapeCursor[" + _pos + ": " + getEvent() + "]";
+    }
+
+    private void checkContainer() {
+        if (!isObject() && !isArray()) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+    }
+
+    private boolean descend(int pos) {
+        if (pos < 0) {
+            return false;
+        }
+        if (_depth == _parents.length) {
+            _parents = Arrays.copyOf(_parents, _depth * 2);
+        }
+        _parents[_depth++] = _pos;
+        _pos = pos;
+        return true;
+    }
+
+    /*
+     * Position of the first value in a container, or -1 if empty.
+     */
+    private int first(int container) {
+        return value(container + 1);
+    }
+
+    /*
+     * Position of the value after the one at pos in the same container,
+     * or -1 if pos is the last.
+     */
+    private int following(int pos) {
+        return value(_tape.skip(pos));
+    }
+
+    /*
+     * Position of the value starting at or after an entry: past the key
+     * if it's a member, or -1 if the entry ends the container.
+     */
+    private int value(int pos) {
+        switch (_tape.tagAt(pos)) {
+            case TAG_KEY:
+                return pos + 1;
+            case TAG_END_OBJECT:
+            case TAG_END_ARRAY:
+                return -1;
+            default:
+                return pos;
+        }
+    }
+}
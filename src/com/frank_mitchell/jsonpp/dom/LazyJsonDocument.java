@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom;
+
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.JsonPullParserFactory;
+import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON document in UTF-8 that is only parsed as far as it is read.
+ *
+ * The document keeps a reference to its input and does no work until a
+ * value is requested. Looking up a member or element scans the enclosing
+ * container only as far as needed, skipping nested containers by
+ * matching brackets, and remembers every member or element it passes.
+ * The next lookup in the same container starts from that index, so
+ * repeated lookups like {@code doc.get("a").get("b")} do no further
+ * scanning. Strings and numbers are decoded by a {@link JsonPullParser}
+ * over just their bytes the first time they are read.
+ *
+ * Skipped containers are not checked, so syntax errors inside them go
+ * unnoticed until something inside them is read; then methods throw
+ * an {@link IOException}.
+ *
+ * The input must not change while the document is in use. A document
+ * is not safe to share between threads.
+ *
+ * @author Frank Mitchell
+ */
+public final class LazyJsonDocument {
+
+    private static final JsonPullParserFactory FACTORY = new DefaultJsonPullParserFactory();
+
+    private final ByteBuffer _input;
+    private LazyJsonValue _root;
+
+    private LazyJsonDocument(ByteBuffer input) {
+        _input = input;
+    }
+
+    /**
+     * Create a document over an array of UTF-8 bytes.
+     *
+     * @param input the JSON text; not copied
+     * @return a new document
+     */
+    public static LazyJsonDocument of(byte[] input) {
+        return new LazyJsonDocument(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Create a document over the remaining bytes of a buffer of UTF-8.
+     *
+     * The buffer's position and limit are not changed.
+     *
+     * @param input the JSON text; not copied
+     * @return a new document
+     */
+    public static LazyJsonDocument of(ByteBuffer input) {
+        return new LazyJsonDocument(input.slice());
+    }
+
+    /**
+     * Get the document's top-level value.
+     *
+     * The first call finds the end of the value, without checking what
+     * is inside it, and checks that only whitespace follows.
+     *
+     * @return the root value
+     * @throws IOException if there is no value, or text after it
+     */
+    public LazyJsonValue getRoot() throws IOException {
+        if (_root == null) {
+            final int start = skipWhitespace(0);
+            final int end = skipValue(start);
+            for (int pos = end; pos < _input.limit(); pos++) {
+                if (!isWhitespace(_input.get(pos))) {
+                    throw malformed(pos);
+                }
+            }
+            _root = new LazyJsonValue(this, start, end);
+        }
+        return _root;
+    }
+
+    /**
+     * Get a member of the top-level object.
+     *
+     * @param key a key
+     * @return the member's value, or {@code null} if the root is not an
+     *         object or has no such member
+     * @throws IOException if the document is malformed
+     */
+    public LazyJsonValue get(String key) throws IOException {
+        return getRoot().get(key);
+    }
+
+    /**
+     * Get an element of the top-level array.
+     *
+     * @param index an index
+     * @return the element, or {@code null} if the root is not an array or
+     *         has no such element
+     * @throws IOException if the document is malformed
+     */
+    public LazyJsonValue get(int index) throws IOException {
+        return getRoot().get(index);
+    }
+
+    /*  ------------------- SCANNING ----------------------- */
+
+    int length() {
+        return _input.limit();
+    }
+
+    byte peek(int pos) {
+        return _input.get(pos);
+    }
+
+    byte at(int pos) throws IOException {
+        if (pos >= _input.limit()) {
+            throw new IOException("Unexpected end of input");
+        }
+        return _input.get(pos);
+    }
+
+    int skipWhitespace(int pos) throws IOException {
+        while (isWhitespace(at(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * The position after the value starting at pos.
+     */
+    int skipValue(int pos) throws IOException {
+        switch (at(pos)) {
+            case '"':
+                return skipString(pos);
+            case '{':
+            case '[':
+                return skipContainer(pos);
+            case '}':
+            case ']':
+            case ',':
+            case ':':
+                throw malformed(pos);
+            default:
+                // number or literal; the parser checks it when read
+                int end = pos;
+                while (end < _input.limit() && !isDelimiter(_input.get(end))) {
+                    end++;
+                }
+                return end;
+        }
+    }
+
+    /*
+     * The position after the string whose opening quote is at pos.
+     */
+    int skipString(int pos) throws IOException {
+        pos++;
+        while (true) {
+            final byte b = at(pos);
+            if (b == '"') {
+                return pos + 1;
+            }
+            pos += (b == '\\') ? 2 : 1;
+        }
+    }
+
+    private int skipContainer(int pos) throws IOException {
+        int depth = 0;
+        while (true) {
+            final byte b = at(pos);
+            switch (b) {
+                case '"':
+                    pos = skipString(pos);
+                    continue;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (--depth == 0) {
+                        return pos + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            pos++;
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+            case ',':
+            case ':':
+            case '}':
+            case ']':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /*
+     * Decode a key string, taking the fast path if it has no escapes.
+     */
+    String decodeKey(int start, int end) throws IOException {
+        for (int i = start + 1; i < end - 1; i++) {
+            if (_input.get(i) == '\\') {
+                final JsonPullParser p = parse(start, end);
+                return p.getString();
+            }
+        }
+        final ByteBuffer key = _input.duplicate();
+        key.position(start + 1).limit(end - 1);
+        return StandardCharsets.UTF_8.decode(key).toString();
+    }
+
+    /*
+     * A parser over one scalar value, on its first event.
+     */
+    JsonPullParser parse(int start, int end) throws IOException {
+        final JsonPullParser p = FACTORY.createParser(new ByteRangeSource(_input, start, end));
+        p.next();
+        switch (p.getEvent()) {
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                return p;
+            default:
+                throw malformed(start);
+        }
+    }
+
+    IOException malformed(int pos) {
+        return new IOException("Malformed JSON at byte " + pos);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyJsonDocument[" + _input.limit() + " bytes]";
+    }
+}
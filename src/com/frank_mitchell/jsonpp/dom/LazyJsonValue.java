@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A value in a {@link LazyJsonDocument}.
+ *
+ * Each instance is the same object every time it is looked up, and
+ * caches whatever has been learned about it: member and element offsets
+ * for containers, decoded values for strings and numbers.
+ *
+ * @author Frank Mitchell
+ */
+public final class LazyJsonValue {
+
+    private final LazyJsonDocument _doc;
+    private final int _start;
+    private int _end;
+
+    /*
+     * Members or elements found so far, and where scanning resumes:
+     * after the opening bracket or a comma, or -1 once the container
+     * has been scanned to its end.
+     */
+    private Map<String, LazyJsonValue> _members;
+    private LazyJsonValue[] _elements;
+    private int _count;
+    private int _scan;
+
+    /*
+     * The scalar value, once decoded.
+     */
+    private boolean _decoded;
+    private String _string;
+    private Number _number;
+    private double _double;
+    private long _long;
+
+    LazyJsonValue(LazyJsonDocument doc, int start, int end) {
+        _doc = doc;
+        _start = start;
+        _end = end;
+        _scan = start + 1;
+    }
+
+    /**
+     * Get the kind of this value, as the event that would begin it.
+     *
+     * The event is determined by the first byte; the rest of the value is
+     * not checked until it is read.
+     *
+     * @return {@link JsonEvent#START_OBJECT}, {@link JsonEvent#START_ARRAY},
+     *         or one of the {@code VALUE_} events
+     */
+    public JsonEvent getEvent() {
+        switch (_start < _doc.length() ? _doc.peek(_start) : 0) {
+            case '{':
+                return JsonEvent.START_OBJECT;
+            case '[':
+                return JsonEvent.START_ARRAY;
+            case '"':
+                return JsonEvent.VALUE_STRING;
+            case 't':
+                return JsonEvent.VALUE_TRUE;
+            case 'f':
+                return JsonEvent.VALUE_FALSE;
+            case 'n':
+                return JsonEvent.VALUE_NULL;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                return JsonEvent.VALUE_NUMBER;
+            default:
+                return JsonEvent.SYNTAX_ERROR;
+        }
+    }
+
+    /**
+     * Whether this value is a JSON Object.
+     *
+     * @return whether this is an object
+     */
+    public boolean isObject() {
+        return getEvent() == JsonEvent.START_OBJECT;
+    }
+
+    /**
+     * Whether this value is a JSON Array.
+     *
+     * @return whether this is an array
+     */
+    public boolean isArray() {
+        return getEvent() == JsonEvent.START_ARRAY;
+    }
+
+    /**
+     * Whether this value is JSON {@code null}.
+     *
+     * @return whether this is null
+     */
+    public boolean isNull() {
+        return getEvent() == JsonEvent.VALUE_NULL;
+    }
+
+    /**
+     * Get the offset of this value in the document's input.
+     *
+     * @return the index of this value's first byte
+     */
+    public int getOffset() {
+        return _start;
+    }
+
+    /**
+     * Get a member of this object.
+     *
+     * If a key appears more than once, this finds the first.
+     *
+     * @param key a key
+     * @return the member's value, or {@code null} if this is not an object
+     *         or has no such member
+     * @throws IOException if the document is malformed
+     */
+    public LazyJsonValue get(String key) throws IOException {
+        if (!isObject()) {
+            return null;
+        }
+        if (_members == null) {
+            _members = new HashMap<>();
+        }
+        final LazyJsonValue known = _members.get(key);
+        if (known != null) {
+            return known;
+        }
+        while (_scan >= 0) {
+            if (key.equals(scanMember())) {
+                return _members.get(key);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get an element of this array.
+     *
+     * @param index an index
+     * @return the element, or {@code null} if this is not an array or
+     *         has no such element
+     * @throws IOException if the document is malformed
+     */
+    public LazyJsonValue get(int index) throws IOException {
+        if (!isArray() || index < 0) {
+            return null;
+        }
+        while (index >= _count && _scan >= 0) {
+            scanElement();
+        }
+        return (index < _count) ? _elements[index] : null;
+    }
+
+    /**
+     * Get the number of members of this object, or elements of this array.
+     *
+     * This scans the whole container.
+     *
+     * @return the size of this container
+     * @throws IllegalStateException if this is not a container
+     * @throws IOException if the document is malformed
+     */
+    public int size() throws IOException {
+        if (isObject()) {
+            if (_members == null) {
+                _members = new HashMap<>();
+            }
+            while (_scan >= 0) {
+                scanMember();
+            }
+        } else if (isArray()) {
+            while (_scan >= 0) {
+                scanElement();
+            }
+        } else {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        return _count;
+    }
+
+    /**
+     * Get this JSON String.
+     *
+     * On a JSON Number, the result is the number as written.
+     *
+     * @return this string
+     * @throws IllegalStateException if this has no string value
+     * @throws IOException if the value is malformed
+     */
+    public String getString() throws IOException {
+        final JsonEvent event = getEvent();
+        if (event != JsonEvent.VALUE_STRING && event != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException(String.valueOf(event));
+        }
+        decode();
+        return _string;
+    }
+
+    /**
+     * Get this JSON Number.
+     *
+     * @return this number
+     * @throws IllegalStateException if this is not a number
+     * @throws IOException if the value is malformed
+     */
+    public Number getNumber() throws IOException {
+        checkNumber();
+        return _number;
+    }
+
+    /**
+     * Get this JSON Number as a {@code long}.
+     *
+     * @return this number, as {@link Number#longValue()}
+     * @throws IllegalStateException if this is not a number
+     * @throws IOException if the value is malformed
+     */
+    public long getLong() throws IOException {
+        checkNumber();
+        return _long;
+    }
+
+    /**
+     * Get this JSON Number as an {@code int}.
+     *
+     * @return this number, as {@link Number#intValue()}
+     * @throws IllegalStateException if this is not a number
+     * @throws IOException if the value is malformed
+     */
+    public int getInt() throws IOException {
+        checkNumber();
+        return (int) _long;
+    }
+
+    /**
+     * Get this JSON Number as a {@code double}.
+     *
+     * @return the nearest {@code double} to this number
+     * @throws IllegalStateException if this is not a number
+     * @throws IOException if the value is malformed
+     */
+    public double getDouble() throws IOException {
+        checkNumber();
+        return _double;
+    }
+
+    /**
+     * Get this JSON boolean.
+     *
+     * @return this boolean
+     * @throws IllegalStateException if this is not a boolean
+     * @throws IOException if the value is malformed
+     */
+    public boolean getBoolean() throws IOException {
+        final JsonEvent event = getEvent();
+        if (event != JsonEvent.VALUE_TRUE && event != JsonEvent.VALUE_FALSE) {
+            throw new IllegalStateException(String.valueOf(event));
+        }
+        decode();
+        return event == JsonEvent.VALUE_TRUE;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyJsonValue[" + _start + ": " + getEvent() + "]";
+    }
+
+    /*
+     * Index the next member, and return its key; or null if the
+     * object turns out to be empty.
+     */
+    private String scanMember() throws IOException {
+        final int keyStart = _doc.skipWhitespace(_scan);
+        if (_count == 0 && _doc.at(keyStart) == '}') {
+            finish(keyStart);
+            return null;
+        }
+        if (_doc.at(keyStart) != '"') {
+            throw _doc.malformed(keyStart);
+        }
+        final int keyEnd = _doc.skipString(keyStart);
+        final String name = _doc.decodeKey(keyStart, keyEnd);
+        final int colon = _doc.skipWhitespace(keyEnd);
+        if (_doc.at(colon) != ':') {
+            throw _doc.malformed(colon);
+        }
+        _members.putIfAbsent(name, scanValue(colon + 1, '}'));
+        return name;
+    }
+
+    /*
+     * Index the next element, if the array isn't empty.
+     */
+    private void scanElement() throws IOException {
+        final int pos = _doc.skipWhitespace(_scan);
+        if (_count == 0 && _doc.at(pos) == ']') {
+            finish(pos);
+            return;
+        }
+        final LazyJsonValue value = scanValue(pos, ']');
+        if (_elements == null) {
+            _elements = new LazyJsonValue[8];
+        } else if (_count > _elements.length) {
+            _elements = Arrays.copyOf(_elements, _elements.length * 2);
+        }
+        _elements[_count - 1] = value;
+    }
+
+    /*
+     * Read the next member value or element at pos, then the comma or
+     * closing bracket after it.
+     */
+    private LazyJsonValue scanValue(int pos, char close) throws IOException {
+        final int start = _doc.skipWhitespace(pos);
+        final int end = _doc.skipValue(start);
+        final int next = _doc.skipWhitespace(end);
+        final byte b = _doc.at(next);
+        if (b == ',') {
+            _scan = next + 1;
+        } else if (b == close) {
+            finish(next);
+        } else {
+            throw _doc.malformed(next);
+        }
+        _count++;
+        return new LazyJsonValue(_doc, start, end);
+    }
+
+    private void finish(int close) {
+        _scan = -1;
+        _end = close + 1;
+    }
+
+    private void checkNumber() throws IOException {
+        if (getEvent() != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        decode();
+    }
+
+    private void decode() throws IOException {
+        if (_decoded) {
+            return;
+        }
+        if (_end < 0) {
+            _end = _doc.skipValue(_start);
+        }
+        final JsonPullParser p = _doc.parse(_start, _end);
+        switch (p.getEvent()) {
+            case VALUE_STRING:
+                _string = p.getString();
+                break;
+            case VALUE_NUMBER:
+                _string = p.getString();
+                _number = p.getNumber();
+                _double = p.getDouble();
+                _long = p.getLong();
+                break;
+            default:
+                break;
+        }
+        p.next();
+        if (p.getEvent() != JsonEvent.END_STREAM) {
+            throw _doc.malformed(_start);
+        }
+        _decoded = true;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * A parser that can read ahead of its input, so that a filter can see an
+ * object's members before the object itself is reported.
+ *
+ * Events are copied from the input only as far as
+ * {@link #findMember(String)} needs, and are replayed in order; once the
+ * last one has been replayed the events come straight from the input
+ * again. A candidate nested inside another reads ahead in the same
+ * buffer, so nothing is copied twice.
+ *
+ * This does not track its position in the document, so there is no
+ * current key, and {@link #isInArray()} and {@link #isInObject()} are
+ * always false. Only what a JsonPath query needs is supported.
+ *
+ * @author Frank Mitchell
+ */
+final class EventRecorder implements JsonPullParser {
+
+    private final JsonPullParser _input;
+
+    /*
+     * Events read ahead, and the current one if _size > 0.  The input
+     * is always on the last event in the buffer.
+     */
+    private JsonEvent[] _events = new JsonEvent[32];
+    private String[] _texts = new String[32];
+    private int _size;
+    private int _pos;
+
+    EventRecorder(JsonPullParser input) {
+        _input = input;
+    }
+
+    /**
+     * Whether the current event came from the buffer rather than the input.
+     *
+     * @return {@code true} if replaying events read ahead
+     */
+    boolean isReplaying() {
+        return _size > 0;
+    }
+
+    /**
+     * Find a member of the object at the current event, reading ahead as
+     * far as the member's value.
+     *
+     * @param key a member name
+     * @return the position of the member's value, or -1 if the object
+     *         ended, or the input ended or had an error, first
+     * @throws IOException if the input could not be read
+     */
+    int findMember(String key) throws IOException {
+        if (_size == 0) {
+            add();
+        }
+        if (_events[_pos] != JsonEvent.START_OBJECT) {
+            return -1;
+        }
+        int depth = 0;
+        for (int i = _pos; true; i++) {
+            if (i == _size && !readAhead()) {
+                return -1;
+            }
+            switch (_events[i]) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    if (--depth == 0) {
+                        return -1;
+                    }
+                    break;
+                case KEY_NAME:
+                    if (depth == 1 && key.equals(_texts[i])) {
+                        if (i + 1 == _size && !readAhead()) {
+                            return -1;
+                        }
+                        final JsonEvent value = _events[i + 1];
+                        return (value == JsonEvent.END_STREAM
+                                || value == JsonEvent.SYNTAX_ERROR) ? -1 : i + 1;
+                    }
+                    break;
+                case END_STREAM:
+                case SYNTAX_ERROR:
+                    return -1;
+                default:
+                    break;
+            }
+        }
+    }
+
+    JsonEvent getEvent(int pos) {
+        return _events[pos];
+    }
+
+    String getText(int pos) {
+        return _texts[pos];
+    }
+
+    private boolean readAhead() throws IOException {
+        final JsonEvent last = _events[_size - 1];
+        if (last == JsonEvent.END_STREAM || last == JsonEvent.SYNTAX_ERROR) {
+            return false;
+        }
+        _input.next();
+        add();
+        return true;
+    }
+
+    private void add() {
+        if (_size == _events.length) {
+            _events = Arrays.copyOf(_events, _size * 2);
+            _texts = Arrays.copyOf(_texts, _size * 2);
+        }
+        final JsonEvent event = _input.getEvent();
+        _events[_size] = event;
+        switch (event) {
+            case KEY_NAME:
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+                _texts[_size] = _input.getString();
+                break;
+            default:
+                _texts[_size] = null;
+                break;
+        }
+        _size++;
+    }
+
+    private void clear() {
+        Arrays.fill(_texts, 0, _size, null);
+        _size = 0;
+        _pos = 0;
+    }
+
+    @Override
+    public JsonEvent getEvent() {
+        return (_size > 0) ? _events[_pos] : _input.getEvent();
+    }
+
+    @Override
+    public void next() throws IOException {
+        if (_pos + 1 < _size) {
+            _pos++;
+            return;
+        }
+        if (_size > 0) {
+            // the input is still on the last event replayed
+            clear();
+        }
+        _input.next();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        if (_size == 0) {
+            _input.skipValue();
+            return;
+        }
+        int depth = 0;
+        for (; _pos < _size; _pos++) {
+            switch (_events[_pos]) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                case END_STREAM:
+                case SYNTAX_ERROR:
+                    return;
+                default:
+                    break;
+            }
+            if (depth <= 0) {
+                return;
+            }
+        }
+
+        // the rest of the value is still in the input
+        clear();
+        while (depth > 0) {
+            _input.next();
+            switch (_input.getEvent()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    _input.skipValue();
+                    if (_input.getEvent() == JsonEvent.SYNTAX_ERROR) {
+                        return;
+                    }
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+                case END_STREAM:
+                case SYNTAX_ERROR:
+                    return;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public String getString() {
+        if (_size == 0) {
+            return _input.getString();
+        }
+        final String text = _texts[_pos];
+        if (text == null) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        return text;
+    }
+
+    @Override
+    public int matchKey(KeySet keys) {
+        if (_size == 0) {
+            return _input.matchKey(keys);
+        }
+        if (_events[_pos] != JsonEvent.KEY_NAME) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        return keys.indexOf(_texts[_pos]);
+    }
+
+    @Override
+    public Number getNumber() {
+        if (_size == 0) {
+            return _input.getNumber();
+        }
+        if (_events[_pos] != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException(String.valueOf(getEvent()));
+        }
+        return new BigDecimal(_texts[_pos]);
+    }
+
+    @Override
+    public boolean isInArray() {
+        return false;
+    }
+
+    @Override
+    public boolean isInObject() {
+        return false;
+    }
+
+    @Override
+    public boolean isCurrentKeySupported() {
+        return false;
+    }
+
+    @Override
+    public String getCurrentKey() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        // the input belongs to QueryJsonPullParser
+    }
+}
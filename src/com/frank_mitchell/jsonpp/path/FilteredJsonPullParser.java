@@ -0,0 +1,359 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A parser that reports only the values selected by a JsonPointerFilter.
+ *
+ * The path to the current value lives in parallel arrays indexed by
+ * depth, which only grow when the document is deeper than any before.
+ * Keys are matched where the parser read them, and only kept as Strings
+ * if the parser cannot report its own current key, so filtering itself
+ * allocates nothing in steady state.
+ *
+ * @author Frank Mitchell
+ */
+final class FilteredJsonPullParser implements JsonPullParser {
+
+    private final JsonPointerFilter _filter;
+    private final JsonPullParser _parser;
+
+    /*
+     * Whether _parser tracks its own current key; if not, _keys does.
+     */
+    private final boolean _parserKeys;
+
+    /*
+     * Per open container, indexed by depth starting at 1: whether it is
+     * an object, its current key, the pointers that match its current
+     * key or its next array index, and the pointers that match its own
+     * path.  _masks[0] is every pointer.
+     */
+    private boolean[] _isObject = new boolean[16];
+    private String[] _keys = new String[16];
+    private long[] _keyMasks = new long[16];
+    private int[] _indices = new int[16];
+    private long[] _masks = new long[16];
+    private int _depth = 0;
+
+    /*
+     * Depth of the selected object or array being reported, or 0 if none.
+     */
+    private int _matchDepth = 0;
+
+    FilteredJsonPullParser(JsonPointerFilter filter, JsonPullParser parser) {
+        _filter = filter;
+        _parser = parser;
+        _parserKeys = parser.isCurrentKeySupported();
+        _masks[0] = filter.allMask();
+    }
+
+    @Override
+    public JsonEvent getEvent() {
+        return _parser.getEvent();
+    }
+
+    @Override
+    public boolean isInArray() {
+        return _depth > 0 && !_isObject[_depth];
+    }
+
+    @Override
+    public boolean isInObject() {
+        return _depth > 0 && _isObject[_depth];
+    }
+
+    @Override
+    public boolean isCurrentKeySupported() {
+        return true;
+    }
+
+    @Override
+    public String getCurrentKey() {
+        if (!isInObject()) {
+            return null;
+        }
+        return _parserKeys ? _parser.getCurrentKey() : _keys[_depth];
+    }
+
+    @Override
+    public void next() throws IOException {
+        while (true) {
+            _parser.next();
+            final JsonEvent event = _parser.getEvent();
+
+            if (_matchDepth > 0) {
+                trackSelected(event);
+                return;
+            }
+
+            switch (event) {
+                case KEY_NAME:
+                    _keyMasks[_depth] = _filter.matchKey(_masks[_depth],
+                            _depth - 1, _parser);
+                    saveKey();
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    _depth--;
+                    break;
+                case START_OBJECT:
+                case START_ARRAY:
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                case VALUE_NULL:
+                    if (filterValue(event)) {
+                        return;
+                    }
+                    break;
+                default:
+                    // START_STREAM, END_STREAM, SYNTAX_ERROR
+                    return;
+            }
+        }
+    }
+
+    /*
+     * Decide what to do with a value outside a selected value.  Returns
+     * true if the value is selected; otherwise descends into a container
+     * that may hold selected values, or skips it.
+     */
+    private boolean filterValue(JsonEvent event) throws IOException {
+        final long mask = childMask();
+        final boolean container = (event == JsonEvent.START_OBJECT
+                || event == JsonEvent.START_ARRAY);
+
+        if ((mask & _filter.lengthMask(_depth)) != 0) {
+            if (container) {
+                push(event == JsonEvent.START_OBJECT, 0L);
+                _matchDepth = _depth;
+            }
+            return true;
+        }
+        if (container) {
+            final long longer = mask & _filter.longerMask(_depth);
+            if (longer != 0) {
+                push(event == JsonEvent.START_OBJECT, longer);
+            } else {
+                _parser.skipValue();
+                // report the error if the skip went wrong
+                return _parser.getEvent() == JsonEvent.SYNTAX_ERROR;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * The pointers that match the path to the value just started.
+     */
+    private long childMask() {
+        if (_depth == 0) {
+            return _masks[0];
+        }
+        final long mask = _masks[_depth];
+        if (_isObject[_depth]) {
+            return _keyMasks[_depth];
+        }
+        return _filter.matchIndex(mask, _depth - 1, _indices[_depth]++);
+    }
+
+    /*
+     * Update the path for an event inside a selected object or array.
+     */
+    private void trackSelected(JsonEvent event) throws IOException {
+        switch (event) {
+            case KEY_NAME:
+                saveKey();
+                break;
+            case START_OBJECT:
+            case START_ARRAY:
+                nextIndex();
+                push(event == JsonEvent.START_OBJECT, 0L);
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                pop();
+                break;
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                nextIndex();
+                break;
+            default:
+                // END_STREAM, SYNTAX_ERROR
+                _matchDepth = 0;
+                break;
+        }
+    }
+
+    private void saveKey() {
+        if (!_parserKeys) {
+            _keys[_depth] = _parser.getString();
+        }
+    }
+
+    private void nextIndex() {
+        if (_depth > 0 && !_isObject[_depth]) {
+            _indices[_depth]++;
+        }
+    }
+
+    private void push(boolean isObject, long mask) {
+        _depth++;
+        if (_depth == _masks.length) {
+            final int size = _depth * 2;
+            _isObject = Arrays.copyOf(_isObject, size);
+            _keys = Arrays.copyOf(_keys, size);
+            _keyMasks = Arrays.copyOf(_keyMasks, size);
+            _indices = Arrays.copyOf(_indices, size);
+            _masks = Arrays.copyOf(_masks, size);
+        }
+        _isObject[_depth] = isObject;
+        _keys[_depth] = null;
+        _keyMasks[_depth] = 0L;
+        _indices[_depth] = 0;
+        _masks[_depth] = mask;
+    }
+
+    private void pop() {
+        _depth--;
+        if (_depth < _matchDepth) {
+            _matchDepth = 0;
+        }
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        final JsonEvent event = _parser.getEvent();
+        if (event == JsonEvent.START_OBJECT || event == JsonEvent.START_ARRAY) {
+            _parser.skipValue();
+            trackSelected(_parser.getEvent());
+        }
+    }
+
+    /*  ------------------- VALUE ACCESSORS ----------------------- */
+
+    @Override
+    public String getString() {
+        return _parser.getString();
+    }
+
+    @Override
+    public int matchKey(KeySet keys) {
+        return _parser.matchKey(keys);
+    }
+
+    @Override
+    public Reader getStringReader() throws IllegalStateException {
+        return _parser.getStringReader();
+    }
+
+    @Override
+    public byte[] getBinary() throws IOException {
+        return _parser.getBinary();
+    }
+
+    @Override
+    public int readBinary(ByteBuffer dst) throws IOException {
+        return _parser.readBinary(dst);
+    }
+
+    @Override
+    public void setStringBufferLimit(int limit) {
+        _parser.setStringBufferLimit(limit);
+    }
+
+    @Override
+    public Instant getInstant() throws IllegalStateException {
+        return _parser.getInstant();
+    }
+
+    @Override
+    public LocalDate getLocalDate() throws IllegalStateException {
+        return _parser.getLocalDate();
+    }
+
+    @Override
+    public UUID getUuid() throws IllegalStateException {
+        return _parser.getUuid();
+    }
+
+    @Override
+    public <E extends Enum<E>> E getEnum(Class<E> type) throws IllegalStateException {
+        return _parser.getEnum(type);
+    }
+
+    @Override
+    public Number getNumber() throws IllegalStateException {
+        return _parser.getNumber();
+    }
+
+    @Override
+    public double getDouble() throws IllegalStateException {
+        return _parser.getDouble();
+    }
+
+    @Override
+    public int getInt() throws IllegalStateException {
+        return _parser.getInt();
+    }
+
+    @Override
+    public long getLong() throws IllegalStateException {
+        return _parser.getLong();
+    }
+
+    @Override
+    public boolean hasUnscaledLong() throws IllegalStateException {
+        return _parser.hasUnscaledLong();
+    }
+
+    @Override
+    public long getUnscaledLong() throws IllegalStateException {
+        return _parser.getUnscaledLong();
+    }
+
+    @Override
+    public int getScale() throws IllegalStateException {
+        return _parser.getScale();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _parser.close();
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled JSONPath expression evaluated in one pass over a parser.
+ *
+ * Supported syntax:
+ * <ul>
+ * <li>{@code $} the root, which must start every expression;</li>
+ * <li>{@code .name}, {@code ['name']} and {@code ["name"]} a member;</li>
+ * <li>{@code [2]} an element, and {@code ['a','b']} or {@code [0,2]}
+ *     unions of either;</li>
+ * <li>{@code .*} and {@code [*]} every member or element;</li>
+ * <li>{@code [start:end:step]} a slice of elements, where every part
+ *     is optional but none may be negative;</li>
+ * <li>{@code [?(@.name op literal)]} every member or element whose member
+ *     {@code name} compares to a string, number, {@code true},
+ *     {@code false} or {@code null}, with {@code op} one of
+ *     {@code == != < <= > >=}; {@code @} alone compares the member or
+ *     element itself, and with no operator the test is just that the
+ *     member exists;</li>
+ * <li>{@code ..} before any of the above applies it at every depth
+ *     below, e.g. {@code $..price}.</li>
+ * </ul>
+ *
+ * Negative indices are not supported, since a streaming query cannot
+ * know the length of an array until it ends.
+ *
+ * A JsonPath is immutable and may be shared by any number of parsers.
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonPath {
+
+    /**
+     * The most steps in one expression.
+     */
+    public static final int MAX_STEPS = 63;
+
+    private final String _expression;
+    private final PathStep[] _steps;
+    private final long _memberFilterMask;
+
+    private JsonPath(String expression, PathStep[] steps) {
+        _expression = expression;
+        _steps = steps;
+
+        long mask = 0L;
+        for (int i = 0; i < steps.length; i++) {
+            if (steps[i].getKind() == PathStep.FILTER
+                    && steps[i].getPredicate().getMember() != null) {
+                mask |= 1L << i;
+            }
+        }
+        _memberFilterMask = mask;
+    }
+
+    /**
+     * Compile a JSONPath expression.
+     *
+     * @param expression a JSONPath expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is malformed
+     * or has more than {@link #MAX_STEPS} steps.
+     */
+    public static JsonPath compile(String expression) {
+        return new JsonPath(expression, new Compiler(expression).compile());
+    }
+
+    /**
+     * Wrap a parser so that it reports only the values this path selects.
+     *
+     * Each match is reported as soon as it is found, in document order:
+     * a single event for a scalar, or all events from the start to the end
+     * of an object or array. Matches nested inside another match are
+     * reported only as part of it. The result ends with
+     * {@link JsonEvent#END_STREAM}, or with the first
+     * {@link JsonEvent#SYNTAX_ERROR}.
+     *
+     * Only members and elements under test by a filter on one of their
+     * members are held in memory, and only until the filter is decided.
+     *
+     * @param parser a parser at the start of its stream
+     * @return a parser that reports matches from {@code parser}
+     */
+    public JsonPullParser createParser(JsonPullParser parser) {
+        return new QueryJsonPullParser(this, parser, -1);
+    }
+
+    /**
+     * Wrap a parser so that it reports at most {@code limit} matches.
+     *
+     * This is like {@link #createParser(JsonPullParser)}, but after the last
+     * event of the last match it reports {@link JsonEvent#END_STREAM}
+     * without reading any further input.
+     *
+     * @param parser a parser at the start of its stream
+     * @param limit  the most matches to report
+     * @return a parser that reports matches from {@code parser}
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    public JsonPullParser createParser(JsonPullParser parser, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        return new QueryJsonPullParser(this, parser, limit);
+    }
+
+    /*
+     * Methods used by QueryJsonPullParser.
+     */
+
+    int getStepCount() {
+        return _steps.length;
+    }
+
+    PathStep getStep(int i) {
+        return _steps[i];
+    }
+
+    long getMemberFilterMask() {
+        return _memberFilterMask;
+    }
+
+    @Override
+    public String toString() {
+        return _expression;
+    }
+
+    /*
+     * A recursive descent parser for JSONPath expressions.
+     */
+    private static final class Compiler {
+
+        private final String _text;
+        private int _pos;
+
+        Compiler(String text) {
+            _text = text;
+            _pos = 0;
+        }
+
+        PathStep[] compile() {
+            skipSpace();
+            expect('$');
+
+            final List<PathStep> steps = new ArrayList<>();
+            while (_pos < _text.length()) {
+                boolean descendant = false;
+                final char c = _text.charAt(_pos);
+                if (c == '.') {
+                    _pos++;
+                    if (peek() == '.') {
+                        _pos++;
+                        descendant = true;
+                        if (peek() == '[') {
+                            steps.add(bracket(descendant));
+                            continue;
+                        }
+                    }
+                    if (peek() == '*') {
+                        _pos++;
+                        steps.add(PathStep.wildcard(descendant));
+                    } else {
+                        steps.add(PathStep.union(descendant,
+                                new String[]{name()}, new int[0]));
+                    }
+                } else if (c == '[') {
+                    steps.add(bracket(false));
+                } else {
+                    throw error("Expected '.' or '['");
+                }
+            }
+            if (steps.size() > MAX_STEPS) {
+                throw new IllegalArgumentException("More than " + MAX_STEPS
+                        + " steps: " + _text);
+            }
+            return steps.toArray(new PathStep[0]);
+        }
+
+        private PathStep bracket(boolean descendant) {
+            expect('[');
+            skipSpace();
+
+            PathStep result;
+            final char c = peek();
+            if (c == '*') {
+                _pos++;
+                result = PathStep.wildcard(descendant);
+            } else if (c == '?') {
+                _pos++;
+                skipSpace();
+                final boolean paren = (peek() == '(');
+                if (paren) {
+                    _pos++;
+                }
+                result = PathStep.filter(descendant, predicate());
+                if (paren) {
+                    skipSpace();
+                    expect(')');
+                }
+            } else if (c == '\'' || c == '"') {
+                final List<String> names = new ArrayList<>();
+                names.add(quoted());
+                skipSpace();
+                while (peek() == ',') {
+                    _pos++;
+                    skipSpace();
+                    names.add(quoted());
+                    skipSpace();
+                }
+                result = PathStep.union(descendant, names.toArray(new String[0]), new int[0]);
+            } else {
+                result = indices(descendant);
+            }
+            skipSpace();
+            expect(']');
+            return result;
+        }
+
+        private PathStep indices(boolean descendant) {
+            final int first = optionalIndex();
+            skipSpace();
+            if (peek() == ':') {
+                _pos++;
+                skipSpace();
+                final int end = optionalIndex();
+                skipSpace();
+                int step = 1;
+                if (peek() == ':') {
+                    _pos++;
+                    skipSpace();
+                    final int s = optionalIndex();
+                    if (s == 0) {
+                        throw error("Slice step must be positive");
+                    }
+                    step = (s < 0) ? 1 : s;
+                }
+                return PathStep.slice(descendant, Math.max(first, 0),
+                        (end < 0) ? Integer.MAX_VALUE : end, step);
+            }
+
+            if (first < 0) {
+                throw error("Expected an index");
+            }
+            final List<Integer> indices = new ArrayList<>();
+            indices.add(first);
+            while (peek() == ',') {
+                _pos++;
+                skipSpace();
+                final int next = optionalIndex();
+                if (next < 0) {
+                    throw error("Expected an index");
+                }
+                indices.add(next);
+                skipSpace();
+            }
+            final int[] result = new int[indices.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = indices.get(i);
+            }
+            return PathStep.union(descendant, new String[0], result);
+        }
+
+        /*
+         * A non-negative integer, or -1 if there are no digits.
+         */
+        private int optionalIndex() {
+            if (peek() == '-') {
+                throw error("Negative indices are not supported");
+            }
+            final int start = _pos;
+            long value = 0;
+            while (isDigit(peek())) {
+                value = value * 10 + (_text.charAt(_pos++) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw error("Index too large");
+                }
+            }
+            return (_pos == start) ? -1 : (int) value;
+        }
+
+        private PathPredicate predicate() {
+            expect('@');
+            String member = null;
+            if (peek() == '.') {
+                _pos++;
+                member = name();
+            } else if (peek() == '[') {
+                _pos++;
+                skipSpace();
+                member = quoted();
+                skipSpace();
+                expect(']');
+            }
+            skipSpace();
+
+            final int op = operator();
+            if (op == PathPredicate.EXISTS) {
+                return new PathPredicate(member, op, null, null);
+            }
+            skipSpace();
+
+            final char c = peek();
+            if (c == '\'' || c == '"') {
+                return new PathPredicate(member, op, JsonEvent.VALUE_STRING, quoted());
+            } else if (c == '-' || isDigit(c)) {
+                return new PathPredicate(member, op, JsonEvent.VALUE_NUMBER, number());
+            } else if (_text.startsWith("true", _pos)) {
+                _pos += 4;
+                return new PathPredicate(member, op, JsonEvent.VALUE_TRUE, null);
+            } else if (_text.startsWith("false", _pos)) {
+                _pos += 5;
+                return new PathPredicate(member, op, JsonEvent.VALUE_FALSE, null);
+            } else if (_text.startsWith("null", _pos)) {
+                _pos += 4;
+                return new PathPredicate(member, op, JsonEvent.VALUE_NULL, null);
+            }
+            throw error("Expected a literal");
+        }
+
+        private int operator() {
+            final String[] ops = {"==", "!=", "<=", ">=", "<", ">"};
+            final int[] codes = {
+                PathPredicate.EQ, PathPredicate.NE, PathPredicate.LE,
+                PathPredicate.GE, PathPredicate.LT, PathPredicate.GT
+            };
+            for (int i = 0; i < ops.length; i++) {
+                if (_text.startsWith(ops[i], _pos)) {
+                    _pos += ops[i].length();
+                    return codes[i];
+                }
+            }
+            return PathPredicate.EXISTS;
+        }
+
+        private String number() {
+            final int start = _pos;
+            if (peek() == '-') {
+                _pos++;
+            }
+            while (isDigit(peek()) || peek() == '.' || peek() == 'e'
+                    || peek() == 'E' || peek() == '+' || peek() == '-') {
+                _pos++;
+            }
+            final String text = _text.substring(start, _pos);
+            try {
+                new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                throw error("Malformed number");
+            }
+            return text;
+        }
+
+        private String name() {
+            final int start = _pos;
+            while (_pos < _text.length()) {
+                final char c = _text.charAt(_pos);
+                if (c == '.' || c == '[' || c == ']' || c == ' ' || c == ')'
+                        || c == '=' || c == '!' || c == '<' || c == '>') {
+                    break;
+                }
+                _pos++;
+            }
+            if (_pos == start) {
+                throw error("Expected a name");
+            }
+            return _text.substring(start, _pos);
+        }
+
+        private String quoted() {
+            final char quote = peek();
+            if (quote != '\'' && quote != '"') {
+                throw error("Expected a quoted name");
+            }
+            _pos++;
+            final StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (_pos >= _text.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = _text.charAt(_pos++);
+                if (c == quote) {
+                    return sb.toString();
+                }
+                if (c == '\\' && _pos < _text.length()) {
+                    c = _text.charAt(_pos++);
+                }
+                sb.append(c);
+            }
+        }
+
+        private char peek() {
+            return (_pos < _text.length()) ? _text.charAt(_pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            _pos++;
+        }
+
+        private void skipSpace() {
+            while (peek() == ' ') {
+                _pos++;
+            }
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + _pos + ": " + _text);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A compiled set of JSON Pointers (RFC 6901) used to filter a parser.
+ *
+ * Each pointer names values to keep, e.g. {@code "/payload/items/0/price"};
+ * a segment of just {@code "*"} matches any key or array index, so
+ * <code>"/payload/items/*&#47;price"</code> keeps the price of every item.
+ * The empty pointer {@code ""} matches the whole document.
+ *
+ * A filter is immutable and may be shared by any number of parsers.
+ *
+ * @author Frank Mitchell
+ */
+public final class JsonPointerFilter {
+
+    /**
+     * The most pointers in one filter.
+     */
+    public static final int MAX_POINTERS = 64;
+
+    private static final String WILDCARD = "*";
+
+    private final String[] _pointers;
+
+    /*
+     * Segments of each pointer, with WILDCARD for "*", and the same
+     * segments as array indices, or -1 if not a valid index.
+     */
+    private final String[][] _keys;
+    private final int[][] _indices;
+
+    /*
+     * Bit masks of pointers by number of segments: exactly that many,
+     * and more than that many.
+     */
+    private final long[] _lengthMask;
+    private final long[] _longerMask;
+
+    /*
+     * By segment position: the distinct keys at that position, the
+     * pointers with each key there, and the pointers with a wildcard.
+     */
+    private final KeySet[] _segmentKeys;
+    private final long[][] _segmentMasks;
+    private final long[] _wildcardMask;
+
+    private JsonPointerFilter(String[] pointers) {
+        if (pointers.length == 0 || pointers.length > MAX_POINTERS) {
+            throw new IllegalArgumentException("Need 1 to " + MAX_POINTERS
+                    + " pointers: " + pointers.length);
+        }
+        _pointers = pointers;
+        _keys = new String[pointers.length][];
+        _indices = new int[pointers.length][];
+
+        int maxLength = 0;
+        for (int i = 0; i < pointers.length; i++) {
+            _keys[i] = parsePointer(pointers[i]);
+            _indices[i] = new int[_keys[i].length];
+            for (int j = 0; j < _keys[i].length; j++) {
+                _indices[i][j] = parseIndex(_keys[i][j]);
+            }
+            maxLength = Math.max(maxLength, _keys[i].length);
+        }
+
+        _lengthMask = new long[maxLength + 1];
+        _longerMask = new long[maxLength + 1];
+        for (int i = 0; i < pointers.length; i++) {
+            final int length = _keys[i].length;
+            _lengthMask[length] |= 1L << i;
+            for (int j = 0; j < length; j++) {
+                _longerMask[j] |= 1L << i;
+            }
+        }
+
+        _segmentKeys = new KeySet[maxLength];
+        _segmentMasks = new long[maxLength][];
+        _wildcardMask = new long[maxLength];
+        for (int j = 0; j < maxLength; j++) {
+            final Map<String, Long> masks = new LinkedHashMap<>();
+            for (int i = 0; i < pointers.length; i++) {
+                if (j >= _keys[i].length) {
+                    continue;
+                }
+                final String segment = _keys[i][j];
+                if (segment == WILDCARD) {
+                    _wildcardMask[j] |= 1L << i;
+                } else {
+                    masks.merge(segment, 1L << i, (a, b) -> a | b);
+                }
+            }
+            _segmentKeys[j] = KeySet.of(masks.keySet().toArray(new String[0]));
+            _segmentMasks[j] = new long[masks.size()];
+            int k = 0;
+            for (long mask : masks.values()) {
+                _segmentMasks[j][k++] = mask;
+            }
+        }
+    }
+
+    /**
+     * Compile one or more JSON Pointers into a filter.
+     *
+     * @param pointers JSON Pointers, with {@code "*"} as a wildcard segment
+     * @return a new filter
+     * @throws IllegalArgumentException if a pointer is malformed, or there
+     * are none or more than {@link #MAX_POINTERS}.
+     */
+    public static JsonPointerFilter compile(String... pointers) {
+        return new JsonPointerFilter(pointers.clone());
+    }
+
+    /**
+     * Compile one or more JSON Pointers into a filter.
+     *
+     * @param pointers JSON Pointers, with {@code "*"} as a wildcard segment
+     * @return a new filter
+     * @throws IllegalArgumentException if a pointer is malformed, or there
+     * are none or more than {@link #MAX_POINTERS}.
+     */
+    public static JsonPointerFilter compile(Collection<String> pointers) {
+        return new JsonPointerFilter(pointers.toArray(new String[0]));
+    }
+
+    /**
+     * Wrap a parser so that it reports only the values this filter selects.
+     *
+     * The result starts at {@link com.frank_mitchell.jsonpp.JsonEvent#START_STREAM}
+     * and then reports each selected value in document order: a single
+     * event for a scalar, or all events from the start to the end of an
+     * object or array. It ends with
+     * {@link com.frank_mitchell.jsonpp.JsonEvent#END_STREAM}, or with the
+     * first {@link com.frank_mitchell.jsonpp.JsonEvent#SYNTAX_ERROR}.
+     * Objects and arrays that cannot contain a selected value are skipped
+     * with {@link JsonPullParser#skipValue()}.
+     *
+     * Unlike some parsers, the result always supports
+     * {@link JsonPullParser#getCurrentKey()}.
+     *
+     * @param parser a parser at the start of its stream
+     * @return a filtering parser that reads from {@code parser}
+     */
+    public JsonPullParser createParser(JsonPullParser parser) {
+        return new FilteredJsonPullParser(this, parser);
+    }
+
+    /**
+     * Get the pointers in this filter.
+     *
+     * @return a copy of the pointers in the order compiled
+     */
+    public String[] getPointers() {
+        return _pointers.clone();
+    }
+
+    /*
+     * Methods used by FilteredJsonPullParser.
+     */
+
+    long allMask() {
+        return (_pointers.length == 64) ? -1L : (1L << _pointers.length) - 1;
+    }
+
+    long lengthMask(int length) {
+        return (length < _lengthMask.length) ? _lengthMask[length] : 0L;
+    }
+
+    long longerMask(int length) {
+        return (length < _longerMask.length) ? _longerMask[length] : 0L;
+    }
+
+    /*
+     * The subset of mask whose segment at pos matches the parser's
+     * current key or an index.  Every pointer in mask must have more
+     * than pos segments.
+     */
+    long matchKey(long mask, int pos, JsonPullParser parser) {
+        final int k = parser.matchKey(_segmentKeys[pos]);
+        final long match = (k < 0) ? _wildcardMask[pos]
+                : _wildcardMask[pos] | _segmentMasks[pos][k];
+        return mask & match;
+    }
+
+    long matchIndex(long mask, int pos, int index) {
+        long result = 0L;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            final int i = Long.numberOfTrailingZeros(bits);
+            if (_keys[i][pos] == WILDCARD || _indices[i][pos] == index) {
+                result |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    private static String[] parsePointer(String pointer) {
+        if (pointer.isEmpty()) {
+            return new String[0];
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON Pointer must start with '/': "
+                    + pointer);
+        }
+        final String[] segments = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (segment.equals(WILDCARD)) {
+                // identity comparison in the constructor and matchIndex()
+                segments[i] = WILDCARD;
+            } else {
+                segments[i] = unescape(segment, pointer);
+            }
+        }
+        return segments;
+    }
+
+    private static String unescape(String segment, String pointer) {
+        if (segment.indexOf('~') < 0) {
+            return segment;
+        }
+        final StringBuilder sb = new StringBuilder(segment.length());
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            if (c != '~') {
+                sb.append(c);
+            } else if (i + 1 < segment.length() && segment.charAt(i + 1) == '0') {
+                sb.append('~');
+                i++;
+            } else if (i + 1 < segment.length() && segment.charAt(i + 1) == '1') {
+                sb.append('/');
+                i++;
+            } else {
+                throw new IllegalArgumentException("Bad escape in JSON Pointer: "
+                        + pointer);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int parseIndex(String segment) {
+        final int length = segment.length();
+        if (segment == WILDCARD || length == 0 || length > 9
+                || (length > 1 && segment.charAt(0) == '0')) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonPointerFilter" + Arrays.toString(_pointers);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import java.math.BigDecimal;
+
+/**
+ * A filter expression like {@code @.price < 10} or {@code @ == 'x'}.
+ *
+ * The expression compares one scalar, either the candidate itself or one
+ * of its members, against a literal; or with no operator, just tests that
+ * the member exists.
+ *
+ * @author Frank Mitchell
+ */
+final class PathPredicate {
+
+    static final int EXISTS = 0;
+    static final int EQ = 1;
+    static final int NE = 2;
+    static final int LT = 3;
+    static final int LE = 4;
+    static final int GT = 5;
+    static final int GE = 6;
+
+    private final String _member;
+    private final int _op;
+    private final JsonEvent _literalType;
+    private final String _literalText;
+    private final BigDecimal _literalNumber;
+
+    /**
+     * Create a predicate.
+     *
+     * @param member      name of the member to test, or {@code null}
+     *                    to test the candidate itself
+     * @param op          one of the operator constants
+     * @param literalType VALUE_STRING, VALUE_NUMBER, VALUE_TRUE, VALUE_FALSE
+     *                    or VALUE_NULL, or {@code null} with EXISTS
+     * @param literalText the string or number literal, if any
+     */
+    PathPredicate(String member, int op, JsonEvent literalType, String literalText) {
+        _member = member;
+        _op = op;
+        _literalType = literalType;
+        _literalText = literalText;
+        _literalNumber = (literalType == JsonEvent.VALUE_NUMBER)
+                ? new BigDecimal(literalText) : null;
+    }
+
+    /**
+     * The member this predicate tests.
+     *
+     * @return a member name, or {@code null} for the candidate itself
+     */
+    String getMember() {
+        return _member;
+    }
+
+    /**
+     * Test a value.
+     *
+     * @param event the value's event; START_OBJECT or START_ARRAY for
+     *              containers, or {@code null} for a missing member
+     * @param text  the text of a string or number, or {@code null}
+     * @return whether the predicate holds
+     */
+    boolean test(JsonEvent event, String text) {
+        if (event == null) {
+            return false;
+        }
+        if (_op == EXISTS) {
+            return true;
+        }
+        if (_op == NE) {
+            return !isEqual(event, text);
+        }
+        if (_op == EQ) {
+            return isEqual(event, text);
+        }
+        if (event != _literalType) {
+            return false;
+        }
+
+        int cmp;
+        if (event == JsonEvent.VALUE_NUMBER) {
+            cmp = new BigDecimal(text).compareTo(_literalNumber);
+        } else if (event == JsonEvent.VALUE_STRING) {
+            cmp = text.compareTo(_literalText);
+        } else {
+            return false;
+        }
+        switch (_op) {
+            case LT:
+                return cmp < 0;
+            case LE:
+                return cmp <= 0;
+            case GT:
+                return cmp > 0;
+            default:
+                return cmp >= 0;
+        }
+    }
+
+    private boolean isEqual(JsonEvent event, String text) {
+        if (event != _literalType) {
+            return false;
+        }
+        switch (event) {
+            case VALUE_NUMBER:
+                return new BigDecimal(text).compareTo(_literalNumber) == 0;
+            case VALUE_STRING:
+                return text.equals(_literalText);
+            default:
+                return true;
+        }
+    }
+}
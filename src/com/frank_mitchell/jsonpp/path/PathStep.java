@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * One step of a compiled JsonPath: a selector for the children of the
+ * current nodes, and whether it applies to all descendants.
+ *
+ * @author Frank Mitchell
+ */
+final class PathStep {
+
+    static final int WILDCARD = 0;
+    static final int UNION = 1;
+    static final int SLICE = 2;
+    static final int FILTER = 3;
+
+    private final boolean _descendant;
+    private final int _kind;
+    private final KeySet _names;
+    private final int[] _indices;
+    private final int _start;
+    private final int _end;
+    private final int _step;
+    private final PathPredicate _predicate;
+
+    private PathStep(boolean descendant, int kind, String[] names, int[] indices,
+            int start, int end, int step, PathPredicate predicate) {
+        _descendant = descendant;
+        _kind = kind;
+        _names = (names == null) ? null
+                : KeySet.of(new LinkedHashSet<>(Arrays.asList(names)).toArray(new String[0]));
+        _indices = indices;
+        _start = start;
+        _end = end;
+        _step = step;
+        _predicate = predicate;
+    }
+
+    static PathStep wildcard(boolean descendant) {
+        return new PathStep(descendant, WILDCARD, null, null, 0, 0, 0, null);
+    }
+
+    static PathStep union(boolean descendant, String[] names, int[] indices) {
+        return new PathStep(descendant, UNION, names, indices, 0, 0, 0, null);
+    }
+
+    static PathStep slice(boolean descendant, int start, int end, int step) {
+        return new PathStep(descendant, SLICE, null, null, start, end, step, null);
+    }
+
+    static PathStep filter(boolean descendant, PathPredicate predicate) {
+        return new PathStep(descendant, FILTER, null, null, 0, 0, 0, predicate);
+    }
+
+    boolean isDescendant() {
+        return _descendant;
+    }
+
+    int getKind() {
+        return _kind;
+    }
+
+    PathPredicate getPredicate() {
+        return _predicate;
+    }
+
+    /**
+     * Whether a member is selected, not counting filters.
+     *
+     * @param parser a parser on the member's
+     *               {@link com.frank_mitchell.jsonpp.JsonEvent#KEY_NAME}
+     * @return whether this step selects the member
+     */
+    boolean matchesKey(JsonPullParser parser) {
+        switch (_kind) {
+            case WILDCARD:
+                return true;
+            case UNION:
+                return _names.size() > 0 && parser.matchKey(_names) >= 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Whether an element is selected, not counting filters.
+     *
+     * @param index the element index
+     * @return whether this step selects the element
+     */
+    boolean matchesIndex(int index) {
+        switch (_kind) {
+            case WILDCARD:
+                return true;
+            case UNION:
+                for (int i : _indices) {
+                    if (i == index) {
+                        return true;
+                    }
+                }
+                return false;
+            case SLICE:
+                return index >= _start && index < _end
+                        && (index - _start) % _step == 0;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A parser that reports only the values selected by a JsonPath.
+ *
+ * Evaluation is a nondeterministic automaton over the path's steps: each
+ * open container keeps a bit mask of the steps its own path has reached,
+ * and each child's mask follows from its parent's, its key or index,
+ * and (for filters) its value.  A bit for the step count means the child
+ * is a match.
+ *
+ * Filters on a member of the candidate, like {@code @.price}, cannot be
+ * decided until that member has been read, so an EventRecorder reads
+ * ahead as far as the member, and then replays what it read as if it
+ * came from the input.
+ *
+ * Keys are matched where the input read them, and only kept as Strings
+ * if the value may be reported and the input cannot give them back.
+ *
+ * @author Frank Mitchell
+ */
+final class QueryJsonPullParser implements JsonPullParser {
+
+    private final JsonPath _path;
+    private final JsonPullParser _input;
+    private final EventRecorder _recorder;
+    private final boolean _inputKeys;
+    private final long _matchBit;
+    private final long _lastStepBit;
+    private final long _openMask;
+
+    private JsonEvent _event = JsonEvent.START_STREAM;
+    private int _remaining;
+
+    /*
+     * Per open container, indexed by depth starting at 1: whether it is
+     * an object, its current key if kept, the steps that select its
+     * current key or its next array index, and the steps its path has
+     * reached.
+     */
+    private boolean[] _isObject = new boolean[16];
+    private String[] _keys = new String[16];
+    private long[] _keyMasks = new long[16];
+    private int[] _indices = new int[16];
+    private long[] _masks = new long[16];
+    private int _depth = 0;
+
+    /*
+     * Depth of the matching object or array being reported, or 0 if none.
+     */
+    private int _matchDepth = 0;
+
+    QueryJsonPullParser(JsonPath path, JsonPullParser input, int limit) {
+        _path = path;
+        _input = input;
+        _recorder = new EventRecorder(input);
+        _inputKeys = input.isCurrentKeySupported();
+        _remaining = limit;
+        _matchBit = 1L << path.getStepCount();
+        _lastStepBit = _matchBit >>> 1;
+        _openMask = _matchBit - 1;
+    }
+
+    @Override
+    public JsonEvent getEvent() {
+        return _event;
+    }
+
+    @Override
+    public boolean isInArray() {
+        return _depth > 0 && !_isObject[_depth];
+    }
+
+    @Override
+    public boolean isInObject() {
+        return _depth > 0 && _isObject[_depth];
+    }
+
+    @Override
+    public boolean isCurrentKeySupported() {
+        return true;
+    }
+
+    @Override
+    public String getCurrentKey() {
+        if (!isInObject()) {
+            return null;
+        }
+        final String key = _keys[_depth];
+        if (key == null && _inputKeys && !_recorder.isReplaying()) {
+            // read inside a match, so the input is at the same depth
+            return _input.getCurrentKey();
+        }
+        return key;
+    }
+
+    @Override
+    public void next() throws IOException {
+        if (_remaining == 0 && _matchDepth == 0) {
+            // stop reading as soon as the last match is done
+            _event = JsonEvent.END_STREAM;
+            return;
+        }
+
+        while (true) {
+            _recorder.next();
+            final JsonEvent event = _recorder.getEvent();
+
+            if (_matchDepth > 0) {
+                trackMatched(event);
+                _event = event;
+                return;
+            }
+
+            switch (event) {
+                case KEY_NAME:
+                    matchKey();
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    _depth--;
+                    break;
+                case START_OBJECT:
+                case START_ARRAY:
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                case VALUE_NULL:
+                    if (selectValue(event)) {
+                        _event = _recorder.getEvent();
+                        return;
+                    }
+                    break;
+                default:
+                    // END_STREAM, SYNTAX_ERROR
+                    _event = event;
+                    return;
+            }
+        }
+    }
+
+    /*
+     * Find the steps that select the key just read, and keep it as a
+     * String only if its value may be reported.
+     */
+    private void matchKey() {
+        long keyMask = 0L;
+        for (long bits = _masks[_depth]; bits != 0; bits &= bits - 1) {
+            final int k = Long.numberOfTrailingZeros(bits);
+            final PathStep step = _path.getStep(k);
+            // filters are decided by the value
+            if (step.getKind() == PathStep.FILTER || step.matchesKey(_recorder)) {
+                keyMask |= 1L << k;
+            }
+        }
+        _keyMasks[_depth] = keyMask;
+        _keys[_depth] = ((keyMask & _lastStepBit) != 0) ? _recorder.getString() : null;
+    }
+
+    /*
+     * Decide what to do with a value outside a match.  Returns true if
+     * the value is a match, or an error occurred; otherwise descends into
+     * a container that may hold matches, or skips it.
+     */
+    private boolean selectValue(JsonEvent event) throws IOException {
+        long mask;
+        if (_depth == 0) {
+            // the root has reached step 0
+            mask = 1L;
+        } else {
+            final long parentMask = _masks[_depth];
+            mask = childMask(parentMask, event, event == JsonEvent.START_OBJECT
+                    && (parentMask & _path.getMemberFilterMask()) != 0);
+        }
+
+        final boolean container = (event == JsonEvent.START_OBJECT
+                || event == JsonEvent.START_ARRAY);
+        if ((mask & _matchBit) != 0) {
+            if (container) {
+                push(event == JsonEvent.START_OBJECT, 0L);
+                _matchDepth = _depth;
+            } else if (_remaining > 0) {
+                _remaining--;
+            }
+            return true;
+        }
+        if (container) {
+            final long open = mask & _openMask;
+            if (open != 0) {
+                push(event == JsonEvent.START_OBJECT, open);
+            } else {
+                _recorder.skipValue();
+                // report the error if the skip went wrong
+                return _recorder.getEvent() == JsonEvent.SYNTAX_ERROR;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * The steps reached by a child of a container that reached parentMask.
+     * If readAhead is true the child is an object that member filters
+     * may look inside.
+     */
+    private long childMask(long parentMask, JsonEvent event, boolean readAhead)
+            throws IOException {
+        final boolean inObject = _isObject[_depth];
+        final int index = inObject ? -1 : _indices[_depth]++;
+        final long keyMask = _keyMasks[_depth];
+        String text = null;
+
+        long result = 0L;
+        for (long bits = parentMask; bits != 0; bits &= bits - 1) {
+            final int k = Long.numberOfTrailingZeros(bits);
+            final PathStep step = _path.getStep(k);
+
+            if (step.isDescendant()) {
+                result |= 1L << k;
+            }
+
+            boolean selected;
+            if (step.getKind() != PathStep.FILTER) {
+                selected = inObject ? (keyMask & (1L << k)) != 0
+                        : step.matchesIndex(index);
+            } else {
+                final PathPredicate predicate = step.getPredicate();
+                final String member = predicate.getMember();
+                if (member == null) {
+                    if (text == null && (event == JsonEvent.VALUE_STRING
+                            || event == JsonEvent.VALUE_NUMBER)) {
+                        text = _recorder.getString();
+                    }
+                    selected = predicate.test(event, text);
+                } else if (readAhead) {
+                    final int pos = _recorder.findMember(member);
+                    selected = pos >= 0
+                            && predicate.test(_recorder.getEvent(pos), _recorder.getText(pos));
+                } else {
+                    selected = false;
+                }
+            }
+            if (selected) {
+                result |= 1L << (k + 1);
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Update the path for an event inside a matching object or array.
+     */
+    private void trackMatched(JsonEvent event) {
+        switch (event) {
+            case KEY_NAME:
+                // only create the String if the input cannot give it back
+                _keys[_depth] = (_inputKeys && !_recorder.isReplaying())
+                        ? null : _recorder.getString();
+                break;
+            case START_OBJECT:
+            case START_ARRAY:
+                nextIndex();
+                push(event == JsonEvent.START_OBJECT, 0L);
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                _depth--;
+                if (_depth < _matchDepth) {
+                    _matchDepth = 0;
+                    if (_remaining > 0) {
+                        _remaining--;
+                    }
+                }
+                break;
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                nextIndex();
+                break;
+            default:
+                // END_STREAM, SYNTAX_ERROR
+                _matchDepth = 0;
+                break;
+        }
+    }
+
+    private void nextIndex() {
+        if (_depth > 0 && !_isObject[_depth]) {
+            _indices[_depth]++;
+        }
+    }
+
+    private void push(boolean isObject, long mask) {
+        _depth++;
+        if (_depth == _masks.length) {
+            final int size = _depth * 2;
+            _isObject = Arrays.copyOf(_isObject, size);
+            _keys = Arrays.copyOf(_keys, size);
+            _keyMasks = Arrays.copyOf(_keyMasks, size);
+            _indices = Arrays.copyOf(_indices, size);
+            _masks = Arrays.copyOf(_masks, size);
+        }
+        _isObject[_depth] = isObject;
+        _keys[_depth] = null;
+        _keyMasks[_depth] = 0L;
+        _indices[_depth] = 0;
+        _masks[_depth] = mask;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        if (_event == JsonEvent.START_OBJECT || _event == JsonEvent.START_ARRAY) {
+            _recorder.skipValue();
+            _event = _recorder.getEvent();
+            trackMatched(_event);
+        }
+    }
+
+    /*  ------------------- VALUE ACCESSORS ----------------------- */
+
+    /*
+     * Where the current value is: in the recorder, or still in the input.
+     */
+    private JsonPullParser source() {
+        return _recorder.isReplaying() ? _recorder : _input;
+    }
+
+    @Override
+    public String getString() {
+        return source().getString();
+    }
+
+    @Override
+    public int matchKey(KeySet keys) {
+        return source().matchKey(keys);
+    }
+
+    @Override
+    public Reader getStringReader() throws IllegalStateException {
+        return source().getStringReader();
+    }
+
+    @Override
+    public byte[] getBinary() throws IOException {
+        return source().getBinary();
+    }
+
+    @Override
+    public int readBinary(ByteBuffer dst) throws IOException {
+        return source().readBinary(dst);
+    }
+
+    @Override
+    public void setStringBufferLimit(int limit) {
+        _input.setStringBufferLimit(limit);
+    }
+
+    @Override
+    public Instant getInstant() throws IllegalStateException {
+        return source().getInstant();
+    }
+
+    @Override
+    public LocalDate getLocalDate() throws IllegalStateException {
+        return source().getLocalDate();
+    }
+
+    @Override
+    public UUID getUuid() throws IllegalStateException {
+        return source().getUuid();
+    }
+
+    @Override
+    public <E extends Enum<E>> E getEnum(Class<E> type) throws IllegalStateException {
+        return source().getEnum(type);
+    }
+
+    @Override
+    public Number getNumber() throws IllegalStateException {
+        return source().getNumber();
+    }
+
+    @Override
+    public double getDouble() throws IllegalStateException {
+        return source().getDouble();
+    }
+
+    @Override
+    public int getInt() throws IllegalStateException {
+        return source().getInt();
+    }
+
+    @Override
+    public long getLong() throws IllegalStateException {
+        return source().getLong();
+    }
+
+    @Override
+    public boolean hasUnscaledLong() throws IllegalStateException {
+        return source().hasUnscaledLong();
+    }
+
+    @Override
+    public long getUnscaledLong() throws IllegalStateException {
+        return source().getUnscaledLong();
+    }
+
+    @Override
+    public int getScale() throws IllegalStateException {
+        return source().getScale();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _input.close();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.spi;
+
+import java.util.Arrays;
+
+/**
+ * Decodes base64 text in chunks without creating intermediate objects.
+ *
+ * Accepts both the standard alphabet ("+/") and the URL-safe one ("-_"),
+ * with or without trailing padding, like {@link java.util.Base64}'s basic
+ * and URL decoders. State carries over from one chunk to the next, so
+ * the caller may feed text in pieces of any size.
+ *
+ * @author Frank Mitchell
+ */
+final class Base64Decoder {
+
+    private static final byte[] SEXTETS = new byte[128];
+
+    static {
+        final String alphabet =
+                "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        Arrays.fill(SEXTETS, (byte) -1);
+        for (int i = 0; i < alphabet.length(); i++) {
+            SEXTETS[alphabet.charAt(i)] = (byte) i;
+        }
+        SEXTETS['-'] = 62;
+        SEXTETS['_'] = 63;
+    }
+
+    private int _bits;
+    private int _sextets;
+    private int _padding;
+
+    /**
+     * The most bytes that {@code chars} characters can produce.
+     *
+     * @param chars a count of characters
+     * @return an upper bound on bytes decoded
+     */
+    static int maxDecodedLength(int chars) {
+        return (int) ((chars * 3L + 3) / 4);
+    }
+
+    /**
+     * Prepare to decode a new value.
+     */
+    void reset() {
+        _bits = 0;
+        _sextets = 0;
+        _padding = 0;
+    }
+
+    /**
+     * Decode a range of characters.
+     *
+     * @param s     characters to decode
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @param out   destination with room for
+     *              {@code maxDecodedLength(end - start)} bytes at {@code pos}
+     * @param pos   index of the first byte to write
+     * @return index after the last byte written
+     * @throws IllegalArgumentException if the text is not base64
+     */
+    int decode(CharSequence s, int start, int end, byte[] out, int pos) {
+        int bits = _bits;
+        int sextets = _sextets;
+
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            final int value = (c < 128) ? SEXTETS[c] : -1;
+            if (value < 0 || _padding > 0) {
+                checkPadding(c, sextets);
+                continue;
+            }
+            bits = (bits << 6) | value;
+            if (++sextets == 4) {
+                out[pos++] = (byte) (bits >> 16);
+                out[pos++] = (byte) (bits >> 8);
+                out[pos++] = (byte) bits;
+                bits = 0;
+                sextets = 0;
+            }
+        }
+
+        _bits = bits;
+        _sextets = sextets;
+        return pos;
+    }
+
+    /**
+     * Write any bytes left in an incomplete last quantum.
+     *
+     * @param out destination with room for two bytes at {@code pos}
+     * @param pos index of the first byte to write
+     * @return index after the last byte written
+     * @throws IllegalArgumentException if the text ended in the wrong place
+     */
+    int finish(byte[] out, int pos) {
+        if (_padding > 0 && _sextets + _padding != 4) {
+            throw new IllegalArgumentException("Incomplete base64 padding");
+        }
+        switch (_sextets) {
+            case 0:
+                break;
+            case 2:
+                out[pos++] = (byte) (_bits >> 4);
+                break;
+            case 3:
+                out[pos++] = (byte) (_bits >> 10);
+                out[pos++] = (byte) (_bits >> 2);
+                break;
+            default:
+                throw new IllegalArgumentException("Last unit does not have enough base64 bits");
+        }
+        reset();
+        return pos;
+    }
+
+    /*
+     * '=' may only follow two or three characters of a quantum,
+     * and only more '=' may follow it.
+     */
+    private void checkPadding(char c, int sextets) {
+        if (c != '=') {
+            throw new IllegalArgumentException("Illegal base64 character "
+                    + Integer.toHexString(c));
+        }
+        if (sextets < 2 || sextets + _padding >= 4) {
+            throw new IllegalArgumentException("Illegal base64 padding");
+        }
+        _padding++;
+    }
+}
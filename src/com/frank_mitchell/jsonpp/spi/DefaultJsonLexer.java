@@ -27,12 +27,51 @@ import com.frank_mitchell.codepoint.CodePointSource;
 
 final class DefaultJsonLexer implements JsonLexer {
 
+    /*
+     * Most significant digits that fit in an unsigned long.
+     */
+    private static final int MAX_DIGITS = 19;
+
+    /*
+     * Largest explicit exponent accumulated without risk of overflow.
+     */
+    private static final int MAX_EXPONENT = 100_000_000;
+
+    /*
+     * Results of nextStringChar() that are not characters.
+     */
+    private static final int STRING_END = -1;
+    private static final int STRING_ERROR = -2;
+    private static final int STRING_BAD_ESCAPE = -3;
+
     private final StringBuilder _tokenBuf = new StringBuilder();
     private final CodePointSource _source;
 
     private int _tokenType = TOKEN_ERROR;
     private boolean _pushback = false;
 
+    /*
+     * Components of the last number read, collected while scanning so the
+     * parser can compute a value without reparsing the token.
+     */
+    private boolean _numNegative;
+    private long _numSignificand;
+    private int _numDigits;
+    private int _numExponent;
+    private boolean _numExact;
+
+    /*
+     * State of the last string read.  If the string was longer than
+     * _stringLimit only a prefix is in _tokenBuf, and the rest is still
+     * in the source.
+     */
+    private int _stringLimit = Integer.MAX_VALUE;
+    private boolean _stringValid;
+    private boolean _stringPartial;
+    private boolean _stringStreamed;
+    private int _pendingLowSurrogate = -1;
+    private int _tokenCount = 0;
+
     DefaultJsonLexer(CodePointSource s) {
         _source = s;
     }
@@ -47,6 +86,96 @@ final class DefaultJsonLexer implements JsonLexer {
         return _tokenBuf;
     }
 
+    @Override
+    public boolean isNegative() {
+        return _numNegative;
+    }
+
+    @Override
+    public long getSignificand() {
+        return _numSignificand;
+    }
+
+    @Override
+    public int getSignificantDigits() {
+        return _numDigits;
+    }
+
+    @Override
+    public int getExponent() {
+        return _numExponent;
+    }
+
+    @Override
+    public boolean isExact() {
+        return _numExact;
+    }
+
+    @Override
+    public int getTokenCount() {
+        return _tokenCount;
+    }
+
+    @Override
+    public void setStringLimit(int limit) {
+        _stringLimit = limit;
+    }
+
+    @Override
+    public boolean isStringPartial() {
+        return _stringPartial;
+    }
+
+    @Override
+    public boolean isStringStreamed() {
+        return _stringStreamed;
+    }
+
+    @Override
+    public void finishString() throws IOException {
+        if (_stringPartial) {
+            if (_stringStreamed) {
+                throw new IllegalStateException("string already streamed");
+            }
+            _tokenType = continueString(Integer.MAX_VALUE);
+        }
+    }
+
+    @Override
+    public int readString(char[] buf, int off, int len) throws IOException {
+        if (!_stringPartial) {
+            return -1;
+        }
+        _stringStreamed = true;
+
+        int count = 0;
+        if (_pendingLowSurrogate >= 0 && len > 0) {
+            buf[off + count++] = (char) _pendingLowSurrogate;
+            _pendingLowSurrogate = -1;
+        }
+        while (count < len) {
+            final int c = nextStringChar();
+            if (c == STRING_END) {
+                _stringPartial = false;
+                break;
+            } else if (c < 0) {
+                _stringPartial = false;
+                _tokenType = TOKEN_ERROR;
+                throw new IOException("Malformed JSON string");
+            } else if (c > 0xFFFF) {
+                buf[off + count++] = Character.highSurrogate(c);
+                if (count < len) {
+                    buf[off + count++] = Character.lowSurrogate(c);
+                } else {
+                    _pendingLowSurrogate = Character.lowSurrogate(c);
+                }
+            } else {
+                buf[off + count++] = (char) c;
+            }
+        }
+        return (count == 0 && len > 0) ? -1 : count;
+    }
+
     private boolean isCodePointParsed() {
         return !_pushback;
     }
@@ -63,13 +192,17 @@ final class DefaultJsonLexer implements JsonLexer {
     public void next() throws IOException {
         _tokenType = TOKEN_ERROR;
         _tokenBuf.setLength(0);
+        _tokenCount++;
 
-        if (!_source.hasNext()) {
-            _tokenType = TOKEN_EOF;
+        if (_stringPartial && !skipString()) {
             return;
         }
 
         if (isCodePointParsed()) {
+            if (!_source.hasNext()) {
+                _tokenType = TOKEN_EOF;
+                return;
+            }
             _source.next();
         }
 
@@ -140,6 +273,60 @@ final class DefaultJsonLexer implements JsonLexer {
         }
     }
 
+    @Override
+    public void skipContainer() throws IOException {
+        _tokenType = TOKEN_ERROR;
+        _tokenBuf.setLength(0);
+        _tokenCount++;
+
+        if (_stringPartial && !skipString()) {
+            return;
+        }
+
+        // Count brackets outside of strings; everything else is ignored.
+        int depth = 1;
+        boolean inString = false;
+        while (true) {
+            if (isCodePointParsed()) {
+                _source.next();
+            }
+            setCodePointParsed();
+
+            final int c = _source.getCodePoint();
+            if (c < 0) {
+                _tokenBuf.append("<EOF>");
+                return;
+            }
+            if (inString) {
+                if (c == '\\') {
+                    _source.next();
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    inString = true;
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    if (--depth == 0) {
+                        _tokenType = (c == ']') ? TOKEN_ARR_CLOSE : TOKEN_OBJ_CLOSE;
+                        _tokenBuf.append((char) c);
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
     private static boolean isJsonWhitespace(int c) {
         switch (c) {
             case '\r':
@@ -220,7 +407,14 @@ final class DefaultJsonLexer implements JsonLexer {
     private int readNumber() throws IOException {
         int c = _source.getCodePoint();
 
+        _numNegative = false;
+        _numSignificand = 0;
+        _numDigits = 0;
+        _numExponent = 0;
+        _numExact = true;
+
         if (c == '-') {
+            _numNegative = true;
             _tokenBuf.append((char) c);
             _source.next();
             c = _source.getCodePoint();
@@ -244,6 +438,7 @@ final class DefaultJsonLexer implements JsonLexer {
         } else {
             while (isJsonDigit(c)) {
                 _tokenBuf.append((char) c);
+                addDigit(c, false);
                 _source.next();
                 c = _source.getCodePoint();
             }
@@ -257,6 +452,7 @@ final class DefaultJsonLexer implements JsonLexer {
 
             while (isJsonDigit(c)) {
                 _tokenBuf.append((char) c);
+                addDigit(c, true);
                 _source.next();
                 c = _source.getCodePoint();
             }
@@ -269,89 +465,171 @@ final class DefaultJsonLexer implements JsonLexer {
 
         // exponent
         if (c == 'e' || c == 'E') {
+            boolean negexp = false;
+            int exp = 0;
+
             _tokenBuf.append('e');
             _source.next();
             c = _source.getCodePoint();
 
             if (c == '-' || c == '+') {
+                negexp = (c == '-');
                 _tokenBuf.append((char) c);
                 _source.next();
                 c = _source.getCodePoint();
             }
             while (isJsonDigit(c)) {
                 _tokenBuf.append((char) c);
+                if (exp < MAX_EXPONENT) {
+                    exp = exp * 10 + (c - '0');
+                } else {
+                    // No double or BigDecimal can represent this anyway
+                    _numExact = false;
+                }
                 _source.next();
                 c = _source.getCodePoint();
             }
+            _numExponent += negexp ? -exp : exp;
         }
         setCodePointUnparsed();
         return TOKEN_NUMBER;
     }
 
-    private int readString() throws IOException {
-        int result = TOKEN_STRING;
-        int c = _source.getCodePoint();
-
-        _tokenBuf.append((char) c);
-
-        do {
-            _source.next();
-            c = _source.getCodePoint();
-
-            if (c < 0) {
-                // end of input without closing quote
-                _tokenBuf.append("<EOF>");
-                return TOKEN_ERROR;
+    /*
+     * Accumulate a decimal digit into the significand, keeping at most
+     * MAX_DIGITS significant digits and adjusting the exponent so that
+     * the number equals significand * 10^exponent.
+     */
+    private void addDigit(int c, boolean fraction) {
+        final int d = c - '0';
+        if (_numDigits < MAX_DIGITS) {
+            if (fraction) {
+                _numExponent--;
             }
-            if (c < 0x20 || c > 0x10FFFF) {
-                // illegal character in string
-                _tokenBuf.append("\\u{").append(Integer.toHexString(c)).append("}");
-                return TOKEN_ERROR;
+            if (_numDigits > 0 || d != 0) {
+                _numSignificand = _numSignificand * 10 + d;
+                _numDigits++;
             }
+        } else {
+            if (!fraction) {
+                _numExponent++;
+            }
+            if (d != 0) {
+                _numExact = false;
+            }
+            _numDigits++;
+        }
+    }
+
+    /*
+     * Read a string into _tokenBuf without its quotes and with escape
+     * sequences resolved.
+     */
+    private int readString() throws IOException {
+        _stringValid = true;
+        _stringStreamed = false;
+        _pendingLowSurrogate = -1;
+        return continueString(_stringLimit);
+    }
 
-            if (c == '\\') {
-                boolean valid = readEscapeSequence();
-                if (!valid) {
-                    // string is malformed, but keep looking for a closing quote.
-                    result = TOKEN_ERROR;
+    private int continueString(int limit) throws IOException {
+        // a malformed string is an error anyway, so read it all
+        while (_tokenBuf.length() < limit || !_stringValid) {
+            final int c = nextStringChar();
+            if (c >= 0) {
+                if (c > 0xFFFF) {
+                    _tokenBuf.append(Character.highSurrogate(c))
+                            .append(Character.lowSurrogate(c));
+                } else {
+                    _tokenBuf.append((char) c);
                 }
-            } else if (c > 0xFFF) {
-                // TODO: handle chars > 0xFFFF correctly
-                _tokenBuf.append(Character.highSurrogate(c)).append(Character.lowSurrogate(c));
+            } else if (c == STRING_BAD_ESCAPE) {
+                // string is malformed, but keep looking for a closing quote.
+                _stringValid = false;
             } else {
-                _tokenBuf.append((char) c);
+                _stringPartial = false;
+                return (c == STRING_END && _stringValid) ? TOKEN_STRING : TOKEN_ERROR;
             }
+        }
+        _stringPartial = true;
+        return TOKEN_STRING;
+    }
 
-        } while (c != '"');
-
-        return result;
+    /*
+     * Discard the unread remainder of a partial string.
+     */
+    private boolean skipString() throws IOException {
+        _stringPartial = false;
+        while (true) {
+            final int c = nextStringChar();
+            if (c == STRING_END) {
+                return true;
+            } else if (c == STRING_ERROR || c == STRING_BAD_ESCAPE) {
+                return false;
+            }
+        }
     }
 
-    private boolean readEscapeSequence() throws IOException {
+    /*
+     * Read the next character of a string and resolve escapes.
+     * Returns a code point, or STRING_END after the closing quote, or
+     * STRING_ERROR or STRING_BAD_ESCAPE if the string is malformed.
+     */
+    private int nextStringChar() throws IOException {
+        _source.next();
         int c = _source.getCodePoint();
 
-        _tokenBuf.append((char) c);
-        _source.next();
+        if (c < 0) {
+            // end of input without closing quote
+            _tokenBuf.append("<EOF>");
+            return STRING_ERROR;
+        }
+        if (c < 0x20 || c > 0x10FFFF) {
+            // illegal character in string
+            _tokenBuf.append("\\u{").append(Integer.toHexString(c)).append("}");
+            return STRING_ERROR;
+        }
+        if (c == '"') {
+            return STRING_END;
+        }
+        if (c != '\\') {
+            return c;
+        }
 
+        _source.next();
         c = _source.getCodePoint();
-        _tokenBuf.append((char) c);
 
-        if (isJsonEscapeChar(c)) {
-            if (c == 'u') {
+        if (!isJsonEscapeChar(c)) {
+            return (c < 0) ? STRING_ERROR : STRING_BAD_ESCAPE;
+        }
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
                 // also ensure next four chars are hex digits
+                int code = 0;
                 for (int i = 0; i < 4; i++) {
                     _source.next();
                     c = _source.getCodePoint();
-                    _tokenBuf.append((char) c);
                     if (!isJsonHexDigit(c)) {
-                        return false;
+                        // a quote still ends the string
+                        return (c < 0 || c == '"') ? STRING_ERROR : STRING_BAD_ESCAPE;
                     }
+                    code = (code << 4) | Character.digit(c, 16);
                 }
-            }
-            return true;
+                return code;
+            default:
+                // '"', '/', '\\'
+                return c;
         }
-
-        return false;
     }
 
     private boolean isJsonEscapeChar(int c) {
@@ -23,12 +23,20 @@ package com.frank_mitchell.jsonpp.spi;
 
 import com.frank_mitchell.jsonpp.JsonEvent;
 import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.KeySet;
 import com.frank_mitchell.codepoint.CodePointSource;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
 
 /**
  * A default implementation of the JsonPullParser.
@@ -41,6 +49,24 @@ final class DefaultJsonPullParser implements JsonPullParser {
     private static final int EXPECT_COMMA_OR_CLOSE = 4;
     private static final int EXPECT_EOF = 5;
 
+    private static final long[] LONG_POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+        100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L,
+        1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+        1_000_000_000_000_000L, 10_000_000_000_000_000L,
+        100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /*
+     * Characters of base64 text decoded at once.
+     */
+    private static final int BINARY_CHUNK = 1024;
+
+    /*
+     * Largest bulk reader scratch array kept between reads.
+     */
+    private static final int MAX_RETAINED = 4096;
+
     private int _expectState = EXPECT_VALUE;
 
     private JsonEvent _currentEvent;
@@ -49,27 +75,92 @@ final class DefaultJsonPullParser implements JsonPullParser {
 
     private final JsonLexer _lexer;
 
-    private final Deque<ValueFrame> _objectStack = new ArrayDeque<>();
+    /*
+     * Scratch space reused by the growable bulk array readers; one that
+     * grew past MAX_RETAINED elements is dropped once its array is read.
+     */
+    private double[] _doubleBuffer;
+    private long[] _longBuffer;
+    private int[] _intBuffer;
+
+    /*
+     * Scratch space for decoding base64 strings a chunk at a time.
+     */
+    private Base64Decoder _base64;
+    private char[] _charChunk;
+    private CharBuffer _charChunkView;
+    private byte[] _byteChunk;
+    private byte[] _binaryOut;
+    private int _binaryLength;
+
+    /*
+     * Open containers, outermost first.  Frames are reused as the depth
+     * changes, so nesting allocates nothing once the array is big enough.
+     */
+    private ValueFrame[] _frames = new ValueFrame[8];
+    private int _depth;
 
     private static class ValueFrame {
 
-        private final boolean _inObject;
+        private boolean _inObject;
+        private boolean _hasKey;
+        private final StringBuilder _keyChars = new StringBuilder();
         private String _key;
 
-        ValueFrame(boolean value) {
+        /*
+         * KeySet indices matched at each key position of this object.
+         * The next object at the same depth, usually the next element of
+         * the same array, tries them first.
+         */
+        private int[] _keyOrder;
+        private int _keyCount;
+        private int _predicted;
+
+        void reset(boolean value) {
             _inObject = value;
+            _hasKey = false;
+            _key = null;
+            _predicted = _keyCount;
+            _keyCount = 0;
         }
 
         boolean isInObject() {
             return _inObject;
         }
 
+        private CharSequence getKeyChars() {
+            return _keyChars;
+        }
+
         private String getKey() {
+            // only create the String if someone asks for it
+            if (_key == null && _hasKey) {
+                _key = _keyChars.toString();
+            }
             return _key;
         }
 
-        private void setKey(String value) {
-            _key = value;
+        private void setKey(CharSequence value) {
+            _keyChars.setLength(0);
+            _keyChars.append(value);
+            _key = null;
+            _hasKey = true;
+            _keyCount++;
+        }
+
+        private int matchKey(KeySet keys, CharSequence token) {
+            final int position = _keyCount - 1;
+            if (_keyOrder == null) {
+                _keyOrder = new int[Math.max(8, position + 1)];
+                _predicted = 0;
+            } else if (position >= _keyOrder.length) {
+                _keyOrder = Arrays.copyOf(_keyOrder, Math.max(position + 1, _keyOrder.length * 2));
+            }
+            // a wrong guess, even from a different KeySet, only costs a compare
+            final int hint = (position < _predicted) ? _keyOrder[position] : -1;
+            final int index = keys.indexOf(token, 0, token.length(), hint);
+            _keyOrder[position] = index;
+            return index;
         }
     }
 
@@ -92,27 +183,411 @@ final class DefaultJsonPullParser implements JsonPullParser {
     @Override
     public String getString() throws IllegalStateException {
         if (_stringValue == null) {
-            throw new IllegalStateException(_currentEvent.toString());
+            // strings and numbers are only converted on demand
+            if (_currentEvent == JsonEvent.VALUE_STRING) {
+                _stringValue = stringChars().toString();
+            } else if (_currentEvent == JsonEvent.KEY_NAME) {
+                _stringValue = _frames[_depth - 1].getKey();
+            } else {
+                checkNumber();
+                _stringValue = _lexer.getToken().toString();
+            }
         }
         return _stringValue;
     }
 
+    @Override
+    public Instant getInstant() throws IllegalStateException {
+        final CharSequence chars = stringChars();
+        final Instant result = TypedStrings.parseInstant(chars, 0, chars.length());
+        return (result != null) ? result : Instant.parse(getString());
+    }
+
+    @Override
+    public LocalDate getLocalDate() throws IllegalStateException {
+        final CharSequence chars = stringChars();
+        final LocalDate result = TypedStrings.parseLocalDate(chars, 0, chars.length());
+        return (result != null) ? result : LocalDate.parse(getString());
+    }
+
+    @Override
+    public UUID getUuid() throws IllegalStateException {
+        final CharSequence chars = stringChars();
+        final UUID result = TypedStrings.parseUuid(chars, 0, chars.length());
+        return (result != null) ? result : UUID.fromString(getString());
+    }
+
+    @Override
+    public <E extends Enum<E>> E getEnum(Class<E> type) throws IllegalStateException {
+        final CharSequence chars = stringChars();
+        final Object result = EnumLookup.forClass(type).find(chars, 0, chars.length());
+        if (result == null) {
+            // let the JDK report the error
+            return Enum.valueOf(type, getString());
+        }
+        return type.cast(result);
+    }
+
+    /*
+     * The current KEY_NAME or VALUE_STRING with escapes resolved,
+     * without creating a String.
+     */
+    private CharSequence stringChars() throws IllegalStateException {
+        if (_currentEvent == JsonEvent.KEY_NAME) {
+            return _frames[_depth - 1].getKeyChars();
+        }
+        if (_currentEvent != JsonEvent.VALUE_STRING) {
+            throw new IllegalStateException(String.valueOf(_currentEvent));
+        }
+        if (_lexer.isStringStreamed()) {
+            // only the part before the buffer limit is left
+            throw new IllegalStateException("string already streamed");
+        }
+        if (_lexer.isStringPartial()) {
+            try {
+                _lexer.finishString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (_lexer.getTokenType() != JsonLexer.TOKEN_STRING) {
+                throw new IllegalStateException("Malformed string: " + _lexer.getToken());
+            }
+        }
+        return _lexer.getToken();
+    }
+
+    @Override
+    public byte[] getBinary() throws IOException {
+        checkBinary();
+        final CharSequence token = _lexer.getToken();
+        int length = token.length();
+        if (_lexer.isStringPartial()) {
+            length *= 2;
+        } else {
+            // exact size for valid text, so usually no copy at the end
+            for (int i = 0; i < 2 && length > 0 && token.charAt(length - 1) == '='; i++) {
+                length--;
+            }
+        }
+        _binaryOut = new byte[(length / 4) * 3 + Math.max(0, length % 4 - 1)];
+        _binaryLength = 0;
+        decodeBinary(null);
+
+        final byte[] result = _binaryOut;
+        _binaryOut = null;
+        return (_binaryLength == result.length) ? result : Arrays.copyOf(result, _binaryLength);
+    }
+
+    @Override
+    public int readBinary(ByteBuffer dst) throws IOException {
+        checkBinary();
+        final int start = dst.position();
+        decodeBinary(dst);
+        return dst.position() - start;
+    }
+
+    private void checkBinary() throws IllegalStateException {
+        if (_currentEvent != JsonEvent.VALUE_STRING) {
+            throw new IllegalStateException(String.valueOf(_currentEvent));
+        }
+        if (_lexer.isStringStreamed()) {
+            throw new IllegalStateException("string already streamed");
+        }
+        if (_base64 == null) {
+            _base64 = new Base64Decoder();
+            _charChunk = new char[BINARY_CHUNK];
+            _charChunkView = CharBuffer.wrap(_charChunk);
+            _byteChunk = new byte[Base64Decoder.maxDecodedLength(BINARY_CHUNK) + 2];
+        }
+    }
+
+    /*
+     * Decode the current string as base64 a chunk at a time, first from
+     * the lexer's buffer and then from the rest of a partial string.
+     * Bytes go to dst, or to _binaryOut if dst is null.
+     */
+    private void decodeBinary(ByteBuffer dst) throws IOException {
+        final Base64Decoder decoder = _base64;
+        final CharSequence token = _lexer.getToken();
+        final int prefixEnd = token.length();
+
+        decoder.reset();
+        for (int start = 0; start < prefixEnd; start += BINARY_CHUNK) {
+            final int end = Math.min(start + BINARY_CHUNK, prefixEnd);
+            putBinary(dst, decoder.decode(token, start, end, _byteChunk, 0));
+        }
+
+        int count;
+        while ((count = _lexer.readString(_charChunk, 0, BINARY_CHUNK)) > 0) {
+            putBinary(dst, decoder.decode(_charChunkView, 0, count, _byteChunk, 0));
+        }
+
+        putBinary(dst, decoder.finish(_byteChunk, 0));
+    }
+
+    private void putBinary(ByteBuffer dst, int count) {
+        if (dst != null) {
+            dst.put(_byteChunk, 0, count);
+            return;
+        }
+        final int size = _binaryLength + count;
+        if (size > _binaryOut.length) {
+            _binaryOut = Arrays.copyOf(_binaryOut, Math.max(size, _binaryOut.length * 2));
+        }
+        System.arraycopy(_byteChunk, 0, _binaryOut, _binaryLength, count);
+        _binaryLength = size;
+    }
+
+    @Override
+    public Reader getStringReader() throws IllegalStateException {
+        if (_currentEvent != JsonEvent.VALUE_STRING || _stringValue != null) {
+            return new StringReader(getString());
+        }
+        return new JsonStringReader(_lexer);
+    }
+
+    @Override
+    public void setStringBufferLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        _lexer.setStringLimit(limit);
+    }
+
     @Override
     public Number getNumber() throws IllegalStateException {
         if (_numberValue == null) {
-            throw new IllegalStateException(_currentEvent.toString());
+            checkNumber();
+            _numberValue = new BigDecimal(getString());
         }
         return _numberValue;
     }
 
     @Override
     public double getDouble() throws IllegalStateException {
-        return getNumber().doubleValue();
+        checkNumber();
+        return doubleValue();
+    }
+
+    private double doubleValue() {
+        final boolean negative = _lexer.isNegative();
+        final long significand = _lexer.getSignificand();
+        final int exponent = _lexer.getExponent();
+
+        double result = FastDoubleMath.toDouble(negative, significand, exponent);
+        if (!_lexer.isExact() && !Double.isNaN(result)) {
+            // Digits were dropped, so the true value lies between
+            // significand and significand + 1; both must round the same.
+            double upper = FastDoubleMath.toDouble(negative, significand + 1, exponent);
+            if (upper != result) {
+                result = Double.NaN;
+            }
+        }
+        if (Double.isNaN(result)) {
+            result = getNumber().doubleValue();
+        }
+        return result;
+    }
+
+    private void checkNumber() throws IllegalStateException {
+        if (_currentEvent != JsonEvent.VALUE_NUMBER) {
+            throw new IllegalStateException(String.valueOf(_currentEvent));
+        }
     }
 
     @Override
     public int getInt() throws IllegalStateException {
-        return getNumber().intValue();
+        // same truncation as Number.intValue()
+        return (int) getLong();
+    }
+
+    @Override
+    public long getLong() throws IllegalStateException {
+        checkNumber();
+        return longValue();
+    }
+
+    private long longValue() {
+        if (isUnscaledLong()) {
+            final long unscaled = _lexer.getSignificand();
+            final int scale = -_lexer.getExponent();
+            final long value = _lexer.isNegative() ? -unscaled : unscaled;
+
+            if (scale == 0) {
+                return value;
+            } else if (scale > 0 && scale < LONG_POWERS_OF_TEN.length) {
+                return value / LONG_POWERS_OF_TEN[scale];
+            } else if (scale < 0 && -scale < LONG_POWERS_OF_TEN.length) {
+                // BigDecimal.longValue() keeps the low-order 64 bits too
+                return value * LONG_POWERS_OF_TEN[-scale];
+            }
+        }
+        return getNumber().longValue();
+    }
+
+    @Override
+    public boolean hasUnscaledLong() throws IllegalStateException {
+        checkNumber();
+        return isUnscaledLong();
+    }
+
+    private boolean isUnscaledLong() {
+        if (!_lexer.isExact() || _lexer.getSignificantDigits() > 19) {
+            return false;
+        }
+        // an unsigned significand of 2^63 reads as Long.MIN_VALUE, and
+        // fits only when negated; negating MIN_VALUE leaves it unchanged
+        final long significand = _lexer.getSignificand();
+        return significand >= 0
+                || (significand == Long.MIN_VALUE && _lexer.isNegative());
+    }
+
+    @Override
+    public long getUnscaledLong() throws IllegalStateException {
+        if (!hasUnscaledLong()) {
+            throw new ArithmeticException("Overflow");
+        }
+        final long unscaled = _lexer.getSignificand();
+        return _lexer.isNegative() ? -unscaled : unscaled;
+    }
+
+    @Override
+    public int getScale() throws IllegalStateException {
+        if (hasUnscaledLong()) {
+            return -_lexer.getExponent();
+        }
+        return ((BigDecimal) getNumber()).scale();
+    }
+
+    @Override
+    public int readDoubleArray(double[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = doubleValue();
+        }
+        return count;
+    }
+
+    @Override
+    public double[] readDoubleArray() throws IOException {
+        checkStartArray();
+        double[] buffer = (_doubleBuffer != null) ? _doubleBuffer : new double[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = doubleValue();
+        }
+        _doubleBuffer = (buffer.length <= MAX_RETAINED) ? buffer : null;
+        return Arrays.copyOf(buffer, count);
+    }
+
+    @Override
+    public int readLongArray(long[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = longValue();
+        }
+        return count;
+    }
+
+    @Override
+    public long[] readLongArray() throws IOException {
+        checkStartArray();
+        long[] buffer = (_longBuffer != null) ? _longBuffer : new long[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = longValue();
+        }
+        _longBuffer = (buffer.length <= MAX_RETAINED) ? buffer : null;
+        return Arrays.copyOf(buffer, count);
+    }
+
+    @Override
+    public int readIntArray(int[] dest, int offset) throws IOException {
+        checkStartArray();
+        int count = 0;
+        int depth = 1;
+        while (offset + count < dest.length
+                && (depth = nextNumberInArray(depth)) > 0) {
+            dest[offset + count++] = (int) longValue();
+        }
+        return count;
+    }
+
+    @Override
+    public int[] readIntArray() throws IOException {
+        checkStartArray();
+        int[] buffer = (_intBuffer != null) ? _intBuffer : new int[16];
+        int count = 0;
+        int depth = 1;
+        while ((depth = nextNumberInArray(depth)) > 0) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = (int) longValue();
+        }
+        _intBuffer = (buffer.length <= MAX_RETAINED) ? buffer : null;
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private void checkStartArray() throws IllegalStateException {
+        if (_currentEvent != JsonEvent.START_ARRAY) {
+            throw new IllegalStateException(String.valueOf(_currentEvent));
+        }
+    }
+
+    /*
+     * Advance straight through the lexer to the next number in an array
+     * being read in bulk, flattening nested arrays.  Returns the new
+     * nesting depth, 0 after the outermost END_ARRAY, or -1 if the next
+     * element was neither a number nor an array.
+     */
+    private int nextNumberInArray(int depth) throws IOException {
+        _stringValue = null;
+        _numberValue = null;
+
+        while (true) {
+            _currentEvent = null;
+            _lexer.next();
+
+            final int token = _lexer.getTokenType();
+
+            // Inside an array: number, comma, number, comma ...
+            if (token == JsonLexer.TOKEN_NUMBER && _expectState == EXPECT_VALUE) {
+                _currentEvent = JsonEvent.VALUE_NUMBER;
+                _expectState = EXPECT_COMMA_OR_CLOSE;
+                return depth;
+            }
+            if (token == JsonLexer.TOKEN_COMMA && _expectState == EXPECT_COMMA_OR_CLOSE) {
+                _expectState = EXPECT_VALUE;
+                continue;
+            }
+
+            processToken(token);
+
+            if (_currentEvent == JsonEvent.START_ARRAY) {
+                depth++;
+            } else if (_currentEvent == JsonEvent.END_ARRAY) {
+                if (--depth == 0) {
+                    return 0;
+                }
+            } else if (_currentEvent != null) {
+                return -1;
+            }
+        }
     }
 
     @Override
@@ -123,188 +598,173 @@ final class DefaultJsonPullParser implements JsonPullParser {
 
         while (_currentEvent == null) {
             _lexer.next();
+            processToken(_lexer.getTokenType());
+        }
+    }
 
-            int token = _lexer.getTokenType();
+    @Override
+    public void skipValue() throws IOException {
+        if (_currentEvent != JsonEvent.START_OBJECT
+                && _currentEvent != JsonEvent.START_ARRAY) {
+            return;
+        }
+        _currentEvent = null;
+        _stringValue = null;
+        _numberValue = null;
 
-            if (!isExpected(token)) {
-                // TODO: error message
-                _currentEvent = JsonEvent.SYNTAX_ERROR;
-                break;
-            }
+        // the lexer only counts brackets; the close must still match
+        _lexer.skipContainer();
+        processToken(_lexer.getTokenType());
+    }
 
-            switch (token) {
-                case JsonLexer.TOKEN_OBJ_OPEN:
-                    _currentEvent = JsonEvent.START_OBJECT;
-                    increaseDepth(true);
-                    setExpectKey();
-                    break;
-                case JsonLexer.TOKEN_OBJ_CLOSE:
-                    if (isInObject()) {
-                        _currentEvent = JsonEvent.END_OBJECT;
-                        decreaseDepth();
-                        setExpectCommaOrClose();
-                    } else {
-                        _currentEvent = JsonEvent.SYNTAX_ERROR;
-                    }
-                    break;
-                case JsonLexer.TOKEN_ARR_OPEN:
-                    _currentEvent = JsonEvent.START_ARRAY;
-                    increaseDepth(false);
-                    setExpectValue();
-                    break;
-                case JsonLexer.TOKEN_ARR_CLOSE:
-                    if (isInArray()) {
-                        _currentEvent = JsonEvent.END_ARRAY;
-                        decreaseDepth();
-                    } else {
-                        _currentEvent = JsonEvent.SYNTAX_ERROR;
-                    }
-                    setExpectCommaOrClose();
-                    break;
-                case JsonLexer.TOKEN_STRING:
-                    _stringValue = unquote(_lexer.getToken());
-                    if (isExpectingKey()) {
-                        _currentEvent = JsonEvent.KEY_NAME;
-                        setKey(_stringValue);
-                        setExpectColon();
-                    } else {
-                        _currentEvent = JsonEvent.VALUE_STRING;
-                        setExpectCommaOrClose();
-                    }
-                    break;
-                case JsonLexer.TOKEN_NUMBER:
-                    _currentEvent = JsonEvent.VALUE_NUMBER;
-                    _stringValue = _lexer.getToken().toString();
-                    _numberValue = new BigDecimal(_stringValue);
-                    setExpectCommaOrClose();
-                    break;
-                case JsonLexer.TOKEN_TRUE:
-                    _currentEvent = JsonEvent.VALUE_TRUE;
-                    setExpectCommaOrClose();
-                    break;
-                case JsonLexer.TOKEN_FALSE:
-                    _currentEvent = JsonEvent.VALUE_FALSE;
-                    setExpectCommaOrClose();
-                    break;
-                case JsonLexer.TOKEN_NULL:
-                    _currentEvent = JsonEvent.VALUE_NULL;
+    /*
+     * Update the parser state for one token from the lexer.
+     * Tokens that are not events (commas, colons) leave _currentEvent null.
+     */
+    private void processToken(int token) throws IOException {
+        if (!isExpected(token)) {
+            // TODO: error message
+            _currentEvent = JsonEvent.SYNTAX_ERROR;
+            return;
+        }
+
+        switch (token) {
+            case JsonLexer.TOKEN_OBJ_OPEN:
+                _currentEvent = JsonEvent.START_OBJECT;
+                increaseDepth(true);
+                setExpectKey();
+                break;
+            case JsonLexer.TOKEN_OBJ_CLOSE:
+                if (isInObject()) {
+                    _currentEvent = JsonEvent.END_OBJECT;
+                    decreaseDepth();
                     setExpectCommaOrClose();
-                    break;
-                case JsonLexer.TOKEN_EOF:
-                    _currentEvent = JsonEvent.END_STREAM;
-                    break;
-                case JsonLexer.TOKEN_COMMA:
-                    if (isRootLevel()) {
+                } else {
+                    _currentEvent = JsonEvent.SYNTAX_ERROR;
+                }
+                break;
+            case JsonLexer.TOKEN_ARR_OPEN:
+                _currentEvent = JsonEvent.START_ARRAY;
+                increaseDepth(false);
+                setExpectValue();
+                break;
+            case JsonLexer.TOKEN_ARR_CLOSE:
+                if (isInArray()) {
+                    _currentEvent = JsonEvent.END_ARRAY;
+                    decreaseDepth();
+                } else {
+                    _currentEvent = JsonEvent.SYNTAX_ERROR;
+                }
+                setExpectCommaOrClose();
+                break;
+            case JsonLexer.TOKEN_STRING:
+                if (isExpectingKey()) {
+                    _currentEvent = JsonEvent.KEY_NAME;
+                    // keys are never streamed
+                    _lexer.finishString();
+                    if (_lexer.getTokenType() != JsonLexer.TOKEN_STRING) {
                         _currentEvent = JsonEvent.SYNTAX_ERROR;
-                    } else if (isInObject()) {
-                        setExpectKey();
-                    } else {
-                        setExpectValue();
+                        break;
                     }
-                    break;
-                case JsonLexer.TOKEN_COLON:
-                    setExpectValue();
-                    break;
-                default:
-                    // TODO: error message
+                    setKey(_lexer.getToken());
+                    setExpectColon();
+                } else {
+                    // converted on demand by getString()
+                    _currentEvent = JsonEvent.VALUE_STRING;
+                    setExpectCommaOrClose();
+                }
+                break;
+            case JsonLexer.TOKEN_NUMBER:
+                _currentEvent = JsonEvent.VALUE_NUMBER;
+                setExpectCommaOrClose();
+                break;
+            case JsonLexer.TOKEN_TRUE:
+                _currentEvent = JsonEvent.VALUE_TRUE;
+                setExpectCommaOrClose();
+                break;
+            case JsonLexer.TOKEN_FALSE:
+                _currentEvent = JsonEvent.VALUE_FALSE;
+                setExpectCommaOrClose();
+                break;
+            case JsonLexer.TOKEN_NULL:
+                _currentEvent = JsonEvent.VALUE_NULL;
+                setExpectCommaOrClose();
+                break;
+            case JsonLexer.TOKEN_EOF:
+                _currentEvent = JsonEvent.END_STREAM;
+                break;
+            case JsonLexer.TOKEN_COMMA:
+                if (isRootLevel()) {
                     _currentEvent = JsonEvent.SYNTAX_ERROR;
-                    break;
-            }
+                } else if (isInObject()) {
+                    setExpectKey();
+                } else {
+                    setExpectValue();
+                }
+                break;
+            case JsonLexer.TOKEN_COLON:
+                setExpectValue();
+                break;
+            default:
+                // TODO: error message
+                _currentEvent = JsonEvent.SYNTAX_ERROR;
+                break;
         }
     }
 
     @Override
     public boolean isInObject() {
-        final ValueFrame frame = _objectStack.peek();
-        if (frame != null) {
-            return frame.isInObject();
-        }
-        return false;
+        return _depth > 0 && _frames[_depth - 1].isInObject();
     }
 
     @Override
     public boolean isInArray() {
-        final ValueFrame frame = _objectStack.peek();
-        if (frame != null) {
-            return !frame.isInObject();
-        }
-        return false;
+        return _depth > 0 && !_frames[_depth - 1].isInObject();
     }
 
     @Override
     public String getCurrentKey() {
-        final ValueFrame frame = _objectStack.peek();
-        if (frame != null && frame.isInObject()) {
-            return frame.getKey();
+        if (isInObject()) {
+            return _frames[_depth - 1].getKey();
         }
         return null;
     }
 
-    void setKey(String key) {
-        final ValueFrame frame = _objectStack.peek();
-        if (frame != null && frame.isInObject()) {
-            frame.setKey(key);
+    @Override
+    public int matchKey(KeySet keys) throws IllegalStateException {
+        if (_currentEvent != JsonEvent.KEY_NAME) {
+            throw new IllegalStateException(String.valueOf(_currentEvent));
         }
-        // else this is an error, right?
+        // the key is still in the lexer's buffer
+        return _frames[_depth - 1].matchKey(keys, _lexer.getToken());
     }
 
-    boolean isRootLevel() {
-        return getDepth() == 0;
+    void setKey(CharSequence key) {
+        if (isInObject()) {
+            _frames[_depth - 1].setKey(key);
+        }
+        // else this is an error, right?
     }
 
-    private int getDepth() {
-        return _objectStack.size();
+    boolean isRootLevel() {
+        return _depth == 0;
     }
 
     void decreaseDepth() {
-        _objectStack.pop();
+        _depth--;
     }
 
     void increaseDepth(boolean isobject) {
-        _objectStack.push(new ValueFrame(isobject));
-    }
-
-    private String unquote(CharSequence seq) {
-        // trim off quotes
-        StringBuilder sb = new StringBuilder(seq.length());
-        sb.append(seq, 1, seq.length() - 1);
-
-        // replace escape sequences with real characters
-        int pos = sb.indexOf("\\");
-        String s;
-
-        while (pos >= 0 && pos <= sb.length()) {
-            char c = sb.charAt(pos + 1);
-            switch (c) {
-                case '\\':
-                case '/':
-                case '"':
-                    sb.deleteCharAt(pos);
-                    break;
-                case 'b':
-                    sb.replace(pos, pos + 2, "\b");
-                    break;
-                case 'f':
-                    sb.replace(pos, pos + 2, "\f");
-                    break;
-                case 'n':
-                    sb.replace(pos, pos + 2, "\n");
-                    break;
-                case 'r':
-                    sb.replace(pos, pos + 2, "\r");
-                    break;
-                case 't':
-                    sb.replace(pos, pos + 2, "\t");
-                    break;
-                case 'u':
-                    s = sb.substring(pos + 2, pos + 6);
-                    c = (char) Integer.parseUnsignedInt(s, 16);
-                    sb.replace(pos, pos + 6, String.valueOf(c));
-                    break;
-            }
-            pos = sb.indexOf("\\", pos + 1);
+        if (_depth == _frames.length) {
+            _frames = Arrays.copyOf(_frames, _depth * 2);
+        }
+        ValueFrame frame = _frames[_depth];
+        if (frame == null) {
+            frame = new ValueFrame();
+            _frames[_depth] = frame;
         }
-        return sb.toString();
+        frame.reset(isobject);
+        _depth++;
     }
 
     private void setExpectStart() {
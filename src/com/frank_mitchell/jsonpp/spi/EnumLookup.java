@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.spi;
+
+/**
+ * Finds an enum constant by name in a range of characters.
+ *
+ * One instance per enum class is built on first use and cached for the
+ * life of the class. Lookup hashes the characters the same way as
+ * {@link String#hashCode()} into an open-addressed table, then compares
+ * characters in place, so no String is created.
+ *
+ * @author Frank Mitchell
+ */
+final class EnumLookup {
+
+    private static final ClassValue<EnumLookup> CACHE = new ClassValue<EnumLookup>() {
+        @Override
+        protected EnumLookup computeValue(Class<?> type) {
+            return new EnumLookup(type.getEnumConstants());
+        }
+    };
+
+    private final Object[] _constants;
+    private final String[] _names;
+    private final int[] _table;
+    private final int _mask;
+
+    private EnumLookup(Object[] constants) {
+        _constants = constants;
+        _names = new String[constants.length];
+
+        int size = 2;
+        while (size < constants.length * 2) {
+            size <<= 1;
+        }
+        _table = new int[size];
+        _mask = size - 1;
+
+        for (int i = 0; i < constants.length; i++) {
+            final String name = ((Enum<?>) constants[i]).name();
+            int slot = name.hashCode() & _mask;
+            while (_table[slot] != 0) {
+                slot = (slot + 1) & _mask;
+            }
+            _names[i] = name;
+            // zero marks an empty slot
+            _table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Get the lookup table for an enum class.
+     *
+     * @param type an enum class
+     * @return the (cached) lookup table
+     */
+    static EnumLookup forClass(Class<? extends Enum<?>> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Find the constant whose name matches a range of characters.
+     *
+     * @param s     characters to match
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the constant, or {@code null} if none matches
+     */
+    Object find(CharSequence s, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+
+        int slot = hash & _mask;
+        int entry;
+        while ((entry = _table[slot]) != 0) {
+            if (matches(_names[entry - 1], s, start, end)) {
+                return _constants[entry - 1];
+            }
+            slot = (slot + 1) & _mask;
+        }
+        return null;
+    }
+
+    private static boolean matches(String name, CharSequence s, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != s.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
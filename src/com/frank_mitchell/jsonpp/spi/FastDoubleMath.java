@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.spi;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal significand and exponent to the nearest {@code double}
+ * without creating any objects.
+ *
+ * This tries Clinger's fast path first, then the Eisel-Lemire algorithm
+ * as described in Daniel Lemire, "Number Parsing at a Gigabyte per Second"
+ * (2021). If neither can guarantee a correctly rounded result the methods
+ * return {@link Double#NaN}, and the caller must fall back to a slower
+ * conversion like {@link java.math.BigDecimal#doubleValue()}.
+ *
+ * @author Frank Mitchell
+ */
+final class FastDoubleMath {
+
+    /*
+     * Smallest power of ten that may produce a nonzero double
+     * from a 64-bit significand.
+     */
+    private static final int MIN_POWER = -342;
+
+    /*
+     * Largest power of ten that may produce a finite double.
+     */
+    private static final int MAX_POWER = 308;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /*
+     * Top and next 64 bits of 5^q for every q in [MIN_POWER, MAX_POWER],
+     * normalized so the most significant bit is set and always rounded
+     * down.  Computed once instead of shipping a 1300-entry literal table.
+     */
+    private static final long[] MANTISSA_64;
+    private static final long[] MANTISSA_128;
+
+    static {
+        final int size = MAX_POWER - MIN_POWER + 1;
+        final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        final BigInteger five = BigInteger.valueOf(5);
+
+        MANTISSA_64 = new long[size];
+        MANTISSA_128 = new long[size];
+
+        for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+            BigInteger m;
+            if (q >= 0) {
+                m = five.pow(q);
+            } else {
+                final BigInteger p = five.pow(-q);
+                m = BigInteger.ONE.shiftLeft(p.bitLength() + 128).divide(p);
+            }
+            final int shift = m.bitLength() - 128;
+            m = (shift > 0) ? m.shiftRight(shift) : m.shiftLeft(-shift);
+
+            MANTISSA_64[q - MIN_POWER] = m.shiftRight(64).longValue();
+            MANTISSA_128[q - MIN_POWER] = m.and(mask).longValue();
+        }
+    }
+
+    private FastDoubleMath() {
+    }
+
+    /**
+     * Compute (-1)^negative * significand * 10^power, correctly rounded.
+     *
+     * @param negative    whether the result is negative
+     * @param significand an unsigned 64-bit decimal significand
+     * @param power       a power of ten
+     * @return the nearest double, or {@link Double#NaN} if the fast
+     *         algorithms cannot decide
+     */
+    static double toDouble(boolean negative, long significand, int power) {
+        // Clinger's fast path: both significand and 10^|power| are
+        // exact doubles, so a single multiply or divide rounds correctly.
+        if (-22 <= power && power <= 22
+                && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            double d = (double) significand;
+            if (power < 0) {
+                d = d / POWERS_OF_TEN[-power];
+            } else {
+                d = d * POWERS_OF_TEN[power];
+            }
+            return negative ? -d : d;
+        }
+
+        if (significand == 0 || power < MIN_POWER) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (power > MAX_POWER) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        return eiselLemire(negative, significand, power);
+    }
+
+    private static double eiselLemire(boolean negative, long significand, int power) {
+        final long factor = MANTISSA_64[power - MIN_POWER];
+
+        // floor(power * log2(10)) plus bias and 64-bit normalization
+        final long exponent = (((152170L + 65536L) * power) >> 16) + 1024 + 63;
+
+        int lz = Long.numberOfLeadingZeros(significand);
+        final long digits = significand << lz;
+
+        long lower = digits * factor;
+        long upper = unsignedMultiplyHigh(digits, factor);
+
+        // If the low nine bits of upper are all ones, truncation error in
+        // the 64-bit factor might carry into the bits we keep.
+        if ((upper & 0x1FF) == 0x1FF
+                && Long.compareUnsigned(lower + digits, lower) < 0) {
+            final long factorLow = MANTISSA_128[power - MIN_POWER];
+            final long productLow = digits * factorLow;
+            final long productMiddle2 = unsignedMultiplyHigh(digits, factorLow);
+            final long productMiddle = lower + productMiddle2;
+            long productHigh = upper;
+            if (Long.compareUnsigned(productMiddle, lower) < 0) {
+                productHigh++;
+            }
+            if (productMiddle + 1 == 0 && (productHigh & 0x1FF) == 0x1FF
+                    && Long.compareUnsigned(productLow + digits, productLow) < 0) {
+                // still ambiguous
+                return Double.NaN;
+            }
+            upper = productHigh;
+            lower = productMiddle;
+        }
+
+        final long upperbit = upper >>> 63;
+        long mantissa = upper >>> (upperbit + 9);
+        lz += (int) (1 ^ upperbit);
+
+        // Exactly halfway between two doubles; round-to-even needs more work.
+        if (lower == 0 && (upper & 0x1FF) == 0 && (mantissa & 3) == 1) {
+            return Double.NaN;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+
+        if (mantissa >= (1L << 53)) {
+            mantissa = 1L << 52;
+            lz--;
+        }
+        mantissa &= ~(1L << 52);
+
+        final long realExponent = exponent - lz;
+        if (realExponent < 1 || realExponent > 2046) {
+            // subnormal or overflow; leave those to the slow path
+            return Double.NaN;
+        }
+
+        long bits = mantissa | (realExponent << 52);
+        if (negative) {
+            bits |= 1L << 63;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        // Math.unsignedMultiplyHigh() only exists in Java 18+
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
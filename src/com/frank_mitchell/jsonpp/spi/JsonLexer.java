@@ -42,9 +42,61 @@ interface JsonLexer {
 
     void next() throws IOException;
 
+    /*
+     * After TOKEN_OBJ_OPEN or TOKEN_ARR_OPEN, advance to the matching
+     * close token without checking or decoding anything in between.
+     * The token is TOKEN_ERROR if the input ends first.
+     */
+    void skipContainer() throws IOException;
+
     CharSequence getToken();
 
     int getTokenType();
-    
+
+    /*
+     * The following describe the last TOKEN_NUMBER as
+     * (-1)^negative * significand * 10^exponent, where the significand
+     * holds at most 19 significant digits as an unsigned long.
+     */
+
+    boolean isNegative();
+
+    long getSignificand();
+
+    int getSignificantDigits();
+
+    int getExponent();
+
+    /*
+     * False if nonzero digits were dropped from the significand
+     * or the exponent overflowed.
+     */
+    boolean isExact();
+
+    /*
+     * Count of calls to next(), so a reader over a partial string
+     * can tell that the lexer has moved on.
+     */
+    int getTokenCount();
+
+    /*
+     * The following manage TOKEN_STRING values, whose token is the
+     * decoded content without quotes.  Once a string reaches the limit
+     * the rest stays in the source: finishString() appends it to the
+     * token, readString() streams it instead, and next() skips it.
+     * After readString() the token holds only the part before the limit,
+     * and isStringStreamed() is true until the next string.
+     */
+
+    void setStringLimit(int limit);
+
+    boolean isStringPartial();
+
+    boolean isStringStreamed();
+
+    void finishString() throws IOException;
+
+    int readString(char[] buf, int off, int len) throws IOException;
+
     void close() throws IOException;
 }
\ No newline at end of file
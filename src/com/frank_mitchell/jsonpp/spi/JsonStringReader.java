@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.spi;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the value of the lexer's current string token.
+ *
+ * The reader first returns whatever the lexer has buffered, then decodes
+ * the rest of a partial string directly from the input. It fails once
+ * the lexer has moved on to another token.
+ *
+ * @author Frank Mitchell
+ */
+final class JsonStringReader extends Reader {
+
+    private final JsonLexer _lexer;
+    private final int _tokenCount;
+    private final CharSequence _prefix;
+    private final int _prefixEnd;
+    private int _prefixPos;
+    private boolean _closed;
+
+    JsonStringReader(JsonLexer lexer) {
+        _lexer = lexer;
+        _tokenCount = lexer.getTokenCount();
+        _prefix = lexer.getToken();
+        _prefixEnd = _prefix.length();
+        _prefixPos = 0;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (_closed) {
+            throw new IOException("Reader closed");
+        }
+        if (_lexer.getTokenCount() != _tokenCount) {
+            throw new IOException("Parser has moved past this string");
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        final int buffered = _prefixEnd - _prefixPos;
+        if (buffered > 0) {
+            final int count = Math.min(buffered, len);
+            for (int i = 0; i < count; i++) {
+                cbuf[off + i] = _prefix.charAt(_prefixPos + i);
+            }
+            _prefixPos += count;
+            return count;
+        }
+        return _lexer.readString(cbuf, off, len);
+    }
+
+    @Override
+    public void close() {
+        _closed = true;
+    }
+}
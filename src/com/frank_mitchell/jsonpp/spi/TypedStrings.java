@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.spi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Parses common string formats directly from a character buffer.
+ *
+ * Each method handles only the canonical form of its type and returns
+ * {@code null} for anything else, including out-of-range fields. Callers
+ * then fall back to the JDK parser on a String, which either accepts
+ * the less common form or throws the appropriate exception.
+ *
+ * @author Frank Mitchell
+ */
+final class TypedStrings {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private TypedStrings() {
+    }
+
+    /**
+     * Parse "yyyy-MM-dd".
+     *
+     * @param s     characters to parse
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the date, or {@code null} if not in the canonical format
+     */
+    static LocalDate parseLocalDate(CharSequence s, int start, int end) {
+        if (end - start != 10) {
+            return null;
+        }
+        final long epochDay = parseEpochDay(s, start);
+        if (epochDay == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Parse "yyyy-MM-ddTHH:mm:ss", an optional fraction of up to nine
+     * digits, and either "Z" or an offset "+HH:mm" / "-HH:mm".
+     *
+     * @param s     characters to parse
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the instant, or {@code null} if not in the canonical format
+     */
+    static Instant parseInstant(CharSequence s, int start, int end) {
+        if (end - start < 20) {
+            return null;
+        }
+        final long epochDay = parseEpochDay(s, start);
+        if (epochDay == Long.MIN_VALUE || s.charAt(start + 10) != 'T') {
+            return null;
+        }
+
+        final int hour = parseTwoDigits(s, start + 11);
+        final int minute = parseTwoDigits(s, start + 14);
+        final int second = parseTwoDigits(s, start + 17);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59
+                || s.charAt(start + 13) != ':' || s.charAt(start + 16) != ':') {
+            return null;
+        }
+
+        int pos = start + 19;
+        int nanos = 0;
+        if (s.charAt(pos) == '.') {
+            pos++;
+            int digits = 0;
+            while (pos < end && isDigit(s.charAt(pos))) {
+                if (++digits > 9) {
+                    return null;
+                }
+                nanos = nanos * 10 + (s.charAt(pos) - '0');
+                pos++;
+            }
+            if (digits == 0) {
+                return null;
+            }
+            while (digits++ < 9) {
+                nanos *= 10;
+            }
+        }
+
+        int offsetSeconds;
+        if (pos == end - 1 && s.charAt(pos) == 'Z') {
+            offsetSeconds = 0;
+        } else if (pos == end - 6 && s.charAt(pos + 3) == ':') {
+            final char sign = s.charAt(pos);
+            final int offHours = parseTwoDigits(s, pos + 1);
+            final int offMinutes = parseTwoDigits(s, pos + 4);
+            if ((sign != '+' && sign != '-')
+                    || offHours < 0 || offHours > 18
+                    || offMinutes < 0 || offMinutes > 59) {
+                return null;
+            }
+            offsetSeconds = offHours * 3600 + offMinutes * 60;
+            if (sign == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        } else {
+            return null;
+        }
+
+        final long seconds = epochDay * SECONDS_PER_DAY
+                + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    /**
+     * Parse "xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx" in hexadecimal.
+     *
+     * @param s     characters to parse
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the UUID, or {@code null} if not in the canonical format
+     */
+    static UUID parseUuid(CharSequence s, int start, int end) {
+        if (end - start != 36
+                || s.charAt(start + 8) != '-' || s.charAt(start + 13) != '-'
+                || s.charAt(start + 18) != '-' || s.charAt(start + 23) != '-') {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        int nibbles = 0;
+        for (int i = start; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            final int digit = Character.digit(c, 16);
+            if (digit < 0 || c > 'f') {
+                return null;
+            }
+            if (nibbles++ < 16) {
+                msb = (msb << 4) | digit;
+            } else {
+                lsb = (lsb << 4) | digit;
+            }
+        }
+        return new UUID(msb, lsb);
+    }
+
+    /*
+     * Parse "yyyy-MM-dd" at start to a count of days since 1970-01-01,
+     * or Long.MIN_VALUE if malformed or not a real date.
+     */
+    private static long parseEpochDay(CharSequence s, int start) {
+        final int century = parseTwoDigits(s, start);
+        final int yearOfCentury = parseTwoDigits(s, start + 2);
+        final int month = parseTwoDigits(s, start + 5);
+        final int day = parseTwoDigits(s, start + 8);
+
+        if (century < 0 || yearOfCentury < 0 || month < 1 || month > 12
+                || day < 1 || s.charAt(start + 4) != '-' || s.charAt(start + 7) != '-') {
+            return Long.MIN_VALUE;
+        }
+
+        final int year = century * 100 + yearOfCentury;
+        if (day > lengthOfMonth(year, month)) {
+            return Long.MIN_VALUE;
+        }
+
+        // Howard Hinnant's days_from_civil()
+        final int y = (month <= 2) ? year - 1 : year;
+        final int era = y / 400;
+        final int yoe = y - era * 400;
+        final int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097L + doe - 719_468L;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                final boolean leap = (year % 4 == 0)
+                        && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int parseTwoDigits(CharSequence s, int pos) {
+        final char tens = s.charAt(pos);
+        final char ones = s.charAt(pos + 1);
+        if (!isDigit(tens) || !isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -25,14 +25,38 @@ package com.frank_mitchell.jsonbb.test;
 
 import com.frank_mitchell.json.Json;
 import com.frank_mitchell.jsonbb.JsonArrayBuilder;
+import com.frank_mitchell.jsonbb.JsonBuilder;
+import com.frank_mitchell.jsonbb.JsonBuilderArena;
+import com.frank_mitchell.jsonbb.JsonBuilderFactory;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
+import com.frank_mitchell.jsonbb.JsonGenerator;
 import com.frank_mitchell.jsonbb.JsonObjectBuilder;
+import com.frank_mitchell.jsonbb.spi.DefaultJsonBuilderFactory;
+import com.frank_mitchell.codepoint.CodePointSink;
+import java.io.ByteArrayOutputStream;
 import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -67,4 +91,594 @@ public class JsonBaseBuilderTest {
         builder.writeTo(_writer);
         assertEquals("{}", _writer.toString());
     }    
+
+    @Test
+    public void testRecords() throws IOException {
+        JsonArrayBuilder builder = Json.getNewArray();
+        for (int i = 0; i < 3; i++) {
+            builder.addNewObject()
+                    .setNumber("id", i)
+                    .setString("name", "n" + i)
+                    .setBoolean("odd", i % 2 == 1);
+        }
+        builder.addNewObject().setNull("name").setNumber("id", 3);
+
+        builder.writeTo(_writer);
+        assertEquals("[{\"id\":0,\"name\":\"n0\",\"odd\":false},"
+                + "{\"id\":1,\"name\":\"n1\",\"odd\":true},"
+                + "{\"id\":2,\"name\":\"n2\",\"odd\":false},"
+                + "{\"name\":null,\"id\":3}]", _writer.toString());
+    }
+
+    @Test
+    public void testReplaceKeepsOrder() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        for (int i = 0; i < 12; i++) {
+            builder.setNumber("k" + i, i);
+        }
+        builder.setString("k0", "first").setString("k11", "last");
+
+        builder.writeTo(_writer);
+        assertEquals("{\"k0\":\"first\",\"k1\":1,\"k2\":2,\"k3\":3,"
+                + "\"k4\":4,\"k5\":5,\"k6\":6,\"k7\":7,\"k8\":8,"
+                + "\"k9\":9,\"k10\":10,\"k11\":\"last\"}",
+                _writer.toString());
+    }
+
+    @Test
+    public void testManyDistinctKeys() throws IOException {
+        JsonArrayBuilder builder = Json.getNewArray();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            builder.addNewObject().setNumber("u" + i, i).setTrue("x");
+            expected.append(i > 0 ? "," : "")
+                    .append("{\"u").append(i).append("\":").append(i)
+                    .append(",\"x\":true}");
+        }
+
+        builder.writeTo(_writer);
+        assertEquals(expected.append("]").toString(), _writer.toString());
+    }
+
+    @Test
+    public void testOverwriteChangesType() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        builder.setLong("a", 1).setString("b", "x").setDouble("c", 0.5)
+                .setNull("d").setNewArray("e").addLong(2);
+        builder.setString("a", "y").setLong("b", -3).setTrue("c")
+                .setDouble("d", 1e21).setFalse("e");
+
+        builder.writeTo(_writer);
+        assertEquals("{\"a\":\"y\",\"b\":-3,\"c\":true,\"d\":1.0E21,\"e\":false}",
+                _writer.toString());
+    }
+
+    @Test
+    public void testWideObject() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        for (int i = 0; i < 50; i++) {
+            builder.setLong("k" + i, i);
+        }
+        for (int i = 0; i < 50; i += 2) {
+            builder.setString("k" + i, "s" + i);
+        }
+
+        builder.writeTo(_writer);
+        StringBuilder expected = new StringBuilder("{");
+        for (int i = 0; i < 50; i++) {
+            expected.append(i > 0 ? "," : "").append("\"k").append(i).append("\":");
+            if (i % 2 == 0) {
+                expected.append("\"s").append(i).append("\"");
+            } else {
+                expected.append(i);
+            }
+        }
+        assertEquals(expected.append("}").toString(), _writer.toString());
+    }
+
+    @Test
+    public void testPackedArrays() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        JsonArrayBuilder longs = builder.setNewArray("l");
+        JsonArrayBuilder doubles = builder.setNewArray("d");
+        JsonArrayBuilder strings = builder.setNewArray("s");
+        StringBuilder expected = new StringBuilder();
+        StringBuilder l = new StringBuilder();
+        StringBuilder d = new StringBuilder();
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            longs.addLong(i * 7L);
+            doubles.addDouble(i + 0.5);
+            strings.addString(i % 3 == 0 ? null : "s" + i);
+            String sep = (i > 0) ? "," : "";
+            l.append(sep).append(i * 7L);
+            d.append(sep).append(i + 0.5);
+            s.append(sep).append(i % 3 == 0 ? "null" : "\"s" + i + "\"");
+        }
+        expected.append("{\"l\":[").append(l).append("],\"d\":[").append(d)
+                .append("],\"s\":[").append(s).append("]}");
+
+        builder.writeTo(_writer);
+        assertEquals(expected.toString(), _writer.toString());
+    }
+
+    @Test
+    public void testMixedAfterPacked() throws IOException {
+        JsonArrayBuilder builder = Json.getNewArray();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            builder.addLong(i);
+            expected.append(i > 0 ? "," : "").append(i);
+        }
+        builder.addDouble(0.25).addString("x").addNull().addTrue()
+                .addNumber(new BigDecimal("1.10")).addLong(-1)
+                .addNewArray().addFalse();
+        expected.append(",0.25,\"x\",null,true,1.10,-1,[false]]");
+
+        builder.writeTo(_writer);
+        assertEquals(expected.toString(), _writer.toString());
+    }
+
+    @Test
+    public void testArenaReuse() throws IOException {
+        JsonBuilderArena arena = Json.getArena();
+        assertSame(arena, Json.getArena());
+
+        JsonObjectBuilder first = arena.getNewObject();
+        first.setString("a", "x").setNewArray("b").addLong(1).addNewObject().setTrue("c");
+        first.writeTo(_writer);
+        assertEquals("{\"a\":\"x\",\"b\":[1,{\"c\":true}]}", _writer.toString());
+
+        arena.reset();
+        _writer.reset();
+
+        JsonObjectBuilder second = arena.getNewObject();
+        assertSame(first, second);
+        assertNull(second.getParent());
+        JsonArrayBuilder array = second.setDouble("z", 0.5).setNewArray("y");
+        assertSame(second, array.getParent());
+        array.addString("s").addNull();
+        second.writeTo(_writer);
+        assertEquals("{\"z\":0.5,\"y\":[\"s\",null]}", _writer.toString());
+        arena.reset();
+    }
+
+    @Test
+    public void testFrozen() throws IOException {
+        JsonObjectBuilder config = new DefaultJsonBuilderFactory(JsonEscaping.UNICODE)
+                .getNewObject();
+        config.setString("name", "caf\u00e9").setNewArray("v").addLong(1).addDouble(0.5);
+        JsonFrozenValue frozen = config.freeze();
+        config.setNull("late");
+        assertTrue(frozen.isObject());
+        assertEquals(28, frozen.getByteLength());
+
+        JsonArrayBuilder builder = Json.getNewArray();
+        builder.addFrozen(frozen).addNewObject().setFrozen("c", frozen).setFrozen("n", null);
+        String expected = "[{\"name\":\"caf\u00e9\",\"v\":[1,0.5]},"
+                + "{\"c\":{\"name\":\"caf\u00e9\",\"v\":[1,0.5]},\"n\":null}]";
+
+        builder.writeTo(_writer);
+        assertEquals(expected, _writer.toString());
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), streamed(builder));
+
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        builder.writeTo(buffer);
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, buffer.position());
+    }
+
+    @Test
+    public void testLargeFrozen() throws IOException {
+        JsonArrayBuilder big = bigArray();
+        byte[] bigBytes = utf8(big);
+        JsonFrozenValue frozen = big.freeze();
+        assertTrue(frozen.isArray());
+        assertEquals(bigBytes.length, frozen.getByteLength());
+
+        JsonObjectBuilder builder = Json.getNewObject();
+        builder.setLong("a", 1).setFrozen("big", frozen).setTrue("z");
+        String expected = "{\"a\":1,\"big\":"
+                + new String(bigBytes, StandardCharsets.UTF_8) + ",\"z\":true}";
+
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), streamed(builder));
+        builder.writeTo(_writer);
+        assertEquals(expected, _writer.toString());
+
+        try {
+            frozen.writeTo(ByteBuffer.allocate(10));
+            fail("expected overflow");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDataKeyedObjects() throws IOException {
+        // each object has thousands of keys never seen before; sharing
+        // a shape per key would keep hundreds of megabytes alive
+        for (int round = 0; round < 20; round++) {
+            JsonObjectBuilder builder = Json.getNewObject();
+            for (int i = 0; i < 5000; i++) {
+                builder.setLong("r" + round + "k" + i, i);
+            }
+            for (int i = 0; i < 5000; i += 3) {
+                builder.setString("r" + round + "k" + i, "s");
+            }
+            StringBuilder expected = new StringBuilder("{");
+            for (int i = 0; i < 5000; i++) {
+                expected.append(i > 0 ? "," : "")
+                        .append("\"r").append(round).append('k').append(i).append("\":")
+                        .append(i % 3 == 0 ? "\"s\"" : String.valueOf(i));
+            }
+            StringBuilder actual = new StringBuilder();
+            builder.writeTo(actual);
+            assertEquals(expected.append("}").toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void testArenasPerFactory() throws IOException {
+        JsonBuilderArena mine = new DefaultJsonBuilderFactory().getArena();
+        JsonBuilderArena other = new DefaultJsonBuilderFactory().getArena();
+        assertNotSame(mine, other);
+
+        JsonObjectBuilder builder = mine.getNewObject().setLong("a", 1);
+        other.getNewObject().setLong("b", 2);
+        other.reset();
+        other.getNewObject().setLong("c", 3);
+
+        builder.writeTo(_writer);
+        assertEquals("{\"a\":1}", _writer.toString());
+        mine.reset();
+        other.reset();
+    }
+
+    @Test
+    public void testArenaTrim() {
+        JsonBuilderArena arena = new DefaultJsonBuilderFactory().getArena();
+        JsonArrayBuilder root = arena.getNewArray();
+        for (int i = 0; i < 3000; i++) {
+            root.addNewObject().setNewArray("a").addNewObject();
+        }
+        arena.reset();
+        assertEquals("DefaultJsonBuilderArena[0/1024 objects, 0/1024 arrays]",
+                arena.toString());
+    }
+
+    @Test
+    public void testDefaultArena() throws IOException {
+        JsonBuilderArena arena = new MinimalFactory().getArena();
+        JsonObjectBuilder first = arena.getNewObject();
+        first.setLong("a", 1);
+        arena.reset();
+        JsonArrayBuilder second = arena.getNewArray();
+        second.addTrue();
+
+        first.writeTo(_writer);
+        second.writeTo(_writer);
+        assertEquals("{\"a\":1}[true]", _writer.toString());
+    }
+
+    @Test
+    public void testDefaultChannelGenerator() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonGenerator generator = new MinimalFactory()
+                .createGenerator(Channels.newChannel(output));
+        generator.startArray().value("a").value(1L).endArray().flush();
+
+        assertArrayEquals("[\"a\",1]".getBytes(StandardCharsets.UTF_8),
+                output.toByteArray());
+    }
+
+    @Test
+    public void testDefaultTemplate() {
+        try {
+            new MinimalFactory().createTemplate();
+            fail("no templates");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testManyKeyLists() throws IOException {
+        // more distinct key lists than the shared shapes can hold
+        JsonArrayBuilder builder = Json.getNewArray();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 40_000; i++) {
+            builder.addNewObject().setLong("a" + i, i).setLong("b", -i);
+            expected.append(i > 0 ? "," : "")
+                    .append("{\"a").append(i).append("\":").append(i)
+                    .append(",\"b\":").append(-i).append('}');
+        }
+
+        builder.writeTo(_writer);
+        assertEquals(expected.append("]").toString(), _writer.toString());
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        builder.setString("q\"b\\", "tab\tnl\n\u0001/\u007f")
+                .setString("caf\u00e9", "\u20ac\ud83d\ude00\ud800");
+
+        builder.writeTo(_writer);
+        assertEquals("{\"q\\\"b\\\\\":\"tab\\tnl\\n\\u0001/\\u007f\","
+                + "\"caf\\u00e9\":\"\\u20ac\\ud83d\\ude00\\ud800\"}",
+                _writer.toString());
+    }
+
+    @Test
+    public void testUnicodeEscaping() throws IOException {
+        JsonArrayBuilder builder =
+                new DefaultJsonBuilderFactory(JsonEscaping.UNICODE).getNewArray();
+        builder.addString("caf\u00e9 \u20ac\ud83d\ude00")
+                .addNewObject().setString("\ud800\u00e9", "\"");
+        String expected = "[\"caf\u00e9 \u20ac\ud83d\ude00\","
+                + "{\"\\ud800\u00e9\":\"\\\"\"}]";
+
+        builder.writeTo(_writer);
+        assertEquals(expected, _writer.toString());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.writeTo(output);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), output.toByteArray());
+    }
+
+    @Test
+    public void testPrimitiveNumbers() throws IOException {
+        JsonObjectBuilder builder = Json.getNewObject();
+        builder.setLong("min", Long.MIN_VALUE).setDouble("tenth", 0.1)
+                .setNewArray("a")
+                .addLong(0).addLong(-42).addDouble(1.0).addDouble(-0.0)
+                .addDouble(1e7).addDouble(1.5e-3).addDouble(2.5e-4)
+                .addDouble(Double.MIN_VALUE).addDouble(Double.MAX_VALUE)
+                .addDouble(Double.NaN).addDouble(Double.NEGATIVE_INFINITY)
+                .addNumber(Double.valueOf(123.25)).addNumber(Integer.valueOf(7));
+
+        builder.writeTo(_writer);
+        assertEquals("{\"min\":-9223372036854775808,\"tenth\":0.1,"
+                + "\"a\":[0,-42,1.0,-0.0,1.0E7,0.0015,2.5E-4,4.9E-324,"
+                + "1.7976931348623157E308,null,null,123.25,7]}",
+                _writer.toString());
+    }
+
+    @Test
+    public void testShortestDoubles() throws IOException {
+        Random random = new Random(20260101L);
+        for (int i = 0; i < 10_000; i++) {
+            double d = (i % 2 == 0)
+                    ? Double.longBitsToDouble(random.nextLong())
+                    : random.nextInt(1_000_000) / Math.pow(10, random.nextInt(12));
+            if (!Double.isFinite(d)) {
+                continue;
+            }
+            StringBuilder result = new StringBuilder();
+            Json.getNewArray().addDouble(d).writeTo(result);
+            String text = result.substring(1, result.length() - 1);
+
+            assertEquals(text, d, Double.parseDouble(text), 0.0);
+            assertTrue(text, text.length() <= Double.toString(d).length());
+        }
+    }
+
+    private static JsonArrayBuilder bigArray() {
+        JsonArrayBuilder builder = Json.getNewArray();
+        for (int i = 0; i < 5000; i++) {
+            builder.addNewArray().addNumber(i).addTrue().addNull()
+                    .addNewObject().setNumber("n", -i);
+        }
+        return builder;
+    }
+
+    @Test
+    public void testChunkedWriter() throws IOException {
+        final int[] writes = new int[1];
+        final int[] largest = new int[1];
+        Writer counter = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                writes[0]++;
+                largest[0] = Math.max(largest[0], len);
+                _writer.write(cbuf, off, len);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        JsonArrayBuilder builder = bigArray();
+        StringBuilder expected = new StringBuilder();
+        builder.writeTo(expected);
+
+        builder.writeTo(counter);
+        assertEquals(expected.toString(), _writer.toString());
+        assertTrue("written in chunks", writes[0] > 10);
+        assertTrue("chunks are bounded", largest[0] < 5000);
+    }
+
+    @Test
+    public void testChunkedSink() throws IOException {
+        final StringBuilder result = new StringBuilder();
+        CodePointSink sink = new CodePointSink() {
+            @Override
+            public void putCodePoint(int cp) {
+                result.appendCodePoint(cp);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        JsonArrayBuilder builder = bigArray();
+        StringBuilder expected = new StringBuilder();
+        builder.writeTo(expected);
+
+        builder.writeTo(sink);
+        assertEquals(expected.toString(), result.toString());
+    }
+
+    private static byte[] streamed(JsonBuilder builder) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.writeTo(output);
+        return output.toByteArray();
+    }
+
+    private static byte[] utf8(JsonArrayBuilder builder) {
+        StringBuilder expected = new StringBuilder();
+        builder.writeTo(expected);
+        return expected.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testOutputStream() throws IOException {
+        JsonArrayBuilder builder = bigArray();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        builder.writeTo(output);
+        assertArrayEquals(utf8(builder), output.toByteArray());
+
+        // again, reusing the same scratch buffers
+        output.reset();
+        builder.writeTo(output);
+        assertArrayEquals(utf8(builder), output.toByteArray());
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException {
+        JsonArrayBuilder builder = bigArray();
+        byte[] expected = utf8(builder);
+
+        for (ByteBuffer buffer : new ByteBuffer[] {
+                ByteBuffer.allocate(expected.length + 2),
+                ByteBuffer.allocateDirect(expected.length + 2)}) {
+            buffer.put((byte) '>');
+            builder.writeTo(buffer);
+            assertEquals(expected.length + 1, buffer.position());
+            buffer.flip().get();
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testByteBufferOverflow() throws IOException {
+        JsonArrayBuilder builder = bigArray();
+        byte[] expected = utf8(builder);
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length - 1);
+
+        try {
+            builder.writeTo(buffer);
+            fail("no room");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+        byte[] actual = Arrays.copyOf(buffer.array(), buffer.position());
+        assertArrayEquals(Arrays.copyOf(expected, actual.length), actual);
+    }
+
+    @Test
+    public void testDefaultByteOutput() throws IOException {
+        String text = "[\"caf\u00e9 \u20ac\"]";
+        byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+        JsonBuilder builder = new TextBuilder(text);
+
+        assertArrayEquals(expected, streamed(builder));
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+        builder.writeTo(buffer);
+        assertArrayEquals(expected, buffer.array());
+
+        ByteBuffer small = ByteBuffer.allocate(5);
+        try {
+            builder.writeTo(small);
+            fail("no room");
+        } catch (BufferOverflowException e) {
+            // expected
+        }
+        assertArrayEquals(Arrays.copyOf(expected, 5), small.array());
+        assertEquals(5, small.position());
+    }
+
+    @Test
+    public void testDefaultFreeze() {
+        try {
+            new TextBuilder("[]").freeze();
+            fail("no frozen values");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    /*
+     * A factory that implements only what it must.
+     */
+    private static class MinimalFactory implements JsonBuilderFactory {
+        @Override
+        public JsonArrayBuilder getNewArray() {
+            return Json.getNewArray();
+        }
+
+        @Override
+        public JsonObjectBuilder getNewObject() {
+            return Json.getNewObject();
+        }
+
+        @Override
+        public JsonGenerator createGenerator(OutputStream output) {
+            return Json.createGenerator(output);
+        }
+    }
+
+    /*
+     * A builder of fixed text that implements only what it must.
+     */
+    private static class TextBuilder implements JsonBuilder {
+        private final String _text;
+
+        TextBuilder(String text) {
+            _text = text;
+        }
+
+        @Override
+        public boolean isArray() {
+            return _text.startsWith("[");
+        }
+
+        @Override
+        public boolean isObject() {
+            return _text.startsWith("{");
+        }
+
+        @Override
+        public JsonBuilder getParent() {
+            return null;
+        }
+
+        @Override
+        public void writeTo(StringBuilder builder) {
+            builder.append(_text);
+        }
+
+        @Override
+        public void writeTo(Writer writer) throws IOException {
+            writer.write(_text);
+        }
+
+        @Override
+        public void writeTo(CodePointSink sink) throws IOException {
+            for (int cp : _text.codePoints().toArray()) {
+                sink.putCodePoint(cp);
+            }
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.test;
+
+import com.frank_mitchell.json.Json;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.JsonGenerator;
+import com.frank_mitchell.jsonbb.spi.DefaultJsonBuilderFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonGeneratorTest {
+
+    ByteArrayOutputStream _output;
+    JsonGenerator _gen;
+
+    @Before
+    public void setUp() throws Exception {
+        _output = new ByteArrayOutputStream();
+        _gen = Json.createGenerator(_output);
+    }
+
+    private String output() throws IOException {
+        _gen.flush();
+        return new String(_output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testNested() throws IOException {
+        _gen.startObject()
+                .key("id").value(42L)
+                .key("tags").startArray().value("a").nullValue().value(true)
+                .startObject().endObject().startArray().endArray().endArray()
+                .key("price").value(9.5)
+                .key("n").value(new BigDecimal("1.10"))
+                .endObject();
+
+        assertEquals(0, _gen.getDepth());
+        assertEquals("{\"id\":42,\"tags\":[\"a\",null,true,{},[]],"
+                + "\"price\":9.5,\"n\":1.10}", output());
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        _gen.startArray()
+                .value(0L).value(-7L).value(Long.MIN_VALUE).value(Long.MAX_VALUE)
+                .value(Double.NaN).value(Double.NEGATIVE_INFINITY)
+                .value(Integer.valueOf(-12)).value(Float.valueOf(Float.NaN))
+                .value((Number) null)
+                .value(0.1).value(1e-7).value(Double.valueOf(-2.5))
+                .endArray();
+
+        assertEquals("[0,-7,-9223372036854775808,9223372036854775807,"
+                + "null,null,-12,null,null,0.1,1.0E-7,-2.5]", output());
+    }
+
+    private void useUnicode() {
+        _gen = new DefaultJsonBuilderFactory(JsonEscaping.UNICODE).createGenerator(_output);
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        useUnicode();
+        _gen.startObject()
+                .key("q\"b\\").value("tab\tnl\n\u0001/")
+                .key("caf\u00e9").value("\u20ac\ud83d\ude00\ud800")
+                .endObject();
+
+        assertEquals("{\"q\\\"b\\\\\":\"tab\\tnl\\n\\u0001/\","
+                + "\"caf\u00e9\":\"\u20ac\ud83d\ude00\\ud800\"}", output());
+    }
+
+    @Test
+    public void testAsciiEscapes() throws IOException {
+        _gen.value("caf\u00e9 \u20ac\ud83d\ude00\u007f");
+
+        assertEquals("\"caf\\u00e9 \\u20ac\\ud83d\\ude00\\u007f\"", output());
+    }
+
+    @Test
+    public void testLargeOutput() throws IOException {
+        useUnicode();
+        final StringBuilder expected = new StringBuilder("[");
+        _gen.startArray();
+        for (int i = 0; i < 5000; i++) {
+            _gen.value("item " + i + " \u00e9");
+            expected.append(i > 0 ? "," : "").append("\"item ")
+                    .append(i).append(" \u00e9\"");
+        }
+        _gen.endArray();
+
+        assertEquals(expected.append("]").toString(), output());
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        _gen = Json.createGenerator(Channels.newChannel(_output));
+        _gen.startArray().value(1L).value("x").endArray().close();
+
+        assertEquals("[1,\"x\"]", new String(_output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testInvalidSequences() throws IOException {
+        _gen.startObject();
+        try {
+            _gen.value("no key");
+            fail("value without key");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            _gen.endArray();
+            fail("end array in object");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        _gen.key("a");
+        try {
+            _gen.key("b");
+            fail("two keys");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            _gen.endObject();
+            fail("key without value");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        _gen.startArray().endArray().endObject();
+        try {
+            _gen.value(1L);
+            fail("second top-level value");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals("{\"a\":[]}", output());
+    }
+
+    @Test
+    public void testNullKey() throws IOException {
+        _gen.startObject().key("a").value(1L);
+        try {
+            _gen.key(null);
+            fail("null key");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        _gen.key("b").value(2L).endObject();
+        assertEquals("{\"a\":1,\"b\":2}", output());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.test;
+
+import com.frank_mitchell.json.Json;
+import com.frank_mitchell.jsonbb.JsonArrayBuilder;
+import com.frank_mitchell.jsonbb.JsonFrozenValue;
+import com.frank_mitchell.jsonbb.JsonTemplate;
+import com.frank_mitchell.jsonbb.JsonTemplate.Hole;
+import com.frank_mitchell.jsonbb.JsonTemplateCompiler;
+import com.frank_mitchell.jsonbb.JsonTemplateWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonTemplateTest {
+
+    ByteArrayOutputStream _output;
+    JsonTemplate _template;
+
+    @Before
+    public void setUp() throws Exception {
+        _output = new ByteArrayOutputStream();
+        _template = Json.createTemplate()
+                .startObject()
+                .key("status").value("ok")
+                .key("id").hole(Hole.LONG)
+                .key("user").startObject()
+                .key("name").hole(Hole.STRING)
+                .key("score").hole(Hole.DOUBLE)
+                .endObject()
+                .key("items").hole(Hole.VALUE)
+                .key("v").value(2L)
+                .endObject()
+                .compile();
+    }
+
+    private String output(JsonTemplateWriter writer) throws IOException {
+        writer.flush();
+        return new String(_output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testHoles() {
+        assertEquals(4, _template.getHoleCount());
+        assertEquals(Hole.LONG, _template.getHole(0));
+        assertEquals(Hole.STRING, _template.getHole(1));
+        assertEquals(Hole.DOUBLE, _template.getHole(2));
+        assertEquals(Hole.VALUE, _template.getHole(3));
+    }
+
+    @Test
+    public void testRender() throws IOException {
+        JsonTemplateWriter writer = _template.createWriter(_output);
+        JsonArrayBuilder items = Json.getNewArray().addLong(1).addString("two");
+
+        writer.fillLong(42).fillString("J\u00f6 \"Q\"").fillDouble(0.5).fillValue(items);
+        assertEquals(0, writer.getNextHole());
+        writer.fillLong(-1).fillString(null).fillDouble(Double.NaN);
+        assertEquals(3, writer.getNextHole());
+        writer.fillValue((JsonArrayBuilder) null);
+
+        assertEquals("{\"status\":\"ok\",\"id\":42,\"user\":{\"name\":\"J\\u00f6 \\\"Q\\\"\","
+                + "\"score\":0.5},\"items\":[1,\"two\"],\"v\":2}"
+                + "{\"status\":\"ok\",\"id\":-1,\"user\":{\"name\":null,"
+                + "\"score\":null},\"items\":null,\"v\":2}", output(writer));
+    }
+
+    @Test
+    public void testFrozenToChannel() throws IOException {
+        JsonFrozenValue items = Json.getNewObject().setTrue("all").freeze();
+        JsonTemplateWriter writer = _template.createWriter(Channels.newChannel(_output));
+
+        writer.fillLong(7).fillString("x").fillDouble(1e100).fillValue(items);
+
+        assertEquals("{\"status\":\"ok\",\"id\":7,\"user\":{\"name\":\"x\","
+                + "\"score\":1.0E100},\"items\":{\"all\":true},\"v\":2}", output(writer));
+    }
+
+    @Test
+    public void testWrongHole() throws IOException {
+        JsonTemplateWriter writer = _template.createWriter(_output);
+        try {
+            writer.fillString("oops");
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, writer.getNextHole());
+        assertEquals("", output(writer));
+    }
+
+    @Test
+    public void testIncompleteSkeleton() throws IOException {
+        JsonTemplateCompiler compiler = Json.createTemplate();
+        compiler.startArray().hole(Hole.LONG);
+        try {
+            compiler.compile();
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            compiler.key("k");
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(1, compiler.endArray().compile().getHoleCount());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.test;
+
+import com.frank_mitchell.jsonbb.JsonArrayBuilder;
+import com.frank_mitchell.jsonbb.JsonEscaping;
+import com.frank_mitchell.jsonbb.spi.DefaultJsonBuilderFactory;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * Compares the table-driven string escaper with the character-at-a-time
+ * loop it replaced.
+ *
+ * Run with {@code java -cp build/classes:build/test/classes:lib/codepoint.jar
+ * com.frank_mitchell.jsonbb.test.StringEscapeBenchmark}. Each variant
+ * writes the same array of strings to a {@link StringBuilder}; the
+ * numbers are best-of-N wall clock times after warming up, which is
+ * cruder than a harness like JMH but enough to show the difference.
+ */
+public final class StringEscapeBenchmark {
+
+    private static final int STRINGS = 10_000;
+    private static final int WARMUP = 50;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) {
+        run("ASCII text", strings(0.0));
+        run("mostly ASCII", strings(0.02));
+        run("mostly non-ASCII", strings(0.8));
+    }
+
+    private static void run(String label, String[] strings) {
+        final JsonArrayBuilder ascii = new DefaultJsonBuilderFactory(JsonEscaping.ASCII).getNewArray();
+        final JsonArrayBuilder unicode = new DefaultJsonBuilderFactory(JsonEscaping.UNICODE).getNewArray();
+        for (String s : strings) {
+            ascii.addString(s);
+            unicode.addString(s);
+        }
+
+        System.out.println(label + ":");
+        report("old loop", () -> {
+            final StringBuilder b = new StringBuilder();
+            b.append('[');
+            for (int i = 0; i < strings.length; i++) {
+                if (i > 0) {
+                    b.append(',');
+                }
+                oldAppendJsonString(b, strings[i]);
+            }
+            return b.append(']').length();
+        });
+        report("table, ASCII", () -> {
+            final StringBuilder b = new StringBuilder();
+            ascii.writeTo(b);
+            return b.length();
+        });
+        report("table, UNICODE", () -> {
+            final StringBuilder b = new StringBuilder();
+            unicode.writeTo(b);
+            return b.length();
+        });
+    }
+
+    private interface Task {
+        int run();
+    }
+
+    private static void report(String label, Task task) {
+        int chars = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            chars = task.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long start = System.nanoTime();
+            chars += task.run() & 1;
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("  %-16s %8.1f us  %8d chars%n", label, best / 1000.0, chars);
+    }
+
+    private static String[] strings(double nonAscii) {
+        final Random random = new Random(42);
+        final String[] result = new String[STRINGS];
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < STRINGS; i++) {
+            b.setLength(0);
+            final int len = 8 + random.nextInt(64);
+            for (int j = 0; j < len; j++) {
+                final double r = random.nextDouble();
+                if (r < nonAscii) {
+                    b.append((char) (0xC0 + random.nextInt(0x200)));
+                } else if (r < nonAscii + 0.01) {
+                    b.append("\"\\\n".charAt(random.nextInt(3)));
+                } else {
+                    b.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            result[i] = b.toString();
+        }
+        return result;
+    }
+
+    /*
+     * The previous escaper, with its two bugs fixed so that it produces
+     * the same output: it appended code points as ints, and fell through
+     * from the quotation mark to the backslash.
+     */
+    private static void oldAppendJsonString(StringBuilder b, CharSequence str) {
+        b.append("\"");
+        PrimitiveIterator.OfInt iter = str.chars().iterator();
+        while (iter.hasNext()) {
+            final int c = iter.nextInt();
+            switch (c) {
+                case '\"':
+                    b.append("\\\"");
+                    break;
+                case '\\':
+                    b.append("\\\\");
+                    break;
+                case '\n':
+                    b.append("\\n");
+                    break;
+                default:
+                    if (c <= 0x7F && !Character.isISOControl(c)) {
+                        b.append((char) c);
+                    } else {
+                        b.append("\\u");
+                        final String hex = Integer.toHexString(c);
+                        for (int i = hex.length(); i < 4; i++) {
+                            b.append('0');
+                        }
+                        b.append(hex);
+                    }
+                    break;
+            }
+        }
+        b.append("\"");
+    }
+}
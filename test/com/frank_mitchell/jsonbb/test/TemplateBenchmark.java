@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonbb.test;
+
+import com.frank_mitchell.json.Json;
+import com.frank_mitchell.jsonbb.JsonObjectBuilder;
+import com.frank_mitchell.jsonbb.JsonTemplate;
+import com.frank_mitchell.jsonbb.JsonTemplate.Hole;
+import com.frank_mitchell.jsonbb.JsonTemplateWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Compares writing a fixed-shape envelope from a template with building
+ * and writing a tree of builders for each document.
+ *
+ * Run with {@code java -cp build/classes:build/test/classes:lib/codepoint.jar
+ * com.frank_mitchell.jsonbb.test.TemplateBenchmark}. Each variant writes
+ * the same documents to a reused byte stream; the numbers are best-of-N
+ * wall clock times after warming up.
+ */
+public final class TemplateBenchmark {
+
+    private static final int DOCUMENTS = 10_000;
+    private static final int WARMUP = 50;
+    private static final int ROUNDS = 50;
+
+    private static final String[] NAMES = {"alpha", "beta", "gamma", "delta"};
+
+    public static void main(String[] args) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(1 << 20);
+
+        final JsonTemplate template = Json.createTemplate()
+                .startObject()
+                .key("status").value("ok")
+                .key("version").value(3L)
+                .key("server").value("api-eu-west-1")
+                .key("request").startObject()
+                .key("id").hole(Hole.LONG)
+                .key("user").hole(Hole.STRING)
+                .key("elapsed").hole(Hole.DOUBLE)
+                .endObject()
+                .key("flags").startArray().value(true).value(false).nullValue().endArray()
+                .endObject()
+                .compile();
+        final JsonTemplateWriter writer = template.createWriter(output);
+
+        report("builder tree", () -> {
+            output.reset();
+            for (int i = 0; i < DOCUMENTS; i++) {
+                final JsonObjectBuilder b = Json.getNewObject();
+                b.setString("status", "ok").setLong("version", 3)
+                        .setString("server", "api-eu-west-1")
+                        .setNewObject("request").setLong("id", i)
+                        .setString("user", NAMES[i & 3]).setDouble("elapsed", i * 0.25);
+                b.setNewArray("flags").addTrue().addFalse().addNull();
+                b.writeTo(output);
+            }
+            return output.size();
+        });
+        report("template", () -> {
+            output.reset();
+            for (int i = 0; i < DOCUMENTS; i++) {
+                writer.fillLong(i).fillString(NAMES[i & 3]).fillDouble(i * 0.25);
+            }
+            writer.flush();
+            return output.size();
+        });
+    }
+
+    private interface Task {
+        int run() throws IOException;
+    }
+
+    private static void report(String label, Task task) throws IOException {
+        int bytes = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            bytes = task.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long start = System.nanoTime();
+            bytes += task.run() & 1;
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("  %-16s %8.1f us  %8d bytes%n", label, best / 1000.0, bytes);
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNotNull;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.bind.JsonBindException;
+import com.frank_mitchell.jsonpp.bind.JsonBinder;
+import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Test;
+
+public class JsonBinderTest {
+
+    public enum Size {
+        SMALL, LARGE
+    }
+
+    public static class Item {
+        private String _unused;
+        private String name;
+        private int count;
+        private double price;
+        private boolean available = true;
+        private Size size;
+        private long[] codes;
+        private LocalDate since;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String value) {
+            name = "set:" + value;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public Size getSize() {
+            return size;
+        }
+
+        public long[] getCodes() {
+            return codes;
+        }
+
+        public LocalDate getSince() {
+            return since;
+        }
+    }
+
+    public static class Order {
+        public String id;
+        public List<Item> items;
+        public Map<String, BigDecimal> totals;
+        public transient String ignored;
+        public Object extra;
+    }
+
+    public static class Node {
+        public int value;
+        public Node left;
+        public Node right;
+    }
+
+    private static JsonPullParser parser(String json) throws IOException {
+        return new DefaultJsonPullParserFactory().createParser(new StringReader(json));
+    }
+
+    @Test
+    public void bindPojo() throws IOException {
+        final Order order = JsonBinder.forClass(Order.class).read(parser("{"
+                + "\"id\": \"A-1\", \"unknown\": {\"x\": [1, 2]},"
+                + "\"items\": [{\"name\": \"pen\", \"count\": 3, \"price\": 1.25,"
+                + "  \"available\": false, \"size\": \"SMALL\", \"codes\": [7, 8],"
+                + "  \"since\": \"2026-10-19\"},"
+                + " {\"count\": null, \"name\": \"ink\"}],"
+                + "\"totals\": {\"net\": 3.75, \"tax\": 0.5},"
+                + "\"ignored\": \"x\", \"extra\": [true, null, {\"k\": \"v\"}]"
+                + "}"));
+
+        assertEquals("id", "A-1", order.id);
+        assertEquals("items", 2, order.items.size());
+
+        final Item pen = order.items.get(0);
+        assertEquals("setter", "set:pen", pen.getName());
+        assertEquals("count", 3, pen.getCount());
+        assertEquals("price", 1.25, pen.getPrice(), 0.0);
+        assertEquals("available", false, pen.isAvailable());
+        assertSame("size", Size.SMALL, pen.getSize());
+        assertArrayEquals("codes", new long[]{7, 8}, pen.getCodes());
+        assertEquals("since", LocalDate.of(2026, 10, 19), pen.getSince());
+
+        final Item ink = order.items.get(1);
+        assertEquals("null primitive", 0, ink.getCount());
+        assertEquals("default", true, ink.isAvailable());
+
+        assertEquals("totals", Map.of("net", new BigDecimal("3.75"),
+                "tax", new BigDecimal("0.5")), order.totals);
+        assertNull("transient", order.ignored);
+        assertEquals("extra", List.of(true, Map.of("k", "v")),
+                List.of(((List<?>) order.extra).get(0), ((List<?>) order.extra).get(2)));
+    }
+
+    @Test
+    public void bindRecursive() throws IOException {
+        final JsonPullParser p = parser("[{\"value\": 1, \"left\": {\"value\": 2},"
+                + " \"right\": {\"value\": 3, \"left\": null}}, 4]");
+        p.next();
+        p.next();
+        final Node root = JsonBinder.forClass(Node.class).read(p);
+        assertEquals("after", JsonEvent.END_OBJECT, p.getEvent());
+        assertEquals("root", 1, root.value);
+        assertEquals("left", 2, root.left.value);
+        assertEquals("right", 3, root.right.value);
+        assertNull("leaf", root.right.left);
+
+        p.next();
+        assertEquals("next value", 4, p.getInt());
+    }
+
+    @Test
+    public void bindScalarsAndArrays() throws IOException {
+        assertEquals(Integer.valueOf(42), JsonBinder.forClass(int.class).read(parser("42 ")));
+        assertArrayEquals(new String[]{"a", null},
+                JsonBinder.forClass(String[].class).read(parser("[\"a\", null]")));
+        assertArrayEquals(new byte[]{1, 2, 3},
+                JsonBinder.forClass(byte[].class).read(parser("\"AQID\"")));
+        assertNull(JsonBinder.forClass(Order.class).read(parser("null")));
+    }
+
+    @Test
+    public void bindPrimitiveArrays() throws IOException {
+        final StringBuilder json = new StringBuilder("[");
+        final int[] ints = new int[20];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 7 - 50;
+            json.append(i > 0 ? "," : "").append(ints[i]);
+        }
+        json.append(']');
+        assertArrayEquals(ints, JsonBinder.forClass(int[].class).read(parser(json.toString())));
+        assertArrayEquals(new long[]{1L << 40, -2},
+                JsonBinder.forClass(long[].class).read(parser("[1099511627776, -2]")));
+        assertArrayEquals(new double[]{0.5, -3},
+                JsonBinder.forClass(double[].class).read(parser("[0.5, -3]")), 0.0);
+        assertArrayEquals(new int[0], JsonBinder.forClass(int[].class).read(parser("[]")));
+
+        for (Class<?> type : new Class<?>[] {int[].class, long[].class, double[].class}) {
+            try {
+                JsonBinder.forClass(type).read(parser("[[1, 2], [3]]"));
+                fail("nested " + type.getSimpleName());
+            } catch (JsonBindException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = JsonBindException.class)
+    public void bindMismatch() throws IOException {
+        JsonBinder.forClass(Item.class).read(parser("{\"count\": \"three\"}"));
+    }
+
+    @Test(expected = JsonBindException.class)
+    public void bindSyntaxError() throws IOException {
+        JsonBinder.forClass(Order.class).read(parser("{\"id\": \"x\" \"items\": []}"));
+    }
+
+    @Test(expected = JsonBindException.class)
+    public void bindUnknownEnum() throws IOException {
+        JsonBinder.forClass(Size.class).read(parser("\"MEDIUM\""));
+    }
+
+    @Test
+    public void bindRecord() throws Exception {
+        // records are newer than the release these tests compile for
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+        final Path dir = Files.createTempDirectory("jsonbind");
+        final Path source = dir.resolve("Point.java");
+        Files.write(source, ("public record Point(int x, int y, String label,"
+                + " java.util.List<Point> links) {}").getBytes(StandardCharsets.UTF_8));
+        if (compiler.run(null, null, null, "-d", dir.toString(), source.toString()) != 0) {
+            throw new AssertionError("could not compile record");
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()})) {
+            final Class<?> type = loader.loadClass("Point");
+            final Object point = JsonBinder.forClass(type).read(parser(
+                    "{\"y\": 2, \"label\": \"p\", \"z\": 9, \"links\": [{\"x\": 5}]}"));
+            assertEquals("Point[x=0, y=2, label=p, links=[Point[x=5, y=0, label=null, links=null]]]",
+                    point.toString());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.bind.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import com.frank_mitchell.jsonpp.bind.JsonWriter;
+import com.frank_mitchell.jsonpp.bind.JsonWriters;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Test;
+
+public class JsonWritableProcessorTest {
+
+    private static final String PROCESSOR
+            = "com.frank_mitchell.jsonpp.bind.processor.JsonWritableProcessor";
+
+    private static final String ORDER = "package demo;\n"
+            + "import com.frank_mitchell.jsonpp.bind.JsonWritable;\n"
+            + "import java.util.*;\n"
+            + "@JsonWritable\n"
+            + "public class Order {\n"
+            + "    public enum Status { OPEN, SHIPPED }\n"
+            + "    @JsonWritable\n"
+            + "    public record Line(String sku, int quantity, double price) {}\n"
+            + "    public String id = \"A\\\"1\";\n"
+            + "    public Status getStatus() { return Status.SHIPPED; }\n"
+            + "    public List<Line> getLines() {\n"
+            + "        return List.of(new Line(\"x-1\", 2, 9.5), new Line(null, -1, 0.25));\n"
+            + "    }\n"
+            + "    public boolean isPaid() { return true; }\n"
+            + "    public Integer getCoupon() { return null; }\n"
+            + "    public Map<String, long[]> getTotals() {\n"
+            + "        return Collections.singletonMap(\"caf\\u00e9\", new long[] {1, Long.MIN_VALUE});\n"
+            + "    }\n"
+            + "    public char getGrade() { return '\\n'; }\n"
+            + "    public byte[] getHash() { return new byte[] {1, 2, 3}; }\n"
+            + "    public double getRatio() { return Double.NaN; }\n"
+            + "    public void setIgnored(int x) { }\n"
+            + "}\n";
+
+    private static String write(JsonWriter<Object> writer, Object value) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(value, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static int compile(Path dir, String name, String source, ByteArrayOutputStream err)
+            throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+        final Path file = dir.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return compiler.run(null, null, err,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", PROCESSOR, "-encoding", "UTF-8",
+                "-d", dir.toString(), file.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void writeGenerated() throws Exception {
+        // records are newer than the release these tests compile for
+        final Path dir = Files.createTempDirectory("jsonwrite");
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertEquals(err.toString(), 0, compile(dir, "Order", ORDER, err));
+        assertTrue(Files.exists(dir.resolve("demo/OrderJsonWriter.class")));
+        assertTrue(Files.exists(dir.resolve("demo/Order_LineJsonWriter.class")));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()},
+                getClass().getClassLoader())) {
+            final Class<?> type = loader.loadClass("demo.Order");
+            final JsonWriter<Object> writer = (JsonWriter<Object>) JsonWriters.forClass(type);
+            assertEquals("{\"id\":\"A\\\"1\",\"status\":\"SHIPPED\","
+                    + "\"lines\":[{\"sku\":\"x-1\",\"quantity\":2,\"price\":9.5},"
+                    + "{\"sku\":null,\"quantity\":-1,\"price\":0.25}],"
+                    + "\"paid\":true,\"coupon\":null,"
+                    + "\"totals\":{\"caf\u00e9\":[1,-9223372036854775808]},"
+                    + "\"grade\":\"\\n\",\"hash\":\"AQID\",\"ratio\":null}",
+                    write(writer, type.getConstructor().newInstance()));
+            assertEquals("null", write(writer, null));
+        }
+    }
+
+    @Test
+    public void rejectUnwritable() throws Exception {
+        final Path dir = Files.createTempDirectory("jsonwrite");
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        final String source = "@com.frank_mitchell.jsonpp.bind.JsonWritable\n"
+                + "public class Holder {\n"
+                + "    public Thread getThread() { return null; }\n"
+                + "}\n";
+        assertNotEquals(0, compile(dir, "Holder", source, err));
+        assertTrue(err.toString(), err.toString().contains("Cannot write java.lang.Thread"));
+    }
+
+    @Test
+    public void writeScalars() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriters.writeString(out, "tab\there \"\\\" \u0001 \u00e9\u20ac\ud83d\ude00 \ud800");
+        out.write(' ');
+        JsonWriters.writeLong(out, 0);
+        out.write(' ');
+        JsonWriters.writeLong(out, -1234567890123L);
+        out.write(' ');
+        JsonWriters.writeFloat(out, 0.1f);
+        out.write(' ');
+        JsonWriters.writeDouble(out, Double.NEGATIVE_INFINITY);
+        assertEquals("\"tab\\there \\\"\\\\\\\" \\u0001 \u00e9\u20ac\ud83d\ude00 \\ud800\""
+                + " 0 -1234567890123 0.1 null",
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void writeLongString() throws Exception {
+        // longer than the scratch buffer
+        final StringBuilder s = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            s.append("\u00e9\"");
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriters.writeString(out, s);
+        final String expected = "\"" + s.toString().replace("\"", "\\\"") + "\"";
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
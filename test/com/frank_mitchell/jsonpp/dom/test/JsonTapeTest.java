@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.dom.JsonTape;
+import com.frank_mitchell.jsonpp.dom.JsonTapeCursor;
+import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class JsonTapeTest {
+
+    private static final String DOC = "{\"name\": \"widget\", \"id\": 12345678901,"
+            + " \"price\": 9.95, \"tags\": [\"a\", [], {}, null, true, false],"
+            + " \"dims\": {\"w\": 2, \"h\": -3e2}, \"note\": \"caf\\u00e9\"}";
+
+    private static JsonPullParser parser(String json) throws IOException {
+        return new DefaultJsonPullParserFactory().createParser(new StringReader(json));
+    }
+
+    @Test
+    public void navigate() throws IOException {
+        final JsonTape tape = JsonTape.read(parser(DOC));
+        final JsonTapeCursor c = tape.cursor();
+
+        assertEquals(JsonEvent.START_OBJECT, c.getEvent());
+        assertEquals(6, c.size());
+        assertNull(c.getKey());
+
+        assertTrue(c.toMember("id"));
+        assertEquals("id", c.getKey());
+        assertEquals(12345678901L, c.getLong());
+        assertEquals("12345678901", c.getString());
+
+        assertTrue(c.toNext());
+        assertEquals("price", c.getKey());
+        assertEquals(9.95, c.getDouble(), 0.0);
+        assertEquals(new BigDecimal("9.95"), c.getNumber());
+
+        assertTrue(c.toNext());
+        assertEquals(6, c.size());
+        assertTrue(c.toElement(1));
+        assertTrue(c.isArray());
+        assertEquals(0, c.size());
+        assertFalse("empty", c.toFirst());
+        assertTrue(c.toNext());
+        assertTrue(c.isObject());
+        assertFalse("no members", c.toMember("x"));
+        assertTrue(c.toNext());
+        assertTrue(c.isNull());
+        assertTrue(c.toNext());
+        assertTrue(c.getBoolean());
+        assertTrue(c.toNext());
+        assertFalse(c.getBoolean());
+        assertFalse("last", c.toNext());
+        assertFalse(c.toElement(6));
+
+        assertTrue(c.toParent());
+        assertTrue(c.toNext());
+        final JsonTapeCursor dims = c.copy();
+        assertTrue(dims.toMember("h"));
+        assertEquals(-300, dims.getInt());
+        assertEquals(-300.0, dims.getDouble(), 0.0);
+        assertTrue(c.isObject());
+
+        assertTrue(c.toNext());
+        assertEquals("caf\u00e9", c.getString());
+        assertFalse(c.toNext());
+
+        c.toRoot();
+        assertTrue(c.toFirst());
+        assertEquals("widget", c.getString());
+        assertTrue(c.toParent());
+        assertFalse(c.toParent());
+    }
+
+    @Test
+    public void compact() throws IOException {
+        final JsonTape tape = JsonTape.read(parser(DOC));
+        // one entry per value, key and container end, plus a second
+        // entry for each of the two integers
+        assertEquals(30, tape.getTapeLength());
+    }
+
+    @Test
+    public void negativeZero() throws IOException {
+        final JsonTapeCursor c = JsonTape.read(parser("[-0, 0]")).cursor();
+        assertTrue(c.toFirst());
+        assertEquals("-0", c.getString());
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(c.getDouble()));
+        assertTrue(c.toNext());
+        assertEquals("0", c.getString());
+        assertEquals(0L, c.getLong());
+    }
+
+    @Test
+    public void readInPlace() throws IOException {
+        final JsonPullParser p = parser("[{\"a\": [1]}, 2]");
+        p.next();
+        p.next();
+        final JsonTape tape = JsonTape.read(p);
+        assertEquals(JsonEvent.END_OBJECT, p.getEvent());
+        final JsonTapeCursor c = tape.cursor();
+        assertTrue(c.toMember("a"));
+        assertTrue(c.toFirst());
+        assertEquals(1, c.getInt());
+
+        p.next();
+        assertEquals(2, JsonTape.read(p).cursor().getInt());
+    }
+
+    @Test(expected = IOException.class)
+    public void readMalformed() throws IOException {
+        JsonTape.read(parser("{\"a\": [1, }"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void wrongType() throws IOException {
+        JsonTape.read(parser("[\"x\"]")).cursor().getLong();
+    }
+}
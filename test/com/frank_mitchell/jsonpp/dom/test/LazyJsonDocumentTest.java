@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.dom.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.dom.LazyJsonDocument;
+import com.frank_mitchell.jsonpp.dom.LazyJsonValue;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class LazyJsonDocumentTest {
+
+    private static final String DOC = "{\"name\": \"widget\", \"id\": 12345678901,"
+            + " \"price\": 9.95, \"tags\": [\"a\", [], {\"x\": \"]\"}, null, true, false],"
+            + " \"dims\": {\"w\": 2, \"h\": -3e2}, \"note\": \"caf\\u00e9\","
+            + " \"a\\\"b\": 1, \"id\": 0}";
+
+    private static LazyJsonDocument doc(String json) {
+        return LazyJsonDocument.of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void nested() throws IOException {
+        final LazyJsonDocument doc = doc(DOC);
+        final LazyJsonValue dims = doc.get("dims");
+
+        assertTrue(dims.isObject());
+        assertEquals(2, dims.get("w").getInt());
+        assertEquals(-300.0, dims.get("h").getDouble(), 0.0);
+        assertSame(dims, doc.get("dims"));
+        assertSame(dims.get("w"), doc.get("dims").get("w"));
+        assertNull(dims.get("d"));
+        assertEquals(2, dims.size());
+    }
+
+    @Test
+    public void scalars() throws IOException {
+        final LazyJsonDocument doc = doc(DOC);
+
+        assertEquals("widget", doc.get("name").getString());
+        assertEquals(JsonEvent.VALUE_NUMBER, doc.get("id").getEvent());
+        assertEquals("first of two", 12345678901L, doc.get("id").getLong());
+        assertEquals("12345678901", doc.get("id").getString());
+        assertEquals(new BigDecimal("9.95"), new BigDecimal(doc.get("price").getString()));
+        assertEquals("caf\u00e9", doc.get("note").getString());
+        assertEquals(1, doc.get("a\"b").getInt());
+        assertEquals(8, doc.getRoot().size());
+    }
+
+    @Test
+    public void elements() throws IOException {
+        final LazyJsonValue tags = doc(DOC).get("tags");
+
+        assertTrue(tags.isArray());
+        assertEquals("a", tags.get(0).getString());
+        assertTrue(tags.get(1).isArray());
+        assertEquals(0, tags.get(1).size());
+        assertEquals("]", tags.get(2).get("x").getString());
+        assertTrue(tags.get(3).isNull());
+        assertTrue(tags.get(4).getBoolean());
+        assertFalse(tags.get(5).getBoolean());
+        assertNull(tags.get(6));
+        assertNull(tags.get(-1));
+        assertEquals(6, tags.size());
+        assertSame(tags.get(2), tags.get(2));
+    }
+
+    @Test
+    public void manyElements() throws IOException {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append(i * 3);
+        }
+        final LazyJsonDocument doc = doc(json.append(']').toString());
+
+        assertEquals(297, doc.get(99).getLong());
+        assertEquals(150, doc.get(50).getInt());
+        assertEquals(100, doc.getRoot().size());
+    }
+
+    @Test
+    public void scalarRoot() throws IOException {
+        assertEquals(42, doc("  42").getRoot().getInt());
+        assertEquals("x", doc("\"x\"\n").getRoot().getString());
+        assertNull(doc("42").get("a"));
+    }
+
+    @Test
+    public void buffer() throws IOException {
+        final byte[] bytes = "xx{\"k\": [1, 2]}yy".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buf = ByteBuffer.wrap(bytes, 2, bytes.length - 4);
+        final LazyJsonDocument doc = LazyJsonDocument.of(buf);
+
+        assertEquals(2, doc.get("k").get(1).getInt());
+        assertEquals("relative to the slice", 6, doc.get("k").getOffset());
+        assertEquals(2, buf.position());
+    }
+
+    @Test
+    public void invalidUtf8() throws IOException {
+        final byte[][] sequences = {
+            {(byte) 0xF8, (byte) 0x88, (byte) 0x80, (byte) 0x80, (byte) 0x80},
+            {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+            {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+            {(byte) 0xC0, (byte) 0xAF},
+            {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x80}
+        };
+        final String[] expected = {
+            "\ufffd\ufffd\ufffd\ufffd\ufffd", "\ufffd", "\ufffd", "\ufffd",
+            "\ud83d\ude00"
+        };
+        for (int i = 0; i < sequences.length; i++) {
+            final ByteBuffer buf = ByteBuffer.allocate(sequences[i].length + 2);
+            buf.put((byte) '"').put(sequences[i]).put((byte) '"').flip();
+            assertEquals("sequence " + i, expected[i],
+                    LazyJsonDocument.of(buf).getRoot().getString());
+        }
+    }
+
+    @Test
+    public void malformed() throws IOException {
+        final LazyJsonDocument doc = doc("{\"a\": [1, 2 3], \"b\": tru, \"c\": {\"d\" 1}}");
+
+        try {
+            doc.get("a").get(1);
+            fail("missing comma");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            doc.get("b").getBoolean();
+            fail("bad literal");
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            doc.get("c").get("d");
+            fail("missing colon");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void wrongType() throws IOException {
+        doc(DOC).get("name").getLong();
+    }
+
+    @Test
+    public void containerScalars() throws IOException {
+        final LazyJsonDocument doc = doc(DOC);
+        final LazyJsonValue[] containers = {doc.getRoot(), doc.get("tags"), doc.get("dims")};
+
+        for (LazyJsonValue value : containers) {
+            try {
+                value.getString();
+                fail("string of " + value);
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            try {
+                value.getNumber();
+                fail("number of " + value);
+            } catch (IllegalStateException e) {
+                // expected
+            }
+            try {
+                value.getLong();
+                fail("long of " + value);
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void trailingText() throws IOException {
+        assertEquals(2, doc("[1,2] \n").getRoot().size());
+        for (String json : new String[] {"[1,2] garbage", "{} {}", "42 43", "\"x\"]"}) {
+            try {
+                doc(json).getRoot();
+                fail(json);
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+}
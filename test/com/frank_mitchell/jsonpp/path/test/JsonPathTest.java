@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.JsonPullParserFactory;
+import com.frank_mitchell.jsonpp.path.JsonPath;
+import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonPathTest {
+
+    private static final String STORE = "{\"store\": {"
+            + "\"book\": ["
+            + "  {\"category\": \"reference\", \"author\": \"Nigel Rees\","
+            + "   \"title\": \"Sayings of the Century\", \"price\": 8.95},"
+            + "  {\"category\": \"fiction\", \"author\": \"Evelyn Waugh\","
+            + "   \"title\": \"Sword of Honour\", \"price\": 12.99},"
+            + "  {\"category\": \"fiction\", \"author\": \"Herman Melville\","
+            + "   \"title\": \"Moby Dick\", \"isbn\": \"0-553-21311-3\", \"price\": 8.99},"
+            + "  {\"category\": \"fiction\", \"author\": \"J. R. R. Tolkien\","
+            + "   \"title\": \"The Lord of the Rings\", \"isbn\": \"0-395-19395-8\", \"price\": 22.99}"
+            + "],"
+            + "\"bicycle\": {\"color\": \"red\", \"price\": 19.95}"
+            + "}, \"numbers\": [1, 2, 3, 4, 5]}";
+
+    private JsonPullParserFactory _factory;
+
+    @Before
+    public void setUp() {
+        _factory = new DefaultJsonPullParserFactory();
+    }
+
+    private List<String> query(String expression) throws IOException {
+        return query(expression, -1);
+    }
+
+    private List<String> query(String expression, int limit) throws IOException {
+        return query(STORE, expression, limit);
+    }
+
+    private List<String> query(String json, String expression, int limit) throws IOException {
+        final JsonPullParser input = _factory.createParser(new StringReader(json));
+        final JsonPath path = JsonPath.compile(expression);
+        final JsonPullParser parser = (limit < 0)
+                ? path.createParser(input) : path.createParser(input, limit);
+
+        final List<String> result = new ArrayList<>();
+        while (true) {
+            parser.next();
+            final JsonEvent event = parser.getEvent();
+            switch (event) {
+                case KEY_NAME:
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                    result.add(parser.getString());
+                    break;
+                case END_STREAM:
+                    return result;
+                case SYNTAX_ERROR:
+                    result.add(event.toString());
+                    return result;
+                default:
+                    result.add(event.toString());
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void queryChildren() throws IOException {
+        assertEquals(List.of("Nigel Rees", "Evelyn Waugh", "Herman Melville",
+                "J. R. R. Tolkien"), query("$.store.book[*].author"));
+        assertEquals(List.of("red"), query("$['store']['bicycle'].color"));
+    }
+
+    @Test
+    public void queryDescendants() throws IOException {
+        assertEquals(List.of("8.95", "12.99", "8.99", "22.99", "19.95"),
+                query("$..price"));
+        assertEquals(List.of("START_OBJECT", "color", "red", "price", "19.95",
+                "END_OBJECT"), query("$..bicycle"));
+    }
+
+    @Test
+    public void queryWildcardMembers() throws IOException {
+        assertEquals(List.of("red", "19.95"), query("$.store.bicycle.*"));
+    }
+
+    @Test
+    public void queryIndicesAndSlices() throws IOException {
+        assertEquals(List.of("Sayings of the Century", "Moby Dick"),
+                query("$.store.book[0,2].title"));
+        assertEquals(List.of("Sayings of the Century", "Moby Dick"),
+                query("$.store.book[0:3:2].title"));
+        assertEquals(List.of("3", "4", "5"), query("$.numbers[2:]"));
+        assertEquals(List.of("1", "2"), query("$.numbers[:2]"));
+    }
+
+    @Test
+    public void queryMemberFilter() throws IOException {
+        // title comes before price, so each book is held until decided
+        assertEquals(List.of("Sayings of the Century", "Moby Dick"),
+                query("$.store.book[?(@.price < 10)].title"));
+        assertEquals(List.of("Moby Dick", "The Lord of the Rings"),
+                query("$..book[?(@.isbn)].title"));
+        assertEquals(List.of("Nigel Rees"),
+                query("$.store.book[?(@.category == 'reference')].author"));
+        assertEquals(List.of("Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien"),
+                query("$.store.book[?(@.category != \"reference\")].author"));
+    }
+
+    @Test
+    public void queryNestedMemberFilter() throws IOException {
+        // the outer object's "k" comes after the inner one's
+        final String json = "{\"a\": {\"b\": {\"k\": 2, \"c\": [{\"k\": 3}]}, \"k\": 1},"
+                + " \"z\": {\"n\": 0}}";
+        assertEquals(List.of("2", "3", "1"), query(json, "$..[?(@.k)].k", -1));
+        assertEquals(List.of("START_OBJECT", "k", "3", "END_OBJECT"),
+                query(json, "$.a.b.c[?(@.k > 2)]", -1));
+        assertEquals(List.of("SYNTAX_ERROR"),
+                query("[{\"a\": {\"b\": 1}, \"c\" ]", "$[?(@.c)]", -1));
+    }
+
+    @Test
+    public void queryCurrentKey() throws IOException {
+        for (String expression : new String[] {"$.store.bicycle", "$.store[?(@.color)]"}) {
+            final JsonPullParser parser = JsonPath.compile(expression)
+                    .createParser(_factory.createParser(new StringReader(STORE)));
+            parser.next();
+            assertEquals(expression, JsonEvent.START_OBJECT, parser.getEvent());
+            parser.next();
+            parser.next();
+            assertEquals(expression, "red", parser.getString());
+            assertEquals(expression, "color", parser.getCurrentKey());
+            parser.next();
+            parser.next();
+            assertEquals(expression, "price", parser.getCurrentKey());
+            parser.next();
+            assertEquals(expression, JsonEvent.END_OBJECT, parser.getEvent());
+            assertEquals(expression, "bicycle", parser.getCurrentKey());
+        }
+
+        final JsonPullParser parser = JsonPath.compile("$..isbn")
+                .createParser(_factory.createParser(new StringReader(STORE)));
+        parser.next();
+        assertEquals("isbn", parser.getCurrentKey());
+        assertEquals("0-553-21311-3", parser.getString());
+    }
+
+    @Test
+    public void queryScalarFilter() throws IOException {
+        assertEquals(List.of("4", "5"), query("$.numbers[?(@ >= 4)]"));
+        assertEquals(List.of("red"), query("$.store.bicycle[?(@ == 'red')]"));
+    }
+
+    @Test
+    public void queryLimit() throws IOException {
+        assertEquals(List.of("8.95", "12.99"), query("$..price", 2));
+        final List<String> books = query("$.store.*", 1);
+        assertEquals("first", "START_ARRAY", books.get(0));
+        assertEquals("last", "END_ARRAY", books.get(books.size() - 1));
+        assertFalse("no bicycle", books.contains("red"));
+        assertEquals(List.of(), query("$..price", 0));
+    }
+
+    @Test
+    public void queryLimitStopsReading() throws IOException {
+        // the input is broken after the first match
+        final JsonPullParser input = _factory.createParser(
+                new StringReader("[{\"a\": 1}, {\"a\": 2 ]"));
+        final JsonPullParser parser = JsonPath.compile("$[*].a").createParser(input, 1);
+        parser.next();
+        assertEquals("match", 1, parser.getInt());
+        parser.next();
+        assertEquals("end", JsonEvent.END_STREAM, parser.getEvent());
+    }
+
+    @Test
+    public void queryRoot() throws IOException {
+        assertEquals(List.of("1", "2", "3", "4", "5"), query("$.numbers.*"));
+        assertEquals("START_OBJECT", query("$").get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileNegativeIndex() {
+        JsonPath.compile("$.numbers[-1]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileMissingRoot() {
+        JsonPath.compile("store.book");
+    }
+}
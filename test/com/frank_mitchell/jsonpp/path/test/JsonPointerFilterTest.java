@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Frank Mitchell
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a
+ * copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package com.frank_mitchell.jsonpp.path.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.frank_mitchell.jsonpp.JsonEvent;
+import com.frank_mitchell.jsonpp.JsonPullParser;
+import com.frank_mitchell.jsonpp.JsonPullParserFactory;
+import com.frank_mitchell.jsonpp.path.JsonPointerFilter;
+import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonPointerFilterTest {
+
+    private static final String DOCUMENT = "{"
+            + "\"header\": {\"id\": 7, \"tags\": [\"a\", [\"b\"], {\"c\": \"]}\"}]},"
+            + "\"payload\": {\"items\": ["
+            + "  {\"name\": \"x\", \"price\": 1.5, \"extra\": {\"deep\": [1, 2, 3]}},"
+            + "  {\"price\": 2, \"name\": \"y\"},"
+            + "  {\"name\": \"z\", \"price\": {\"amount\": 3, \"currency\": \"EUR\"}}"
+            + "], \"a/b\": true, \"~\": null},"
+            + "\"trailer\": [0, 1, 2]"
+            + "}";
+
+    private JsonPullParserFactory _factory;
+
+    @Before
+    public void setUp() {
+        _factory = new DefaultJsonPullParserFactory();
+    }
+
+    private JsonPullParser filter(String... pointers) throws IOException {
+        final JsonPullParser parser = _factory.createParser(new StringReader(DOCUMENT));
+        return JsonPointerFilter.compile(pointers).createParser(parser);
+    }
+
+    /*
+     * Events as strings, with values for keys and scalars.
+     */
+    private static List<String> events(JsonPullParser parser) throws IOException {
+        final List<String> result = new ArrayList<>();
+        assertEquals("start", JsonEvent.START_STREAM, parser.getEvent());
+        while (true) {
+            parser.next();
+            final JsonEvent event = parser.getEvent();
+            switch (event) {
+                case KEY_NAME:
+                case VALUE_STRING:
+                case VALUE_NUMBER:
+                    result.add(event + ":" + parser.getString());
+                    break;
+                case END_STREAM:
+                case SYNTAX_ERROR:
+                    result.add(event.toString());
+                    return result;
+                default:
+                    result.add(event.toString());
+                    break;
+            }
+        }
+    }
+
+    @Test
+    public void filterWildcard() throws IOException {
+        final JsonPullParser parser = filter("/payload/items/*/price");
+        assertEquals(List.of("VALUE_NUMBER:1.5", "VALUE_NUMBER:2",
+                "START_OBJECT", "KEY_NAME:amount", "VALUE_NUMBER:3",
+                "KEY_NAME:currency", "VALUE_STRING:EUR", "END_OBJECT",
+                "END_STREAM"), events(parser));
+    }
+
+    @Test
+    public void filterCurrentKey() throws IOException {
+        final JsonPullParser parser = filter("/payload/items/1/name", "/trailer/*");
+
+        parser.next();
+        assertEquals(JsonEvent.VALUE_STRING, parser.getEvent());
+        assertTrue("in object", parser.isInObject());
+        assertEquals("key", "name", parser.getCurrentKey());
+        assertEquals("value", "y", parser.getString());
+
+        for (int i = 0; i < 3; i++) {
+            parser.next();
+            assertTrue("in array", parser.isInArray());
+            assertEquals("element", i, parser.getInt());
+        }
+        parser.next();
+        assertEquals(JsonEvent.END_STREAM, parser.getEvent());
+    }
+
+    @Test
+    public void filterCurrentKeyWithoutParserSupport() throws IOException {
+        final JsonPullParser source = _factory.createParser(new StringReader(DOCUMENT));
+        final JsonPullParser keyless = (JsonPullParser) Proxy.newProxyInstance(
+                JsonPullParser.class.getClassLoader(),
+                new Class<?>[] {JsonPullParser.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isCurrentKeySupported":
+                            return false;
+                        case "getCurrentKey":
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(source, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+        final JsonPullParser parser = JsonPointerFilter.compile("/payload/items/2")
+                .createParser(keyless);
+
+        parser.next();
+        assertEquals(JsonEvent.START_OBJECT, parser.getEvent());
+        parser.next();
+        parser.next();
+        assertEquals("key", "name", parser.getCurrentKey());
+        assertEquals("value", "z", parser.getString());
+        parser.next();
+        parser.next();
+        parser.next();
+        parser.next();
+        assertEquals("nested key", "amount", parser.getCurrentKey());
+        assertEquals("nested value", 3, parser.getInt());
+    }
+
+    @Test
+    public void filterContainerAndEscapes() throws IOException {
+        final JsonPullParser parser = filter("/header/tags", "/payload/a~1b", "/payload/~0");
+        assertEquals(List.of("START_ARRAY", "VALUE_STRING:a",
+                "START_ARRAY", "VALUE_STRING:b", "END_ARRAY",
+                "START_OBJECT", "KEY_NAME:c", "VALUE_STRING:]}", "END_OBJECT",
+                "END_ARRAY", "VALUE_TRUE", "VALUE_NULL", "END_STREAM"),
+                events(parser));
+    }
+
+    @Test
+    public void filterSkipSelected() throws IOException {
+        final JsonPullParser parser = filter("/header", "/trailer/2");
+
+        parser.next();
+        assertEquals(JsonEvent.START_OBJECT, parser.getEvent());
+        parser.skipValue();
+        assertEquals(JsonEvent.END_OBJECT, parser.getEvent());
+        assertFalse("out of selection", parser.isInArray());
+        parser.next();
+        assertEquals("last", 2, parser.getInt());
+    }
+
+    @Test
+    public void filterWholeDocument() throws IOException {
+        final List<String> all = events(_factory.createParser(new StringReader(DOCUMENT)));
+        assertEquals(all, events(filter("")));
+    }
+
+    @Test
+    public void filterNothing() throws IOException {
+        assertEquals(List.of("END_STREAM"), events(filter("/missing", "/trailer/3")));
+    }
+
+    @Test
+    public void filterSyntaxError() throws IOException {
+        final JsonPullParser parser = JsonPointerFilter.compile("/b")
+                .createParser(_factory.createParser(new StringReader("{\"a\": [1, 2}")));
+        assertEquals(List.of("SYNTAX_ERROR"), events(parser));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compileBadPointer() {
+        JsonPointerFilter.compile("payload/items");
+    }
+}
@@ -21,17 +21,29 @@
  */
 package com.frank_mitchell.jsonpp.test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.frank_mitchell.jsonpp.JsonEvent;
 import com.frank_mitchell.jsonpp.JsonPullParser;
 import com.frank_mitchell.jsonpp.JsonPullParserFactory;
+import com.frank_mitchell.jsonpp.KeySet;
 import com.frank_mitchell.jsonpp.spi.DefaultJsonPullParserFactory;
 import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -338,6 +350,58 @@ public class JsonPullParserTest {
         assertEquals("event", JsonEvent.END_STREAM, _parser.getEvent());
     }
 
+    @Test
+    public void parseTypedStrings() throws IOException {
+        push("{\"when\": \"2026-10-19T12:34:56.789Z\", "
+                + "\"offset\": \"2024-02-29T23:00:00-05:30\", "
+                + "\"day\": \"2024-02-29\", "
+                + "\"id\": \"123e4567-E89B-12d3-a456-426614174000\", "
+                + "\"SYNTAX_ERROR\": \"KEY_\\u004EAME\"}");
+
+        _parser.next();
+        _parser.next();
+        _parser.next();
+        assertEquals("instant", Instant.parse("2026-10-19T12:34:56.789Z"),
+                _parser.getInstant());
+
+        _parser.next();
+        _parser.next();
+        assertEquals("offset", Instant.parse("2024-03-01T04:30:00Z"),
+                _parser.getInstant());
+
+        _parser.next();
+        _parser.next();
+        assertEquals("date", LocalDate.of(2024, 2, 29), _parser.getLocalDate());
+
+        _parser.next();
+        _parser.next();
+        assertEquals("uuid", UUID.fromString("123e4567-e89b-12d3-a456-426614174000"),
+                _parser.getUuid());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.KEY_NAME, _parser.getEvent());
+        assertEquals("key", JsonEvent.SYNTAX_ERROR, _parser.getEnum(JsonEvent.class));
+
+        _parser.next();
+        assertEquals("value", JsonEvent.KEY_NAME, _parser.getEnum(JsonEvent.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseUnknownEnum() throws IOException {
+        push("\"START_DOCUMENT\"");
+
+        _parser.next();
+        _parser.getEnum(JsonEvent.class);
+    }
+
+    @Test(expected = DateTimeException.class)
+    public void parseInvalidDate() throws IOException {
+        push("\"2023-02-29\"");
+
+        _parser.next();
+        _parser.getLocalDate();
+    }
+
     @Test
     public void parseNumber() throws IOException {
         testSingleNumber("123", " 123 ");
@@ -381,6 +445,193 @@ public class JsonPullParserTest {
         assertEquals("event", JsonEvent.END_STREAM, _parser.getEvent());
     }
 
+    @Test
+    public void parseDoubles() throws IOException {
+        final String[] numbers = {
+            "0", "-0", "1", "-1", "0.1", "3.141592653589793", "1e23",
+            "8.98846567431158e307", "1.7976931348623157e308", "1e309",
+            "2.2250738585072014e-308", "4.9e-324", "1e-400",
+            "9007199254740993", "7.3177701707893310e15",
+            "7.2057594037927933e16", "123456789012345678901234567890",
+            "0.000000000000000000000000000001234567890123456789012",
+            "2.00000000000000011102230246251565404236316680908203125",
+            "-92233720368547758089223372036854775808e-20"
+        };
+
+        push("[");
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                push(",");
+            }
+            push(numbers[i]);
+        }
+        push("]");
+
+        _parser.next();
+        assertEquals("event", JsonEvent.START_ARRAY, _parser.getEvent());
+
+        for (String number : numbers) {
+            _parser.next();
+            assertEquals("event", JsonEvent.VALUE_NUMBER, _parser.getEvent());
+            assertEquals(number, Double.parseDouble(number), _parser.getDouble(), 0.0);
+        }
+
+        _parser.next();
+        assertEquals("event", JsonEvent.END_ARRAY, _parser.getEvent());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parseDoubleNotNumber() throws IOException {
+        push("\"1.0\"");
+
+        _parser.next();
+        assertEquals("event", JsonEvent.VALUE_STRING, _parser.getEvent());
+        _parser.getDouble();
+    }
+
+    @Test
+    public void parseUnscaledLongs() throws IOException {
+        final String[] numbers = {
+            "0", "-0", "0.00", "12.50", "-0.05", "1.5e3", "1.5e-3", "100",
+            "9223372036854775807", "-9223372036854775807", "-9223372036854775808",
+            "922337203685477580.7", "-922337203685477580.8", "123456789e-30", "19.99"
+        };
+
+        push("[");
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                push(",");
+            }
+            push(numbers[i]);
+        }
+        push("]");
+
+        _parser.next();
+        for (String number : numbers) {
+            final BigDecimal decimal = new BigDecimal(number);
+
+            _parser.next();
+            assertEquals("event", JsonEvent.VALUE_NUMBER, _parser.getEvent());
+            assertTrue(number, _parser.hasUnscaledLong());
+            assertEquals(number, decimal.unscaledValue().longValue(), _parser.getUnscaledLong());
+            assertEquals(number, decimal.scale(), _parser.getScale());
+            assertEquals(number, decimal.longValue(), _parser.getLong());
+            assertEquals(number, decimal.intValue(), _parser.getInt());
+        }
+    }
+
+    @Test
+    public void parseUnscaledLongOverflow() throws IOException {
+        final String number = "9223372036854775808.25";
+        push(number);
+
+        _parser.next();
+        assertEquals("event", JsonEvent.VALUE_NUMBER, _parser.getEvent());
+        assertFalse("fits", _parser.hasUnscaledLong());
+        assertEquals("scale", 2, _parser.getScale());
+        assertEquals("number", new BigDecimal(number), _parser.getNumber());
+        assertEquals("long", new BigDecimal(number).longValue(), _parser.getLong());
+    }
+
+    @Test
+    public void readDoubleArray() throws IOException {
+        push("{\"coordinates\": [[1.5, -2], [3e2, 4.25]], \"next\": true}");
+
+        _parser.next();
+        _parser.next();
+        assertEquals("key", "coordinates", _parser.getString());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.START_ARRAY, _parser.getEvent());
+
+        final double[] values = _parser.readDoubleArray();
+        assertEquals("event", JsonEvent.END_ARRAY, _parser.getEvent());
+        assertEquals("length", 4, values.length);
+        assertEquals("[0]", 1.5, values[0], 0.0);
+        assertEquals("[1]", -2.0, values[1], 0.0);
+        assertEquals("[2]", 300.0, values[2], 0.0);
+        assertEquals("[3]", 4.25, values[3], 0.0);
+        assertTrue("inObject", _parser.isInObject());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.KEY_NAME, _parser.getEvent());
+        assertEquals("key", "next", _parser.getString());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.VALUE_TRUE, _parser.getEvent());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.END_OBJECT, _parser.getEvent());
+
+        _parser.next();
+        assertEquals("event", JsonEvent.END_STREAM, _parser.getEvent());
+    }
+
+    @Test
+    public void readLongArrayFull() throws IOException {
+        push("[10, 20, 30, 40, 50]");
+
+        _parser.next();
+        final long[] values = new long[4];
+
+        assertEquals("count", 3, _parser.readLongArray(values, 1));
+        assertEquals("event", JsonEvent.VALUE_NUMBER, _parser.getEvent());
+        assertEquals("[1]", 10L, values[1]);
+        assertEquals("[2]", 20L, values[2]);
+        assertEquals("[3]", 30L, values[3]);
+
+        _parser.next();
+        assertEquals("event", JsonEvent.VALUE_NUMBER, _parser.getEvent());
+        assertEquals("number", 40L, _parser.getLong());
+    }
+
+    @Test
+    public void readLargeThenSmallArrays() throws IOException {
+        // the scratch array that grew for the first is not kept
+        push("[[");
+        for (int i = 0; i < 10000; i++) {
+            push(i > 0 ? "," : "");
+            push(Integer.toString(i));
+        }
+        push("], [5, 6], [7]]");
+
+        _parser.next();
+        _parser.next();
+        final long[] large = _parser.readLongArray();
+        assertEquals("large", 10000, large.length);
+        assertEquals("last", 9999L, large[9999]);
+
+        _parser.next();
+        assertArrayEquals(new long[]{5, 6}, _parser.readLongArray());
+        _parser.next();
+        assertArrayEquals(new long[]{7}, _parser.readLongArray());
+    }
+
+    @Test
+    public void readIntArrayNotNumber() throws IOException {
+        push("[1, 2, \"three\", 4]");
+
+        _parser.next();
+        final int[] values = _parser.readIntArray();
+
+        assertEquals("event", JsonEvent.VALUE_STRING, _parser.getEvent());
+        assertEquals("string", "three", _parser.getString());
+        assertEquals("length", 2, values.length);
+        assertEquals("[0]", 1, values[0]);
+        assertEquals("[1]", 2, values[1]);
+    }
+
+    @Test
+    public void readIntArraySyntaxError() throws IOException {
+        push("[1, 2 3]");
+
+        _parser.next();
+        final int[] values = new int[4];
+
+        assertEquals("count", 2, _parser.readIntArray(values, 0));
+        assertEquals("event", JsonEvent.SYNTAX_ERROR, _parser.getEvent());
+    }
+
     @Test
     public void parseTrue() throws IOException {
         testSingleValue(JsonEvent.VALUE_TRUE, "true");
@@ -637,4 +888,289 @@ public class JsonPullParserTest {
         _parser.next();
         assertEquals("event", JsonEvent.END_STREAM, _parser.getEvent());
     }
+
+    @Test
+    public void parseEscapedStrings() throws IOException {
+        push("[\"tab\\there\", \"\\ud83d\\ude00 \ud83d\ude00\", \"\\u00e9\\/\"]");
+
+        _parser.next();
+        _parser.next();
+        assertEquals("tab", "tab\there", _parser.getString());
+        _parser.next();
+        assertEquals("emoji", "\ud83d\ude00 \ud83d\ude00", _parser.getString());
+        _parser.next();
+        assertEquals("escapes", "\u00e9/", _parser.getString());
+    }
+
+    @Test
+    public void readLongString() throws IOException {
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append(i).append("\ud83d\ude00");
+        }
+        push("{\"big\": \"" + expected + "\", \"next\": \"short\\n\"}");
+        _parser.setStringBufferLimit(16);
+
+        _parser.next();
+        _parser.next();
+        assertEquals("key", "big", _parser.getString());
+        _parser.next();
+        assertEquals(JsonEvent.VALUE_STRING, _parser.getEvent());
+
+        // odd size to split surrogate pairs
+        final StringBuilder actual = new StringBuilder();
+        final char[] buf = new char[7];
+        try (Reader reader = _parser.getStringReader()) {
+            int count;
+            while ((count = reader.read(buf)) >= 0) {
+                actual.append(buf, 0, count);
+            }
+        }
+        assertEquals("value", expected.toString(), actual.toString());
+
+        _parser.next();
+        assertEquals("next key", "next", _parser.getString());
+        _parser.next();
+        assertEquals("next value", "short\n", _parser.getString());
+    }
+
+    @Test
+    public void skipLongString() throws IOException {
+        push("[\"abcdefghijklmnopqrstuvwxyz\", \"abcdefghijklmnopqrstuvwxyz\", 3]");
+        _parser.setStringBufferLimit(4);
+
+        _parser.next();
+        _parser.next();
+        final Reader stale = _parser.getStringReader();
+        _parser.next();
+        assertEquals("whole", "abcdefghijklmnopqrstuvwxyz", _parser.getString());
+        _parser.next();
+        assertEquals(JsonEvent.VALUE_NUMBER, _parser.getEvent());
+        try {
+            stale.read();
+            fail("read after next()");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void readMalformedLongString() throws IOException {
+        push("[\"abcdefghijklmnopqrstuvwxyz\\q\"]");
+        _parser.setStringBufferLimit(4);
+
+        _parser.next();
+        _parser.next();
+        assertEquals(JsonEvent.VALUE_STRING, _parser.getEvent());
+        try (Reader reader = _parser.getStringReader()) {
+            while (reader.read() >= 0) {
+                // drain
+            }
+            fail("read malformed string");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void parseBinary() throws IOException {
+        final Random random = new Random(31);
+        final byte[][] values = new byte[40][];
+        push("[");
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new byte[i * i * 7];
+            random.nextBytes(values[i]);
+            final Base64.Encoder encoder = (i % 2 == 0)
+                    ? Base64.getEncoder() : Base64.getUrlEncoder().withoutPadding();
+            push("\"" + encoder.encodeToString(values[i]) + "\",");
+        }
+        push("0]");
+        _parser.setStringBufferLimit(100);
+
+        _parser.next();
+        final ByteBuffer buffer = ByteBuffer.allocate(20_000);
+        for (int i = 0; i < values.length; i++) {
+            _parser.next();
+            assertEquals("event " + i, JsonEvent.VALUE_STRING, _parser.getEvent());
+            if (i % 3 == 0) {
+                assertArrayEquals("value " + i, values[i], _parser.getBinary());
+            } else {
+                buffer.clear();
+                assertEquals("length " + i, values[i].length, _parser.readBinary(buffer));
+                assertArrayEquals("value " + i, values[i],
+                        Arrays.copyOf(buffer.array(), buffer.position()));
+            }
+        }
+        _parser.next();
+        assertEquals("last", 0, _parser.getInt());
+    }
+
+    @Test
+    public void parseBinaryTwice() throws IOException {
+        final byte[] value = new byte[300];
+        new Random(7).nextBytes(value);
+        push("[\"" + Base64.getEncoder().encodeToString(value) + "\", \"AQID\"]");
+        _parser.setStringBufferLimit(100);
+
+        _parser.next();
+        _parser.next();
+        assertArrayEquals(value, _parser.getBinary());
+        for (int i = 0; i < 3; i++) {
+            try {
+                if (i == 0) {
+                    _parser.getBinary();
+                } else if (i == 1) {
+                    _parser.readBinary(ByteBuffer.allocate(400));
+                } else {
+                    _parser.getString();
+                }
+                fail("second read " + i);
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+
+        // a string within the limit can be decoded again
+        _parser.next();
+        assertArrayEquals(new byte[]{1, 2, 3}, _parser.getBinary());
+        assertArrayEquals(new byte[]{1, 2, 3}, _parser.getBinary());
+    }
+
+    @Test
+    public void parseInvalidBinary() throws IOException {
+        push("[\"AAAA=AAA\", \"AAAAA\", \"AA*A\", true]");
+
+        _parser.next();
+        for (int i = 0; i < 3; i++) {
+            _parser.next();
+            try {
+                _parser.getBinary();
+                fail("invalid base64 " + i);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        _parser.next();
+        assertEquals("after", JsonEvent.VALUE_TRUE, _parser.getEvent());
+    }
+
+    @Test
+    public void skipValue() throws IOException {
+        push("{\"a\": [1, {\"b\": \"[{\\\"\"}, []], \"c\": true, \"d\": {\"e\": ]}}");
+
+        _parser.next();
+        _parser.next();
+        _parser.next();
+        assertEquals(JsonEvent.START_ARRAY, _parser.getEvent());
+        _parser.skipValue();
+        assertEquals("end", JsonEvent.END_ARRAY, _parser.getEvent());
+        _parser.skipValue();
+        assertEquals("no-op", JsonEvent.END_ARRAY, _parser.getEvent());
+
+        _parser.next();
+        assertEquals("key", "c", _parser.getString());
+        _parser.next();
+        assertEquals(JsonEvent.VALUE_TRUE, _parser.getEvent());
+        _parser.next();
+        _parser.next();
+        assertEquals(JsonEvent.START_OBJECT, _parser.getEvent());
+        _parser.skipValue();
+        assertEquals("mismatch", JsonEvent.SYNTAX_ERROR, _parser.getEvent());
+    }
+
+    @Test
+    public void matchKey() throws IOException {
+        final KeySet keys = KeySet.of("id", "tags", "caf\u00e9");
+        push("{\"id\": 1, \"tags\": {\"id\": 2, \"x\": 3}, \"caf\\u00e9\": 4, \"i\": 5}");
+
+        _parser.next();
+        _parser.next();
+        assertEquals("id", 0, _parser.matchKey(keys));
+        _parser.next();
+        assertEquals("current key", "id", _parser.getCurrentKey());
+        _parser.next();
+        assertEquals("tags", 1, _parser.matchKey(keys));
+        _parser.next();
+        _parser.next();
+        assertEquals("nested id", 0, _parser.matchKey(keys));
+        _parser.next();
+        _parser.next();
+        assertEquals("nested unknown", -1, _parser.matchKey(keys));
+        assertEquals("string", "x", _parser.getString());
+        _parser.next();
+        _parser.next();
+        assertEquals(JsonEvent.END_OBJECT, _parser.getEvent());
+        assertEquals("outer key", "tags", _parser.getCurrentKey());
+        _parser.next();
+        assertEquals("escaped", 2, _parser.matchKey(keys));
+        _parser.next();
+        _parser.next();
+        assertEquals("prefix", -1, _parser.matchKey(keys));
+        assertEquals("i", _parser.getCurrentKey());
+
+        _parser.next();
+        try {
+            _parser.matchKey(keys);
+            fail("matched a value");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void keySet() {
+        final KeySet keys = KeySet.of("a", "b", "aa", "");
+        assertEquals(4, keys.size());
+        assertEquals("aa", keys.getName(2));
+        assertEquals(3, keys.indexOf(""));
+        assertEquals(1, keys.indexOf("xbx", 1, 2));
+        assertEquals(-1, keys.indexOf("c"));
+        assertEquals("hint", 0, keys.indexOf("a", 0, 1, 0));
+        assertEquals("wrong hint", 2, keys.indexOf("aa", 0, 2, 1));
+        assertEquals("bad hint", -1, keys.indexOf("c", 0, 1, 99));
+        try {
+            KeySet.of("a", "b", "a");
+            fail("duplicate");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void keySetCollisions() throws IOException {
+        // "Aa" and "BB" have the same String.hashCode(), as do their concatenations
+        final KeySet keys = KeySet.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "x");
+        assertEquals(0, keys.indexOf("Aa"));
+        assertEquals(1, keys.indexOf("BB"));
+        assertEquals(2, keys.indexOf("AaAa"));
+        assertEquals(3, keys.indexOf("BBBB"));
+        assertEquals(4, keys.indexOf("AaBB"));
+        assertEquals(5, keys.indexOf("x"));
+        assertEquals(-1, keys.indexOf("BBAa"));
+        assertEquals(-1, keys.indexOf("y"));
+        assertEquals("hint", 1, keys.indexOf("BB", 0, 2, 0));
+
+        push("{\"BB\": 1, \"Aa\": 2}");
+        _parser.next();
+        _parser.next();
+        assertEquals(1, _parser.matchKey(keys));
+        _parser.next();
+        _parser.next();
+        assertEquals(0, _parser.matchKey(keys));
+    }
+
+    @Test
+    public void matchKeyPredicted() throws IOException {
+        final KeySet keys = KeySet.of("a", "b", "c");
+        push("[{\"a\": 1, \"b\": 2}, {\"a\": 3, \"b\": 4}, "
+                + "{\"b\": 5, \"a\": 6}, {\"x\": 7, \"a\": 8, \"b\": 9, \"c\": 0}]");
+
+        final StringBuilder matched = new StringBuilder();
+        while (_parser.nextEvent() != JsonEvent.END_STREAM) {
+            if (_parser.getEvent() == JsonEvent.KEY_NAME) {
+                matched.append(_parser.matchKey(keys)).append(' ');
+            }
+        }
+        assertEquals("0 1 0 1 1 0 -1 0 1 2 ", matched.toString());
+    }
 }